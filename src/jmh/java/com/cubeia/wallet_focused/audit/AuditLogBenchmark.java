@@ -0,0 +1,87 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.FileSystemUtils;
+
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+/**
+ * JMH suite for the request-thread cost of recording a transfer: appending it to
+ * the audit log, and formatting the three INFO lines the audit log replaces, without
+ * the cost of writing them out. The audit log writes to a temporary directory that is
+ * removed after the run. Appends that outrun the writer thread wait for room in the
+ * ring buffer, so the append score includes that back pressure; with the GC profiler
+ * {@code gc.alloc.rate.norm} is the bytes allocated per transfer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditLogBenchmark {
+    private static final int CAPACITY = 65_536;
+    private static final long MAX_FILE_BYTES = 1L << 30;
+    private static final int MAX_FILES = 2;
+
+    Path directory;
+    AuditLog auditLog;
+    TransferRequest request;
+    TransferOutcome outcome;
+
+    @Setup
+    public void openAuditLog() throws IOException {
+        directory = Files.createTempDirectory("audit-log-benchmark");
+        auditLog = AuditLog.open(directory, CAPACITY, MAX_FILE_BYTES, MAX_FILES);
+        request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("12.50"));
+        outcome = new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                request.getSourceAccountId(), new BalanceSnapshot(7, new BigDecimal("87.50")),
+                request.getDestinationAccountId(), new BalanceSnapshot(1, new BigDecimal("12.50")), false));
+    }
+
+    @TearDown
+    public void closeAuditLog() throws IOException {
+        auditLog.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void auditLogAppend() {
+        auditLog.transfer(request, outcome);
+    }
+
+    @Benchmark
+    public void formattedLogLines(Blackhole blackhole) {
+        // The three lines a transfer used to log: received, starting and completed
+        blackhole.consume(String.format("Transfer request received: transactionId=%s, sourceAccountId=%s, "
+                + "destinationAccountId=%s, amount=%s", request.getTransactionId(), request.getSourceAccountId(),
+                request.getDestinationAccountId(), request.getAmount()));
+        blackhole.consume(String.format("Starting transfer: transactionId=%s, sourceAccountId=%s, "
+                + "destinationAccountId=%s, amount=%s", request.getTransactionId(), request.getSourceAccountId(),
+                request.getDestinationAccountId(), request.getAmount()));
+        blackhole.consume(String.format("Transfer completed successfully: transactionId=%s, sourceBalance=%s, "
+                + "destinationBalance=%s", request.getTransactionId(), "87.50", "12.50"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JMH suite comparing Jackson's default bean serialization of transaction entries
+ * with {@link LedgerJsonSerializers}, writing a page of history the way the
+ * transactions endpoint does. Scores are per entry, so with the GC profiler
+ * {@code gc.alloc.rate.norm} is the bytes allocated per serialized entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LedgerJsonSerializersBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    /**
+     * Which serialization writes the entries.
+     */
+    public enum Serializer {
+        /** Jackson's reflective bean serializer. */
+        DEFAULT,
+        /** The hand-written serializers registered on {@link TransactionEntryDTO}. */
+        CUSTOM
+    }
+
+    @Param({"DEFAULT", "CUSTOM"})
+    public Serializer serializer;
+
+    ObjectWriter writer;
+    List<TransactionEntryDTO> page;
+
+    @Setup
+    public void createPage() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializer == Serializer.DEFAULT) {
+            mapper.addMixIn(TransactionEntryDTO.class, DefaultSerialization.class);
+        }
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, TransactionEntryDTO.class));
+
+        page = new ArrayList<>(PAGE_SIZE);
+        UUID accountId = UUID.randomUUID();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new TransactionEntryDTO(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                    new BigDecimal(i + ".25"), TransactionEntryDTO.Type.CREDIT, Instant.now(), i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void writePage() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+}
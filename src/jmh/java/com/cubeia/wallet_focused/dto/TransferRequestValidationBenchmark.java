@@ -0,0 +1,62 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * JMH suite comparing the per-request cost of Bean Validation with the hand-written
+ * {@link TransferRequestDTO#validate()}, for a valid request and for one with a
+ * missing account and a negative amount. Run it with the GC profiler to compare
+ * the bytes each validator allocates per request as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferRequestValidationBenchmark {
+
+    @Param({"true", "false"})
+    public boolean valid;
+
+    Validator validator;
+    TransferRequestDTO request;
+
+    @Setup
+    public void createRequest() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        request = valid
+                ? new TransferRequestDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("100.00"))
+                : new TransferRequestDTO(UUID.randomUUID(), null, UUID.randomUUID(), new BigDecimal("-1.00"));
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequestDTO>> beanValidation() {
+        return validator.validate(request);
+    }
+
+    @Benchmark
+    public Optional<ValidationErrorDTO> handWritten() {
+        return request.validate();
+    }
+}
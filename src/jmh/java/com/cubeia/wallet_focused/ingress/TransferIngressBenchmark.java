@@ -0,0 +1,125 @@
+package com.cubeia.wallet_focused.ingress;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+/**
+ * JMH suite for the throughput of the binary TCP ingress. Every benchmark thread
+ * holds one connection and transfers between its own pair of accounts, so
+ * connections do not contend on account locks; set the number of connections with
+ * the thread count. Each invocation pipelines a batch of frames in one write and then
+ * reads all of their responses. Scores are per transfer and include encoding the
+ * frames on the client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransferIngressBenchmark {
+    private static final int BATCH = 64;
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    InMemoryWalletRepository repository;
+    TransferIngressServer server;
+
+    @Setup
+    public void startServer() throws IOException {
+        repository = new InMemoryWalletRepository();
+        server = new TransferIngressServer(walletService(repository),
+                new InetSocketAddress("localhost", 0), MAX_IN_FLIGHT);
+        server.start();
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.stop();
+    }
+
+    /**
+     * One client connection with its own funded source account.
+     */
+    @State(Scope.Thread)
+    public static class Connection {
+        UUID source;
+        UUID destination;
+        Socket socket;
+        OutputStream out;
+        DataInputStream in;
+        final ByteBuffer frames = ByteBuffer.allocate(BATCH
+                * (TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH));
+        final byte[] response = new byte[TransferFrameCodec.MAX_RESPONSE_LENGTH];
+
+        @Setup
+        public void connect(TransferIngressBenchmark benchmark) throws IOException {
+            source = UUID.randomUUID();
+            destination = UUID.randomUUID();
+            benchmark.repository.saveAccount(new Account(source));
+            benchmark.repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), source, source,
+                    OPENING_BALANCE, TransactionEntry.Type.CREDIT, Instant.now()));
+            socket = new Socket("localhost", benchmark.server.getPort());
+            out = socket.getOutputStream();
+            in = new DataInputStream(socket.getInputStream());
+        }
+
+        @TearDown
+        public void disconnect() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int transferBatch(Connection connection) throws IOException {
+        ByteBuffer frames = connection.frames.clear();
+        for (int i = 0; i < BATCH; i++) {
+            TransferFrameCodec.encodeRequest(frames, new TransferRequest(UUID.randomUUID(), connection.source,
+                    connection.destination, AMOUNT));
+        }
+        connection.out.write(frames.array(), 0, frames.position());
+        connection.out.flush();
+
+        int completed = 0;
+        for (int i = 0; i < BATCH; i++) {
+            int length = connection.in.readInt();
+            connection.in.readFully(connection.response, 0, length);
+            if (connection.response[0] == TransferFrameCodec.Status.COMPLETED.code()) {
+                completed++;
+            }
+        }
+        if (completed != BATCH) {
+            throw new IllegalStateException("Only " + completed + " of " + BATCH + " transfers completed");
+        }
+        return completed;
+    }
+}
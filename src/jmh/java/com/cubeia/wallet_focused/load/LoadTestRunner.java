@@ -0,0 +1,55 @@
+package com.cubeia.wallet_focused.load;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cubeia.wallet_focused.WalletFocusedApplication;
+
+/**
+ * Open-loop load test of the full application: starts it on a random port, replays a
+ * workload against it and prints latency percentiles per endpoint.
+ * <p>
+ * The workload is generated from {@code load.*} system properties (see
+ * {@link WorkloadSpec#fromSystemProperties()}), or read from {@code -Dload.replay=file}.
+ * {@code -Dload.record=file} saves the workload for later replays, and the
+ * per-endpoint {@code .hgrm} files are written to {@code load.output}
+ * (default {@code target/load}). The process exits with status 1 if any request
+ * failed.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String replay = System.getProperty("load.replay");
+        Workload workload = replay != null
+                ? Workload.read(Path.of(replay))
+                : Workload.generate(WorkloadSpec.fromSystemProperties());
+        String record = System.getProperty("load.record");
+        if (record != null) {
+            workload.write(Path.of(record));
+        }
+
+        long errors;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletFocusedApplication.class)
+                .properties("server.port=0", "logging.level.com.cubeia.wallet_focused=WARN")
+                .run()) {
+            LoadGenerator generator = new LoadGenerator(((WebServerApplicationContext) context).getWebServer().getPort());
+            generator.seed(workload, "100.00");
+            LoadGenerator.Report report = generator.run(workload);
+
+            report.print(System.out);
+            report.writeHistograms(Path.of(System.getProperty("load.output", "target/load")));
+            errors = report.totalErrors();
+        }
+        if (errors > 0) {
+            System.out.printf("%nLoad test failed: %d request(s) returned errors%n", errors);
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+}
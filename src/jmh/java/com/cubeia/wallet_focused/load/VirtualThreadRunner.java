@@ -0,0 +1,61 @@
+package com.cubeia.wallet_focused.load;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cubeia.wallet_focused.HttpLoadDriver;
+import com.cubeia.wallet_focused.WalletFocusedApplication;
+
+/**
+ * Compares Tomcat request execution on platform threads with execution on virtual
+ * threads. The application is started once per mode and driven by the same number of
+ * concurrent connections, {@code benchmark.connections} (default 10,000), each sending
+ * {@code benchmark.requests} requests (default 20).
+ * <p>
+ * Client and server share this JVM, so each connection uses two file descriptors:
+ * raise {@code ulimit -n} accordingly, or lower the load. The process exits with
+ * status 1 if either run got server errors.
+ */
+public final class VirtualThreadRunner {
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+    private static final int REQUESTS_PER_CONNECTION = Integer.getInteger("benchmark.requests", 20);
+
+    private VirtualThreadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpLoadDriver.Report report = new HttpLoadDriver.Report(List.of(
+                run("platform threads", false),
+                run("virtual threads", true)));
+
+        report.print(System.out);
+        if (report.totalErrors() > 0) {
+            System.out.printf("%nVirtual thread comparison failed: %d request(s) returned server errors%n",
+                    report.totalErrors());
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static HttpLoadDriver.Result run(String name, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletFocusedApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=" + (CONNECTIONS + 100),
+                        "server.tomcat.accept-count=" + CONNECTIONS,
+                        "logging.level.com.cubeia.wallet_focused=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpLoadDriver driver = new HttpLoadDriver(port);
+            List<UUID> accounts = driver.seedAccounts(64);
+
+            // Warm up with a smaller load before measuring
+            driver.run(name, accounts, Math.min(CONNECTIONS, 500), REQUESTS_PER_CONNECTION);
+            return driver.run(name, accounts, CONNECTIONS, REQUESTS_PER_CONNECTION);
+        }
+    }
+}
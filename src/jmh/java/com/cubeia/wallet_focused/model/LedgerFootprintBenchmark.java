@@ -0,0 +1,81 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH suite for what keeping the ledger's {@link LedgerFootprint} costs: recording a
+ * transfer, which updates the footprint as it appends, and reading the footprint, as
+ * {@code GET /actuator/footprint} does. Each iteration starts from a ledger of
+ * {@value #SEEDED_TRANSFERS} transfers from one source account, spread over few or
+ * over many destination accounts. Transfers are written to the repository directly,
+ * so the transfer engine's own costs are not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LedgerFootprintBenchmark {
+    private static final int SEEDED_TRANSFERS = 200_000;
+
+    @Param({"100", "100000"})
+    public int accounts;
+
+    InMemoryWalletRepository repository;
+    UUID source;
+    UUID[] destinations;
+    long transfers;
+
+    @Setup(Level.Iteration)
+    public void seedLedger() {
+        repository = new InMemoryWalletRepository();
+        source = UUID.randomUUID();
+        repository.saveAccount(new Account(source));
+        destinations = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            destinations[i] = UUID.randomUUID();
+            repository.saveAccount(new Account(destinations[i]));
+        }
+        transfers = 0;
+        for (int i = 0; i < SEEDED_TRANSFERS; i++) {
+            recordTransfer();
+        }
+    }
+
+    @Benchmark
+    public void recordTransfer() {
+        // Stored the way the transfer engine stores a transfer: one transaction ID, amount
+        // and timestamp shared by both entries
+        UUID transactionId = new UUID(transfers, transfers);
+        UUID destination = destinations[(int) (transfers++ % accounts)];
+        BigDecimal amount = new BigDecimal("1.00");
+        Instant timestamp = Instant.now();
+        repository.saveTransaction(new TransactionEntry(transactionId, source, destination, amount,
+                TransactionEntry.Type.DEBIT, timestamp));
+        repository.saveTransaction(new TransactionEntry(transactionId, destination, source, amount,
+                TransactionEntry.Type.CREDIT, timestamp));
+        repository.markTransactionProcessed(transactionId);
+    }
+
+    @Benchmark
+    public LedgerFootprint.Snapshot readFootprint() {
+        return repository.footprint();
+    }
+}
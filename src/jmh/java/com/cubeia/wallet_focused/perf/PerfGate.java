@@ -0,0 +1,183 @@
+package com.cubeia.wallet_focused.perf;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cubeia.wallet_focused.WalletFocusedApplication;
+import com.cubeia.wallet_focused.load.LoadGenerator;
+import com.cubeia.wallet_focused.load.Workload;
+import com.cubeia.wallet_focused.load.WorkloadSpec;
+import com.cubeia.wallet_focused.perf.PerfResults.Comparison;
+import com.cubeia.wallet_focused.perf.PerfResults.Direction;
+import com.cubeia.wallet_focused.perf.PerfResults.Metric;
+import com.cubeia.wallet_focused.perf.PerfResults.Status;
+import com.cubeia.wallet_focused.service.BalanceBenchmark;
+import com.cubeia.wallet_focused.service.TransferBenchmark;
+
+/**
+ * Performance regression gate for the transfer and balance hot paths, run by the
+ * {@code perf} Maven profile in the {@code verify} phase.
+ * <p>
+ * It runs a reduced version of the JMH suites and of the open-loop load test,
+ * writes the measurements to {@code perf.results} (default
+ * {@code target/perf/results.json}) and compares them with the checked-in baseline
+ * at {@code perf.baseline} (default {@code src/perf/baseline.json}). The process
+ * exits with status 1, failing the build, when a throughput drops or a latency or
+ * allocation rises by more than the tolerance, {@code perf.tolerance} (default 0.25)
+ * unless the baseline sets one for the metric. With {@code -Dperf.updateBaseline=true}
+ * the measurements replace the baseline instead.
+ */
+public final class PerfGate {
+    private static final String TRANSFER_DISTRIBUTIONS = "UNIFORM,HOT_SOURCE";
+    private static final int[] TRANSFER_THREADS = {1, 4};
+    private static final String BALANCE_HISTORY_LENGTH = "10000";
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baselineFile = Path.of(System.getProperty("perf.baseline", "src/perf/baseline.json"));
+        Path resultsFile = Path.of(System.getProperty("perf.results", "target/perf/results.json"));
+        double tolerance = Double.parseDouble(System.getProperty("perf.tolerance", "0.25"));
+
+        Map<String, Metric> metrics = new LinkedHashMap<>();
+        measureTransfers(metrics);
+        measureBalances(metrics);
+        measureLoad(metrics);
+        PerfResults results = new PerfResults(metrics);
+        results.write(resultsFile);
+
+        if (Boolean.getBoolean("perf.updateBaseline")) {
+            PerfResults previous = Files.exists(baselineFile) ? PerfResults.read(baselineFile) : new PerfResults(Map.of());
+            results.asBaseline(previous).write(baselineFile);
+            System.out.printf("%nBaseline updated: %s%n", baselineFile);
+            System.exit(0);
+        }
+
+        List<Comparison> comparisons = results.compareTo(PerfResults.read(baselineFile), tolerance);
+        print(comparisons);
+        long failures = comparisons.stream()
+                .filter(c -> c.status() == Status.REGRESSED || c.status() == Status.MISSING)
+                .count();
+        if (failures > 0) {
+            System.out.printf("%nPerformance gate failed: %d metric(s) regressed or missing, results in %s%n",
+                    failures, resultsFile);
+            System.exit(1);
+        }
+        System.out.printf("%nPerformance gate passed, results in %s%n", resultsFile);
+        System.exit(0);
+    }
+
+    private static ChainedOptionsBuilder reduced() {
+        return new OptionsBuilder()
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .verbosity(VerboseMode.SILENT);
+    }
+
+    private static void measureTransfers(Map<String, Metric> metrics) throws Exception {
+        for (int threads : TRANSFER_THREADS) {
+            Collection<RunResult> results = new Runner(reduced()
+                    .include(TransferBenchmark.class.getName() + ".transfer")
+                    .param("distribution", TRANSFER_DISTRIBUTIONS.split(","))
+                    .threads(threads)
+                    .build()).run();
+            for (RunResult result : results) {
+                String prefix = "transfer." + result.getParams().getParam("distribution").toLowerCase(Locale.ROOT)
+                        + ".threads-" + threads;
+                if (result.getParams().getMode().shortLabel().equals("thrpt")) {
+                    metrics.put(prefix + ".ops_per_s", new Metric(perSecond(result), Direction.HIGHER));
+                    metrics.put(prefix + ".alloc_bytes_per_op", new Metric(allocation(result), Direction.LOWER));
+                } else {
+                    double p99 = result.getPrimaryResult().getStatistics().getPercentile(99);
+                    metrics.put(prefix + ".p99_us", new Metric(toMicros(result, p99), Direction.LOWER));
+                }
+            }
+        }
+    }
+
+    private static void measureBalances(Map<String, Metric> metrics) throws Exception {
+        Collection<RunResult> results = new Runner(reduced()
+                .include(BalanceBenchmark.class.getName() + "\\.(replay|checkpointAndTail|projection|latestPage)$")
+                .param("historyLength", BALANCE_HISTORY_LENGTH)
+                .build()).run();
+        for (RunResult result : results) {
+            String method = result.getParams().getBenchmark();
+            String prefix = "balance." + method.substring(method.lastIndexOf('.') + 1)
+                    + ".history-" + BALANCE_HISTORY_LENGTH;
+            metrics.put(prefix + ".us_per_op",
+                    new Metric(toMicros(result, result.getPrimaryResult().getScore()), Direction.LOWER));
+            metrics.put(prefix + ".alloc_bytes_per_op", new Metric(allocation(result), Direction.LOWER));
+        }
+    }
+
+    private static void measureLoad(Map<String, Metric> metrics) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(WalletFocusedApplication.class)
+                .properties("server.port=0", "logging.level.com.cubeia.wallet_focused=WARN")
+                .run()) {
+            LoadGenerator generator = new LoadGenerator(((WebServerApplicationContext) context).getWebServer().getPort());
+            Workload warmup = Workload.generate(new WorkloadSpec(200, 3_000, 100, 1.0, 70, 20, 0.05, 1L));
+            Workload measured = Workload.generate(new WorkloadSpec(200, 5_000, 200, 1.0, 70, 20, 0.05, 42L));
+            generator.seed(warmup, "100.00");
+            generator.seed(measured, "100.00");
+            generator.run(warmup);
+
+            LoadGenerator.Report report = generator.run(measured);
+            report.print(System.out);
+            report.latencies().forEach((kind, histogram) -> metrics.put(
+                    "load." + kind.name().toLowerCase(Locale.ROOT) + ".p99_ms",
+                    new Metric(histogram.getValueAtPercentile(99) / 1e6, Direction.LOWER)));
+            metrics.put("load.errors", new Metric(report.totalErrors(), Direction.LOWER));
+        }
+    }
+
+    private static double perSecond(RunResult result) {
+        return result.getPrimaryResult().getScore() * TimeUnit.SECONDS.toNanos(1)
+                / result.getParams().getTimeUnit().toNanos(1);
+    }
+
+    private static double toMicros(RunResult result, double value) {
+        return value * result.getParams().getTimeUnit().toNanos(1) / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * Gets the bytes allocated per operation, rounded to whole bytes so that paths that
+     * do not allocate measure exactly 0 instead of profiler noise around it.
+     */
+    private static double allocation(RunResult result) {
+        Result allocation = result.getSecondaryResults().get("gc.alloc.rate.norm");
+        return allocation == null ? Double.NaN : Math.round(allocation.getScore());
+    }
+
+    private static void print(List<Comparison> comparisons) {
+        System.out.printf("%n%-58s %14s %14s %9s %6s  %s%n", "metric", "baseline", "current", "change", "tol", "status");
+        for (Comparison c : comparisons) {
+            double change = c.change();
+            String changeText = Double.isFinite(change) ? String.format(Locale.ROOT, "%.1f%%", change * 100) : "-";
+            System.out.printf(Locale.ROOT, "%-58s %14.3f %14.3f %9s %5.0f%%  %s%n", c.name(), c.baseline(),
+                    c.current(), changeText, c.tolerance() * 100, c.status());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.cubeia.wallet_focused.controller.TransactionController;
+import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.WalletRepository;
+
+/**
+ * JMH suite for the cost of reading one account's balance and history as the
+ * history grows from 10 to 1,000,000 entries.
+ * <p>
+ * The balance benchmarks cover each way the repository can produce the current
+ * balance: replaying every entry ({@link AccountService#calculateBalance(UUID)}),
+ * the nearest checkpoint plus the tail after it
+ * ({@link WalletRepository#findBalanceAsOf(UUID, Instant)} at the latest entry), and
+ * the maintained projection ({@link WalletRepository#findBalance(UUID)}). The
+ * history benchmarks call {@link TransactionController} for the full history and for
+ * the latest page, as clients do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BalanceBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final BigDecimal CREDIT = new BigDecimal("10.00");
+    private static final BigDecimal DEBIT = new BigDecimal("3.50");
+
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int historyLength;
+
+    AccountService accountService;
+    WalletRepository repository;
+    TransactionController transactionController;
+    UUID accountId;
+    String accountIdText;
+    Instant latest;
+
+    @Setup(Level.Trial)
+    public void seedHistory() {
+        repository = new InMemoryWalletRepository();
+        accountService = new AccountServiceImpl(repository);
+        transactionController = new TransactionController(new TransactionServiceImpl(repository));
+
+        accountId = UUID.randomUUID();
+        accountIdText = accountId.toString();
+        UUID counterpartyId = UUID.randomUUID();
+        repository.saveAccount(new Account(accountId));
+        Instant start = Instant.now().minusSeconds(historyLength);
+        for (int i = 0; i < historyLength; i++) {
+            // Two credits for every debit keep the balance positive, as in a real account
+            boolean debit = i % 3 == 2;
+            latest = start.plusSeconds(i);
+            repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountId, counterpartyId,
+                    debit ? DEBIT : CREDIT, debit ? TransactionEntry.Type.DEBIT : TransactionEntry.Type.CREDIT, latest));
+        }
+
+        BigDecimal expected = replay();
+        if (expected.compareTo(checkpointAndTail()) != 0 || expected.compareTo(projection()) != 0) {
+            throw new IllegalStateException("Balance strategies disagree for history length " + historyLength);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal replay() {
+        return accountService.calculateBalance(accountId);
+    }
+
+    @Benchmark
+    public BigDecimal checkpointAndTail() {
+        return repository.findBalanceAsOf(accountId, latest);
+    }
+
+    @Benchmark
+    public BigDecimal projection() {
+        return repository.findBalance(accountId).balance();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TransactionEntryDTO>> fullHistory() {
+        return transactionController.getTransactions(accountIdText, null, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<TransactionEntryDTO>> latestPage() {
+        long afterSequence = Math.max(0, historyLength - PAGE_SIZE);
+        return transactionController.getTransactions(accountIdText, afterSequence, null, null, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,162 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+/**
+ * JMH suite for {@link WalletServiceImpl#transfer(TransferRequest)} under different
+ * account access patterns.
+ * <p>
+ * Each measurement iteration starts from a freshly seeded wallet, so iterations are
+ * comparable even though the engine's cost grows with account history. Account pairs
+ * are drawn up front for every thread, which keeps the sampling cost out of the
+ * measured loop. The thread count is set per run; {@link TransferBenchmarkRunner}
+ * sweeps it from 1 to 64.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferBenchmark {
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+    private static final int PAIRS_PER_THREAD = 4096;
+
+    /**
+     * How transfers pick their accounts.
+     */
+    public enum Distribution {
+        /** Source and destination drawn uniformly from all accounts. */
+        UNIFORM,
+        /** Source and destination drawn from a Zipf distribution (exponent 1), so a few accounts take most transfers. */
+        ZIPFIAN,
+        /** Every transfer debits one house account, like the admin account, and credits a uniformly drawn account. */
+        HOT_SOURCE
+    }
+
+    @Param({"UNIFORM", "ZIPFIAN", "HOT_SOURCE"})
+    public Distribution distribution;
+
+    @Param({"1000"})
+    public int accounts;
+
+    WalletService walletService;
+    UUID[] accountIds;
+    UUID hotSource;
+    double[] zipfCumulative;
+    private final AtomicLong threadSeeds = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void seedWallet() {
+        WalletRepository repository = new InMemoryWalletRepository();
+        walletService = walletService(repository);
+
+        accountIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+            repository.saveAccount(new Account(accountIds[i]));
+            credit(repository, accountIds[i]);
+        }
+        hotSource = UUID.randomUUID();
+        repository.saveAccount(new Account(hotSource));
+        credit(repository, hotSource);
+
+        zipfCumulative = new double[accounts];
+        double sum = 0;
+        for (int i = 0; i < accounts; i++) {
+            sum += 1.0 / (i + 1);
+            zipfCumulative[i] = sum;
+        }
+        for (int i = 0; i < accounts; i++) {
+            zipfCumulative[i] /= sum;
+        }
+    }
+
+    private static void credit(WalletRepository repository, UUID accountId) {
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountId, accountId,
+                OPENING_BALANCE, TransactionEntry.Type.CREDIT, Instant.now()));
+    }
+
+    /**
+     * Per-thread transfer requests: a ring of pre-drawn account pairs and a transaction
+     * ID counter, which avoids the cost of random UUIDs inside the measured loop.
+     */
+    @State(Scope.Thread)
+    public static class Transfers {
+        private UUID[] sources;
+        private UUID[] destinations;
+        private long idHigh;
+        private long idLow;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void drawPairs(TransferBenchmark wallet) {
+            long seed = wallet.threadSeeds.incrementAndGet();
+            SplittableRandom random = new SplittableRandom(seed);
+            idHigh = random.nextLong();
+            sources = new UUID[PAIRS_PER_THREAD];
+            destinations = new UUID[PAIRS_PER_THREAD];
+            for (int i = 0; i < PAIRS_PER_THREAD; i++) {
+                UUID source;
+                UUID destination;
+                do {
+                    source = wallet.pick(random, true);
+                    destination = wallet.pick(random, false);
+                } while (source.equals(destination));
+                sources[i] = source;
+                destinations[i] = destination;
+            }
+        }
+
+        TransferRequest nextRequest() {
+            int index = next++ & (PAIRS_PER_THREAD - 1);
+            return new TransferRequest(new UUID(idHigh, idLow++), sources[index], destinations[index], AMOUNT);
+        }
+    }
+
+    private UUID pick(SplittableRandom random, boolean source) {
+        return switch (distribution) {
+            case UNIFORM -> accountIds[random.nextInt(accounts)];
+            case ZIPFIAN -> accountIds[zipfIndex(random.nextDouble())];
+            case HOT_SOURCE -> source ? hotSource : accountIds[random.nextInt(accounts)];
+        };
+    }
+
+    private int zipfIndex(double u) {
+        int index = Arrays.binarySearch(zipfCumulative, u);
+        return Math.min(index >= 0 ? index : -index - 1, accounts - 1);
+    }
+
+    @Benchmark
+    public TransferResult transfer(Transfers transfers) {
+        return walletService.transfer(transfers.nextRequest());
+    }
+}
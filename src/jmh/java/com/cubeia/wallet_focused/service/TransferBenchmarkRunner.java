@@ -0,0 +1,95 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link TransferBenchmark} once per thread count, with the GC profiler attached,
+ * and prints throughput, p99 latency and allocation per transfer for every thread
+ * count and distribution.
+ * <p>
+ * Thread counts come from the {@code jmh.threads} system property (default
+ * {@code 1,2,4,8,16,32,64}). Any arguments are parsed as JMH command line options and
+ * applied to every run, for example {@code -p distribution=ZIPFIAN} or {@code -f 3}.
+ */
+public final class TransferBenchmarkRunner {
+    private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+    private TransferBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options commandLine = new CommandLineOptions(args);
+        int[] threadCounts = Arrays.stream(System.getProperty("jmh.threads", DEFAULT_THREADS).split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        List<Row> rows = new ArrayList<>();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(TransferBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            rows.addAll(summarize(threads, new Runner(options).run()));
+        }
+
+        System.out.printf("%n%-12s %8s %14s %12s %14s %14s%n",
+                "distribution", "threads", "ops/s", "p99 us", "alloc MB/s", "alloc B/op");
+        for (Row row : rows) {
+            System.out.printf("%-12s %8d %14.0f %12.1f %14.1f %14.1f%n", row.distribution(), row.threads(),
+                    row.throughput(), row.p99(), row.allocationRate(), row.allocationPerOp());
+        }
+    }
+
+    private static List<Row> summarize(int threads, Collection<RunResult> results) {
+        List<Row> rows = new ArrayList<>();
+        for (RunResult throughput : results) {
+            if (!throughput.getParams().getMode().shortLabel().equals("thrpt")) {
+                continue;
+            }
+            String distribution = throughput.getParams().getParam("distribution");
+            RunResult sample = results.stream()
+                    .filter(r -> r.getParams().getMode().shortLabel().equals("sample"))
+                    .filter(r -> distribution.equals(r.getParams().getParam("distribution")))
+                    .findFirst()
+                    .orElse(null);
+            Map<String, Result> secondary = throughput.getSecondaryResults();
+            double unitNanos = throughput.getParams().getTimeUnit().toNanos(1);
+            rows.add(new Row(distribution, threads,
+                    throughput.getPrimaryResult().getScore() * TimeUnit.SECONDS.toNanos(1) / unitNanos,
+                    sample == null ? Double.NaN : p99Micros(sample),
+                    score(secondary, "gc.alloc.rate"),
+                    score(secondary, "gc.alloc.rate.norm")));
+        }
+        return rows;
+    }
+
+    private static double p99Micros(RunResult sample) {
+        double unitNanos = sample.getParams().getTimeUnit().toNanos(1);
+        return sample.getPrimaryResult().getStatistics().getPercentile(99) * unitNanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private static double score(Map<String, Result> results, String label) {
+        Result result = results.get(label);
+        return result == null ? Double.NaN : result.getScore();
+    }
+
+    private record Row(String distribution, int threads, double throughput, double p99,
+            double allocationRate, double allocationPerOp) {
+    }
+}
@@ -0,0 +1,379 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+
+/**
+ * Binary audit log of transfer outcomes, written off the request path.
+ * <p>
+ * Transfers encode a fixed-size record (see {@link AuditRecordCodec}) straight into a
+ * preallocated ring buffer and return. A claim is a single compare-and-set on the
+ * sequence counter; the record is published by setting its slot's sequence once it
+ * is encoded. No lock is taken and nothing is formatted on the request path.
+ * <p>
+ * A background writer thread drains published records in sequence order, in
+ * batches, to rolling files named {@code audit-<UTC start time>.bin} in the log
+ * directory. A file is closed once it reaches the maximum size, and the oldest files
+ * beyond the maximum count are deleted. Files are not forced to disk; they survive a
+ * crash of the JVM, not of the machine. {@link AuditLogDecoder} prints them.
+ * <p>
+ * Records are never dropped while the log is open: when the ring buffer is full,
+ * transfers wait for the writer to make room, and each wait is counted. Records
+ * appended once {@link #close()} has started are dropped.
+ */
+public final class AuditLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    /**
+     * An audit log that records nothing.
+     */
+    public static final AuditLog DISABLED = new AuditLog();
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS")
+            .withZone(ZoneOffset.UTC);
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long FULL_PARK_NANOS = 20_000;
+    private static final int WRITE_BATCH_RECORDS = 256;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int mask;
+    private final ByteBuffer ring;
+    // Slot i holds sequence + 1 of the record last published in it
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong();
+    // Written by the writer thread only: the next sequence to copy out of the ring
+    // buffer, and the next one to be handed to a file
+    private volatile long drained;
+    private volatile long written;
+    private volatile boolean closed;
+    private final LongAdder fullWaits = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writeFailures = new LongAdder();
+    private final Thread writer;
+
+    // Writer thread state
+    private final ByteBuffer batch = ByteBuffer.allocate(WRITE_BATCH_RECORDS * AuditRecordCodec.RECORD_SIZE);
+    private FileChannel file;
+    private long fileBytes;
+    private long lastFileMillis;
+
+    private AuditLog() {
+        this.enabled = false;
+        this.directory = null;
+        this.maxFileBytes = 0;
+        this.maxFiles = 0;
+        this.mask = 0;
+        this.ring = null;
+        this.published = null;
+        this.writer = null;
+        this.closed = true;
+    }
+
+    private AuditLog(Path directory, int capacity, long maxFileBytes, int maxFiles) {
+        this.enabled = true;
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.mask = capacity - 1;
+        this.ring = ByteBuffer.allocate(capacity * AuditRecordCodec.RECORD_SIZE);
+        this.published = new AtomicLongArray(capacity);
+        this.writer = Thread.ofPlatform().name("audit-log-writer").daemon().unstarted(this::drainLoop);
+    }
+
+    /**
+     * Opens an audit log and starts its writer thread.
+     *
+     * @param directory the directory to write the files to; created if missing
+     * @param capacity the number of records the ring buffer holds, a power of two
+     * @param maxFileBytes the size at which a file is closed and a new one started
+     * @param maxFiles the number of files to keep
+     * @return the open audit log
+     * @throws IOException if the directory cannot be created
+     * @throws IllegalArgumentException if a limit is invalid
+     */
+    public static AuditLog open(Path directory, int capacity, long maxFileBytes, int maxFiles) throws IOException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit log capacity must be a power of two: " + capacity);
+        }
+        if (maxFileBytes < AuditRecordCodec.FILE_HEADER_SIZE + AuditRecordCodec.RECORD_SIZE) {
+            throw new IllegalArgumentException("Audit log files must hold at least one record: " + maxFileBytes);
+        }
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("Audit log must keep at least one file: " + maxFiles);
+        }
+        Files.createDirectories(directory);
+        AuditLog log = new AuditLog(directory, capacity, maxFileBytes, maxFiles);
+        log.writer.start();
+        logger.info("Audit log opened: directory={}, capacity={}, maxFileBytes={}, maxFiles={}",
+                directory, capacity, maxFileBytes, maxFiles);
+        return log;
+    }
+
+    /**
+     * Appends the record of a transfer outcome.
+     *
+     * @param request the transfer request
+     * @param outcome the outcome of the transfer
+     */
+    public void transfer(TransferRequest request, TransferOutcome outcome) {
+        if (!enabled) {
+            return;
+        }
+        long sequence = claim();
+        if (sequence >= 0) {
+            AuditRecordCodec.encode(ring, offset(sequence), AuditRecordCodec.epochMicros(Instant.now()), request, outcome);
+            published.setRelease(slot(sequence), sequence + 1);
+        }
+    }
+
+    /**
+     * Appends the record of a transfer that failed with an exception.
+     *
+     * @param request the transfer request
+     */
+    public void transferFailed(TransferRequest request) {
+        if (!enabled) {
+            return;
+        }
+        long sequence = claim();
+        if (sequence >= 0) {
+            AuditRecordCodec.encodeFailure(ring, offset(sequence), AuditRecordCodec.epochMicros(Instant.now()), request);
+            published.setRelease(slot(sequence), sequence + 1);
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring buffer is full.
+     *
+     * @return the sequence, or -1 if the log is closed
+     */
+    private long claim() {
+        boolean waited = false;
+        while (!closed) {
+            long sequence = claimed.get();
+            if (sequence - drained > mask) {
+                if (!waited) {
+                    fullWaits.increment();
+                    waited = true;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            } else if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+        dropped.increment();
+        return -1;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    private int offset(long sequence) {
+        return slot(sequence) * AuditRecordCodec.RECORD_SIZE;
+    }
+
+    /**
+     * Waits until every record appended before this call has been written to a file.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long target = claimed.get();
+        while (written < target && writer.isAlive()) {
+            LockSupport.unpark(writer);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Gets the number of appends that found the ring buffer full and had to wait.
+     *
+     * @return the number of waits since the log was opened
+     */
+    public long getFullWaitCount() {
+        return fullWaits.sum();
+    }
+
+    /**
+     * Gets the number of records dropped because the log was closed.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the number of batches that could not be written.
+     *
+     * @return the number of failed writes
+     */
+    public long getWriteFailureCount() {
+        return writeFailures.sum();
+    }
+
+    /**
+     * Stops accepting records, writes the ones already appended and closes the
+     * current file.
+     */
+    @Override
+    public void close() {
+        if (!enabled || closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Audit log closed: directory={}, records={}, fullWaits={}, dropped={}, writeFailures={}",
+                directory, drained, getFullWaitCount(), getDroppedCount(), getWriteFailureCount());
+    }
+
+    private void drainLoop() {
+        while (true) {
+            // Read before draining, so no record published before close is left behind
+            boolean closing = closed;
+            int records = drainBatch();
+            if (records > 0) {
+                writeBatch();
+                written = drained;
+            } else if (closing && drained == claimed.get()) {
+                break;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        closeFile();
+    }
+
+    /**
+     * Copies published records into the write batch, in sequence order, and frees
+     * their slots.
+     */
+    private int drainBatch() {
+        long next = drained;
+        int records = 0;
+        batch.clear();
+        while (records < WRITE_BATCH_RECORDS && published.getAcquire(slot(next)) == next + 1) {
+            batch.put(records * AuditRecordCodec.RECORD_SIZE, ring, offset(next), AuditRecordCodec.RECORD_SIZE);
+            next++;
+            records++;
+        }
+        drained = next;
+        batch.limit(records * AuditRecordCodec.RECORD_SIZE);
+        return records;
+    }
+
+    private void writeBatch() {
+        try {
+            if (file == null || fileBytes + batch.remaining() > maxFileBytes) {
+                rollFile();
+            }
+            while (batch.hasRemaining()) {
+                fileBytes += file.write(batch);
+            }
+        } catch (IOException e) {
+            writeFailures.increment();
+            logger.error("Failed to write audit records: directory={}, records={}",
+                    directory, batch.limit() / AuditRecordCodec.RECORD_SIZE, e);
+            closeFile();
+        }
+    }
+
+    private void rollFile() throws IOException {
+        closeFile();
+        // File names must sort in the order the files were started, so a file started
+        // within the same millisecond as the previous one takes the next millisecond
+        long fileMillis = Math.max(System.currentTimeMillis(), lastFileMillis + 1);
+        Path path;
+        while (true) {
+            path = directory.resolve(FILE_PREFIX + FILE_TIME.format(Instant.ofEpochMilli(fileMillis)) + FILE_SUFFIX);
+            try {
+                file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                fileMillis++;
+            }
+        }
+        lastFileMillis = fileMillis;
+        ByteBuffer header = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE);
+        AuditRecordCodec.encodeFileHeader(header);
+        header.flip();
+        fileBytes = 0;
+        while (header.hasRemaining()) {
+            fileBytes += file.write(header);
+        }
+        deleteOldFiles(path);
+    }
+
+    private void deleteOldFiles(Path current) throws IOException {
+        List<Path> files = listFiles(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            if (!files.get(i).equals(current)) {
+                Files.deleteIfExists(files.get(i));
+            }
+        }
+    }
+
+    /**
+     * Lists the audit log files of a directory, oldest first.
+     *
+     * @param directory the directory
+     * @return the files, ordered by name
+     * @throws IOException if the directory cannot be read
+     */
+    static List<Path> listFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close audit log file: directory={}", directory, e);
+        }
+        file = null;
+    }
+}
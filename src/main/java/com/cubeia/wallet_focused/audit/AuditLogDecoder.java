@@ -0,0 +1,110 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Command line decoder of audit log files. Prints one line per record, oldest file
+ * first:
+ * <pre>
+ *   java -cp target/classes com.cubeia.wallet_focused.audit.AuditLogDecoder logs/audit
+ *   java -cp target/classes com.cubeia.wallet_focused.audit.AuditLogDecoder logs/audit/audit-20261019T120000000.bin
+ * </pre>
+ * Arguments are files or directories; a directory stands for all the audit log files
+ * in it. A file that ends in a partial record, as the current file may while it is
+ * written, is decoded up to the last complete record.
+ */
+public final class AuditLogDecoder {
+    private static final int READ_RECORDS = 1024;
+
+    private AuditLogDecoder() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: AuditLogDecoder <file or directory>...");
+            System.exit(2);
+        }
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            for (Path file : resolve(args)) {
+                decode(file, entry -> {
+                    try {
+                        out.write(entry.format());
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            }
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to decode audit log: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Resolves command line arguments to audit log files.
+     *
+     * @param args files or directories
+     * @return the files, with the files of each directory oldest first
+     * @throws IOException if a directory cannot be read
+     */
+    static List<Path> resolve(String... args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                files.addAll(AuditLog.listFiles(path));
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Decodes the records of an audit log file.
+     *
+     * @param file the file
+     * @param action receives each record, in file order
+     * @return the number of records decoded
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not an audit log file
+     */
+    public static long decode(Path file, Consumer<AuditRecordCodec.Entry> action) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer header = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining()) {
+                throw new IllegalArgumentException("Not an audit log file: " + file);
+            }
+            AuditRecordCodec.checkFileHeader(header.flip());
+            ByteBuffer buffer = ByteBuffer.allocate(READ_RECORDS * AuditRecordCodec.RECORD_SIZE);
+            long records = 0;
+            while (channel.read(buffer) >= 0 || buffer.position() >= AuditRecordCodec.RECORD_SIZE) {
+                buffer.flip();
+                while (buffer.remaining() >= AuditRecordCodec.RECORD_SIZE) {
+                    action.accept(AuditRecordCodec.decode(buffer, buffer.position()));
+                    buffer.position(buffer.position() + AuditRecordCodec.RECORD_SIZE);
+                    records++;
+                }
+                buffer.compact();
+            }
+            return records;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+/**
+ * Binary layout of the audit log. All numbers are big-endian.
+ * <p>
+ * A file starts with an 8-byte header: the magic {@code WAUD}, a 2-byte version and
+ * the 2-byte record size. It is followed by fixed-size records of 104 bytes:
+ * <pre>
+ *   kind                      1  {@link Kind#code()}
+ *   flags                     1  bit 0 amount, bit 1 source balance, bit 2 destination
+ *                                balance: the value does not fit and is left out
+ *   amount scale              1
+ *   source balance scale      1
+ *   destination balance scale 1
+ *   reserved                  3
+ *   timestamp                 8  microseconds since the epoch
+ *   transactionId            16  most significant long, least significant long
+ *   sourceAccountId          16
+ *   destinationAccountId     16
+ *   amount unscaled           8  amount = unscaled * 10^-scale
+ *   source version            8  COMPLETED and DUPLICATE; -1 otherwise
+ *   source balance unscaled   8  COMPLETED, DUPLICATE and INSUFFICIENT_FUNDS
+ *   destination version       8  COMPLETED and DUPLICATE; -1 otherwise
+ *   destination balance       8  COMPLETED and DUPLICATE
+ * </pre>
+ * Records are written with absolute puts, so several threads can encode into
+ * different slots of one buffer.
+ */
+public final class AuditRecordCodec {
+    /**
+     * Size of every record.
+     */
+    public static final int RECORD_SIZE = 104;
+
+    /**
+     * Size of the file header.
+     */
+    public static final int FILE_HEADER_SIZE = 8;
+
+    /**
+     * Magic number at the start of every file, {@code WAUD}.
+     */
+    static final int FILE_MAGIC = 0x57415544;
+
+    /**
+     * Version of the file layout.
+     */
+    static final short FILE_VERSION = 1;
+
+    private static final int FLAG_AMOUNT = 1;
+    private static final int FLAG_SOURCE_BALANCE = 1 << 1;
+    private static final int FLAG_DESTINATION_BALANCE = 1 << 2;
+
+    /**
+     * Outcome of an audited transfer.
+     */
+    public enum Kind {
+        COMPLETED(1),
+        DUPLICATE(2),
+        INSUFFICIENT_FUNDS(3),
+        REJECTED(4),
+        FAILED(5);
+
+        private final byte code;
+
+        Kind(int code) {
+            this.code = (byte) code;
+        }
+
+        /**
+         * Gets the record code of the kind.
+         *
+         * @return the code
+         */
+        public byte code() {
+            return code;
+        }
+
+        static Kind fromCode(byte code) {
+            for (Kind kind : values()) {
+                if (kind.code == code) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown audit record kind: " + code);
+        }
+    }
+
+    /**
+     * A decoded audit record. Balances and versions that the kind does not carry, or
+     * that did not fit the record, are null and -1.
+     *
+     * @param kind the outcome of the transfer
+     * @param timestamp when the outcome was recorded
+     * @param transactionId the transaction ID
+     * @param sourceAccountId the source account
+     * @param destinationAccountId the destination account
+     * @param amount the requested amount
+     * @param sourceVersion the source balance version after the transfer
+     * @param sourceBalance the source balance after the transfer, or the balance that
+     *        did not cover the amount
+     * @param destinationVersion the destination balance version after the transfer
+     * @param destinationBalance the destination balance after the transfer
+     */
+    public record Entry(Kind kind, Instant timestamp, UUID transactionId, UUID sourceAccountId,
+            UUID destinationAccountId, BigDecimal amount, long sourceVersion, BigDecimal sourceBalance,
+            long destinationVersion, BigDecimal destinationBalance) {
+
+        /**
+         * Formats the record as one line of key=value pairs, leaving out absent values.
+         *
+         * @return the formatted record
+         */
+        public String format() {
+            StringBuilder line = new StringBuilder(256)
+                    .append(timestamp).append(' ').append(kind)
+                    .append(" transactionId=").append(transactionId)
+                    .append(" source=").append(sourceAccountId)
+                    .append(" destination=").append(destinationAccountId)
+                    .append(" amount=").append(amount != null ? amount.toPlainString() : "?");
+            if (sourceBalance != null) {
+                line.append(" sourceBalance=").append(sourceBalance.toPlainString());
+            }
+            if (sourceVersion >= 0) {
+                line.append(" sourceVersion=").append(sourceVersion);
+            }
+            if (destinationBalance != null) {
+                line.append(" destinationBalance=").append(destinationBalance.toPlainString());
+            }
+            if (destinationVersion >= 0) {
+                line.append(" destinationVersion=").append(destinationVersion);
+            }
+            return line.toString();
+        }
+    }
+
+    private AuditRecordCodec() {
+    }
+
+    /**
+     * Writes the file header.
+     *
+     * @param buffer the buffer to write to
+     */
+    static void encodeFileHeader(ByteBuffer buffer) {
+        buffer.putInt(FILE_MAGIC);
+        buffer.putShort(FILE_VERSION);
+        buffer.putShort((short) RECORD_SIZE);
+    }
+
+    /**
+     * Checks a file header.
+     *
+     * @param buffer the buffer holding the header at its position
+     * @throws IllegalArgumentException if the header is not an audit log header of this version
+     */
+    static void checkFileHeader(ByteBuffer buffer) {
+        int magic = buffer.getInt();
+        short version = buffer.getShort();
+        short recordSize = buffer.getShort();
+        if (magic != FILE_MAGIC) {
+            throw new IllegalArgumentException("Not an audit log file");
+        }
+        if (version != FILE_VERSION || recordSize != RECORD_SIZE) {
+            throw new IllegalArgumentException("Unsupported audit log version " + version + " with record size " + recordSize);
+        }
+    }
+
+    /**
+     * Encodes the record of a transfer outcome.
+     *
+     * @param buffer the buffer to write to
+     * @param offset the index of the record's first byte
+     * @param epochMicros the time of the record, in microseconds since the epoch
+     * @param request the transfer request
+     * @param outcome the outcome of the transfer
+     */
+    public static void encode(ByteBuffer buffer, int offset, long epochMicros, TransferRequest request,
+            TransferOutcome outcome) {
+        switch (outcome) {
+            case TransferOutcome.Completed completed -> {
+                TransferResult result = completed.result();
+                encode(buffer, offset, result.duplicate() ? Kind.DUPLICATE : Kind.COMPLETED, epochMicros, request,
+                        result.source().sequence(), result.source().balance(),
+                        result.destination().sequence(), result.destination().balance());
+            }
+            case TransferOutcome.InsufficientFunds insufficient ->
+                encode(buffer, offset, Kind.INSUFFICIENT_FUNDS, epochMicros, request,
+                        -1, insufficient.balance(), -1, null);
+            case TransferOutcome.Rejected rejected ->
+                encode(buffer, offset, Kind.REJECTED, epochMicros, request, -1, null, -1, null);
+        }
+    }
+
+    /**
+     * Encodes the record of a transfer that failed with an exception.
+     *
+     * @param buffer the buffer to write to
+     * @param offset the index of the record's first byte
+     * @param epochMicros the time of the record, in microseconds since the epoch
+     * @param request the transfer request
+     */
+    public static void encodeFailure(ByteBuffer buffer, int offset, long epochMicros, TransferRequest request) {
+        encode(buffer, offset, Kind.FAILED, epochMicros, request, -1, null, -1, null);
+    }
+
+    private static void encode(ByteBuffer buffer, int offset, Kind kind, long epochMicros, TransferRequest request,
+            long sourceVersion, BigDecimal sourceBalance, long destinationVersion, BigDecimal destinationBalance) {
+        int flags = putDecimal(buffer, offset + 64, offset + 2, request.getAmount(), FLAG_AMOUNT)
+                | putDecimal(buffer, offset + 80, offset + 3, sourceBalance, FLAG_SOURCE_BALANCE)
+                | putDecimal(buffer, offset + 96, offset + 4, destinationBalance, FLAG_DESTINATION_BALANCE);
+        buffer.put(offset, kind.code());
+        buffer.put(offset + 1, (byte) flags);
+        buffer.put(offset + 5, (byte) 0);
+        buffer.putShort(offset + 6, (short) 0);
+        buffer.putLong(offset + 8, epochMicros);
+        putUuid(buffer, offset + 16, request.getTransactionId());
+        putUuid(buffer, offset + 32, request.getSourceAccountId());
+        putUuid(buffer, offset + 48, request.getDestinationAccountId());
+        buffer.putLong(offset + 72, sourceVersion);
+        buffer.putLong(offset + 88, destinationVersion);
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the index of the record's first byte
+     * @return the record
+     * @throws IllegalArgumentException if the record kind is unknown
+     */
+    public static Entry decode(ByteBuffer buffer, int offset) {
+        Kind kind = Kind.fromCode(buffer.get(offset));
+        int flags = buffer.get(offset + 1);
+        long epochMicros = buffer.getLong(offset + 8);
+        boolean hasDestination = kind == Kind.COMPLETED || kind == Kind.DUPLICATE;
+        boolean hasSource = hasDestination || kind == Kind.INSUFFICIENT_FUNDS;
+        return new Entry(kind,
+                Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000), Math.floorMod(epochMicros, 1_000_000) * 1_000L),
+                getUuid(buffer, offset + 16),
+                getUuid(buffer, offset + 32),
+                getUuid(buffer, offset + 48),
+                getDecimal(buffer, offset + 64, offset + 2, flags, FLAG_AMOUNT, true),
+                buffer.getLong(offset + 72),
+                getDecimal(buffer, offset + 80, offset + 3, flags, FLAG_SOURCE_BALANCE, hasSource),
+                buffer.getLong(offset + 88),
+                getDecimal(buffer, offset + 96, offset + 4, flags, FLAG_DESTINATION_BALANCE, hasDestination));
+    }
+
+    /**
+     * Gets the microseconds since the epoch of an instant, the timestamp unit of records.
+     *
+     * @param instant the instant
+     * @return the microseconds since the epoch
+     */
+    public static long epochMicros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static void putUuid(ByteBuffer buffer, int offset, UUID uuid) {
+        buffer.putLong(offset, uuid.getMostSignificantBits());
+        buffer.putLong(offset + 8, uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer, int offset) {
+        return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+    }
+
+    /**
+     * Writes a decimal as unscaled value and scale.
+     *
+     * @return the flag if the value does not fit and was left out, otherwise 0
+     */
+    private static int putDecimal(ByteBuffer buffer, int valueOffset, int scaleOffset, BigDecimal value, int flag) {
+        if (value == null) {
+            buffer.putLong(valueOffset, 0);
+            buffer.put(scaleOffset, (byte) 0);
+            return 0;
+        }
+        if (value.unscaledValue().bitLength() > 63 || value.scale() != (byte) value.scale()) {
+            buffer.putLong(valueOffset, 0);
+            buffer.put(scaleOffset, (byte) 0);
+            return flag;
+        }
+        buffer.putLong(valueOffset, value.unscaledValue().longValue());
+        buffer.put(scaleOffset, (byte) value.scale());
+        return 0;
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer, int valueOffset, int scaleOffset, int flags, int flag,
+            boolean present) {
+        if (!present || (flags & flag) != 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(buffer.getLong(valueOffset), buffer.get(scaleOffset));
+    }
+}
@@ -0,0 +1,33 @@
+package com.cubeia.wallet_focused.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cubeia.wallet_focused.audit.AuditLog;
+
+/**
+ * Configuration of the binary transfer audit log. With
+ * {@code wallet.audit.enabled=false} the transfer engine gets {@link AuditLog#DISABLED},
+ * which records nothing. The log is closed, after writing the records already
+ * appended, with the application context.
+ */
+@Configuration
+public class AuditLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public AuditLog auditLog(
+            @Value("${wallet.audit.enabled:true}") boolean enabled,
+            @Value("${wallet.audit.directory:logs/audit}") String directory,
+            @Value("${wallet.audit.buffer-records:65536}") int bufferRecords,
+            @Value("${wallet.audit.max-file-size-mb:64}") long maxFileSizeMb,
+            @Value("${wallet.audit.max-files:20}") int maxFiles) throws IOException {
+        if (!enabled) {
+            return AuditLog.DISABLED;
+        }
+        return AuditLog.open(Path.of(directory), bufferRecords, maxFileSizeMb * 1024 * 1024, maxFiles);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cubeia.wallet_focused.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.cubeia.wallet_focused.service.ContendedAccounts;
+import com.cubeia.wallet_focused.service.ContendedAccounts.AccountContention;
+
+/**
+ * Management endpoint listing the accounts whose locks transfers wait for the
+ * longest, at {@code GET /actuator/contention?limit=10}. Reads the
+ * {@link ContendedAccounts} sketch, so it is cheap to call on a busy instance.
+ */
+@Component
+@Endpoint(id = "contention")
+public class ContendedAccountsEndpoint {
+    static final int DEFAULT_LIMIT = 10;
+
+    private final ContendedAccounts contendedAccounts;
+
+    public ContendedAccountsEndpoint(ContendedAccounts contendedAccounts) {
+        this.contendedAccounts = contendedAccounts;
+    }
+
+    /**
+     * The most contended accounts.
+     *
+     * @param trackedAccounts the number of accounts the sketch keeps
+     * @param accounts the accounts with the most lock wait, most first
+     */
+    public record ContentionReport(int trackedAccounts, List<AccountContention> accounts) {
+    }
+
+    /**
+     * Gets the most contended accounts.
+     *
+     * @param limit the maximum number of accounts, 10 if not given
+     * @return the report
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    @ReadOperation
+    public ContentionReport contention(@Nullable Integer limit) {
+        int count = limit != null ? limit : DEFAULT_LIMIT;
+        if (count < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + count);
+        }
+        return new ContentionReport(contendedAccounts.getCapacity(), contendedAccounts.top(count));
+    }
+}
@@ -0,0 +1,62 @@
+package com.cubeia.wallet_focused.config;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.cubeia.wallet_focused.model.LedgerFootprint;
+import com.cubeia.wallet_focused.model.LedgerFootprint.Bucket;
+import com.cubeia.wallet_focused.model.LedgerFootprint.LargeAccount;
+import com.cubeia.wallet_focused.model.LedgerFootprint.Section;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+
+/**
+ * Management endpoint reporting the estimated heap footprint of the ledger, at
+ * {@code GET /actuator/footprint}. The repository keeps the footprint up to date as
+ * data is written, so the endpoint is cheap to call however large the ledger is.
+ */
+@Component
+@Endpoint(id = "footprint")
+public class LedgerFootprintEndpoint {
+    private final WalletRepository repository;
+    private final WalletServiceImpl walletService;
+
+    public LedgerFootprintEndpoint(WalletRepository repository, WalletServiceImpl walletService) {
+        this.repository = repository;
+        this.walletService = walletService;
+    }
+
+    /**
+     * Estimated footprint of the ledger.
+     *
+     * @param totalBytes the estimated bytes of all sections
+     * @param accounts the accounts
+     * @param entries the ledger entries
+     * @param accountLogs the per-account logs, without their entries
+     * @param idempotencyKeys the processed transaction IDs
+     * @param accountLocks the per-account transfer locks
+     * @param entriesPerAccount the accounts by number of entries, in ranges of powers of two
+     * @param largestAccounts the accounts with the most entries, largest first
+     */
+    public record FootprintReport(long totalBytes, Section accounts, Section entries, Section accountLogs,
+            Section idempotencyKeys, Section accountLocks, List<Bucket> entriesPerAccount,
+            List<LargeAccount> largestAccounts) {
+    }
+
+    /**
+     * Gets the estimated footprint of the ledger.
+     *
+     * @return the report
+     */
+    @ReadOperation
+    public FootprintReport footprint() {
+        LedgerFootprint.Snapshot snapshot = repository.footprint();
+        Section locks = walletService.getAccountLockFootprint();
+        return new FootprintReport(snapshot.totalBytes() + locks.bytes(), snapshot.accounts(), snapshot.entries(),
+                snapshot.accountLogs(), snapshot.idempotencyKeys(), locks, snapshot.entriesPerAccount(),
+                snapshot.largestAccounts());
+    }
+}
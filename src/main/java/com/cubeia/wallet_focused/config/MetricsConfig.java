@@ -0,0 +1,105 @@
+package com.cubeia.wallet_focused.config;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Gauges and counters read from the repository and the transfer engine when metrics
+ * are scraped. The transfer, lock and balance calculation meters are recorded
+ * directly by {@link com.cubeia.wallet_focused.service.WalletMetrics}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+    static final double[] HISTORY_SIZE_QUANTILES = {0.5, 0.9, 0.99, 1.0};
+
+    /**
+     * Binds the size of the idempotency set and percentiles of the per-account
+     * history size.
+     *
+     * @param repository the wallet repository
+     * @return the binder
+     */
+    @Bean
+    public MeterBinder walletRepositoryMetrics(WalletRepository repository) {
+        return registry -> {
+            Gauge.builder("wallet.idempotency.keys", repository, WalletRepository::countProcessedTransactions)
+                    .description("Transaction IDs remembered for idempotency")
+                    .register(registry);
+            HistorySizes sizes = new HistorySizes(repository);
+            for (double quantile : HISTORY_SIZE_QUANTILES) {
+                Gauge.builder("wallet.account.history.size", sizes, s -> s.quantile(quantile))
+                        .description("Entries per account history, over all accounts with entries")
+                        .baseUnit("entries")
+                        .tag("quantile", Double.toString(quantile))
+                        // Gauges hold their state weakly, and nothing else references it
+                        .strongReference(true)
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * Binds the number of transfers shed by the lock-free funds pre-check.
+     *
+     * @param walletService the transfer engine
+     * @return the binder
+     */
+    @Bean
+    public MeterBinder walletServiceMetrics(WalletServiceImpl walletService) {
+        return registry -> FunctionCounter.builder("wallet.transfer.shed", walletService,
+                        WalletServiceImpl::getShedTransferCount)
+                .description("Transfers rejected for insufficient funds before queueing for account locks")
+                .register(registry);
+    }
+
+    /**
+     * Per-account history sizes, sorted once per scrape. All quantile gauges are read
+     * in the same scrape, so the sizes are collected at most once a second.
+     */
+    static final class HistorySizes {
+        private static final long MAX_AGE_NANOS = 1_000_000_000L;
+
+        private final WalletRepository repository;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock
+        private int[] sorted;
+        // Guarded by lock
+        private long collectedAt;
+
+        HistorySizes(WalletRepository repository) {
+            this.repository = repository;
+        }
+
+        double quantile(double quantile) {
+            int[] sizes;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                if (sorted == null || now - collectedAt > MAX_AGE_NANOS) {
+                    IntStream.Builder builder = IntStream.builder();
+                    repository.forEachHistorySize(builder::add);
+                    sorted = builder.build().sorted().toArray();
+                    collectedAt = now;
+                }
+                sizes = sorted;
+            } finally {
+                lock.unlock();
+            }
+            if (sizes.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sizes.length) - 1;
+            return sizes[Math.max(0, Math.min(index, sizes.length - 1))];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cubeia.wallet_focused.config;
+
+import java.lang.reflect.Type;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.cubeia.wallet_focused.service.PhaseTimings;
+
+/**
+ * Times the JSON parse of request bodies and writes the {@code Server-Timing} header
+ * before response bodies are serialized. Active together with the
+ * {@link ServerTimingFilter}, when {@code wallet.server-timing.enabled=true}; both
+ * use the timings the filter binds to the request thread.
+ * <p>
+ * Parsing is timed from {@link #beforeBodyRead} to {@link #afterBodyRead}, the span
+ * of the message converter's read. Serialization starts at {@link #beforeBodyWrite},
+ * after the header has been set, and is ended by the filter.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "wallet.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingAdvice implements RequestBodyAdvice, ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimings.current().begin(PhaseTimings.Phase.PARSE);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimings.current().end(PhaseTimings.Phase.PARSE);
+        return body;
+    }
+
+    @Override
+    public Object handleEmptyBody(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+            Class<? extends HttpMessageConverter<?>> converterType) {
+        PhaseTimings.current().end(PhaseTimings.Phase.PARSE);
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        PhaseTimings timings = PhaseTimings.current();
+        if (timings != PhaseTimings.NONE) {
+            response.getHeaders().set(ServerTimingFilter.HEADER, timings.toHeaderValue("app", timings.elapsedNanos()));
+            timings.begin(PhaseTimings.Phase.SERIALIZATION);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cubeia.wallet_focused.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration of per-phase request timing. The {@link ServerTimingFilter} and
+ * {@link ServerTimingAdvice} are only active when {@code wallet.server-timing.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.server-timing", name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${wallet.server-timing.slow-threshold-ms:250}") long slowThresholdMillis,
+            @Value("${wallet.server-timing.slow-log-sample-rate:0.1}") double slowLogSampleRate) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(Duration.ofMillis(slowThresholdMillis), slowLogSampleRate));
+        // Outermost, so the total covers the other filters too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,101 @@
+package com.cubeia.wallet_focused.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.cubeia.wallet_focused.service.PhaseTimings;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times each request by phase and reports the timings in a {@code Server-Timing}
+ * response header and, for slow requests, in a log entry.
+ * <p>
+ * The filter starts the request's {@link PhaseTimings} and binds them to the request
+ * thread for the handler and the transfer engine to record into. {@link ServerTimingAdvice}
+ * writes the header just before the response body is serialized, with every phase up
+ * to that point and an {@code app} total. Serialization itself runs after the headers
+ * have been sent, so its duration and the request's {@code total} are only known here,
+ * once the request completes, and are reported in the slow-request log.
+ * <p>
+ * Requests whose total exceeds the threshold are logged at WARN, sampled at the
+ * configured rate so a latency spike does not flood the log. Requests handled
+ * asynchronously complete in their async dispatch, which this filter also sees.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    /**
+     * Request attribute holding the request's {@link PhaseTimings}.
+     */
+    static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    /**
+     * Name of the response header.
+     */
+    public static final String HEADER = "Server-Timing";
+
+    private final long slowThresholdNanos;
+    private final double slowLogSampleRate;
+
+    /**
+     * Creates a filter.
+     *
+     * @param slowThreshold total time above which a request is logged as slow
+     * @param slowLogSampleRate fraction of slow requests to log, between 0 and 1
+     */
+    public ServerTimingFilter(Duration slowThreshold, double slowLogSampleRate) {
+        if (slowLogSampleRate < 0 || slowLogSampleRate > 1) {
+            throw new IllegalArgumentException("Slow request log sample rate must be between 0 and 1: " + slowLogSampleRate);
+        }
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLogSampleRate = slowLogSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // Started on the first dispatch; an async dispatch continues the same timings
+        PhaseTimings timings = (PhaseTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        if (timings == null) {
+            timings = PhaseTimings.start();
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+        }
+        PhaseTimings.bind(timings);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PhaseTimings.bind(null);
+            if (!request.isAsyncStarted()) {
+                complete(request, response, timings);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, PhaseTimings timings) {
+        timings.end(PhaseTimings.Phase.SERIALIZATION);
+        long total = timings.elapsedNanos();
+        // Responses without a body never reach the advice
+        if (!response.isCommitted() && !response.containsHeader(HEADER)) {
+            response.setHeader(HEADER, timings.toHeaderValue("app", total));
+        }
+        if (total > slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+            logger.warn("Slow request: method={}, uri={}, status={}, totalMs={}, serverTiming=\"{}\"",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(),
+                    total / 1_000_000, timings.toHeaderValue("total", total));
+        }
+    }
+}
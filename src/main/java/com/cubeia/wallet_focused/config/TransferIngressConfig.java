@@ -0,0 +1,28 @@
+package com.cubeia.wallet_focused.config;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.cubeia.wallet_focused.ingress.TransferIngressServer;
+import com.cubeia.wallet_focused.service.WalletService;
+
+/**
+ * Configuration of the binary TCP transfer ingress. The listener is only created when
+ * {@code wallet.ingress.tcp.enabled=true}, and is started and stopped with the
+ * application context.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.ingress.tcp", name = "enabled", havingValue = "true")
+public class TransferIngressConfig {
+
+    @Bean
+    public TransferIngressServer transferIngressServer(WalletService walletService,
+            @Value("${wallet.ingress.tcp.port:9090}") int port,
+            @Value("${wallet.ingress.tcp.max-in-flight:1024}") int maxInFlight) {
+        return new TransferIngressServer(walletService, new InetSocketAddress(port), maxInFlight);
+    }
+}
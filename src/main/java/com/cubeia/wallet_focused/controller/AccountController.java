@@ -1,32 +1,50 @@
 package com.cubeia.wallet_focused.controller;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.cubeia.wallet_focused.config.GlobalExceptionHandler;
 import com.cubeia.wallet_focused.dto.AccountDTO;
+import com.cubeia.wallet_focused.dto.BalanceBatchRequestDTO;
+import com.cubeia.wallet_focused.dto.BalanceBatchResponseDTO;
+import com.cubeia.wallet_focused.dto.ValidationErrorDTO;
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.model.EntityNotFoundException;
 import com.cubeia.wallet_focused.service.AccountService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
 /**
  * REST controller for account-related operations.
- * Provides endpoints for retrieving account balances.
+ * Provides endpoints for retrieving account balances, one account at a time or in batches.
  */
 @RestController
 @RequestMapping("/api/v1/accounts")
@@ -49,16 +67,27 @@ public class AccountController {
      * Gets the balance for an account.
      *
      * @param id the account ID as a string
-     * @return a response with the account ID and balance, or an error response
+     * @param asOf optional point in time to return the balance for instead of the current balance
+     * @param webRequest the current request, used to evaluate If-None-Match against the balance version
+     * @return a response with the account ID and balance, a 304 response if the client's copy is
+     *         still current, or an error response
      */
-    @Operation(summary = "Get account balance", description = "Retrieves the current balance for a specified account")
+    @Operation(summary = "Get account balance",
+            description = "Retrieves the current balance for a specified account, or the balance at a point in time when asOf is given. "
+                    + "Current balances carry an ETag with the account's balance version; send it back in If-None-Match "
+                    + "to get a 304 while the balance is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account balance found", content = @Content(schema = @Schema(implementation = AccountDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Balance unchanged since the version in If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Invalid account ID format"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     @GetMapping("/{id}/balance")
-    public ResponseEntity<AccountDTO> getBalance(@PathVariable("id") String id) {
+    public ResponseEntity<AccountDTO> getBalance(
+            @PathVariable("id") String id,
+            @Parameter(description = "Return the balance as it was at this instant (ISO-8601)")
+            @RequestParam(value = "asOf", required = false) Instant asOf,
+            WebRequest webRequest) {
         logger.info("Balance request received for account ID: {}", id);
         
         UUID accountId;
@@ -69,8 +98,25 @@ public class AccountController {
             return ResponseEntity.badRequest().build();
         }
 
+        if (asOf == null) {
+            // One snapshot gives both the ETag and the body, so they always describe the same state
+            Optional<BalanceSnapshot> snapshot = accountService.getBalanceSnapshot(accountId);
+            if (snapshot.isEmpty()) {
+                logger.info("Account not found: {}", accountId);
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = balanceETag(snapshot.get().sequence());
+            if (webRequest.checkNotModified(eTag)) {
+                logger.info("Balance not modified for account: {}, version={}", accountId, snapshot.get().sequence());
+                return null;
+            }
+            logger.info("Balance returned successfully for account: {}", accountId);
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache())
+                    .body(new AccountDTO(accountId, snapshot.get().balance()));
+        }
+
         try {
-            // Get account and calculate balance using event sourcing
+            // Get account and calculate the historical balance using event sourcing
             Optional<Account> accountOpt = accountService.getAccount(accountId);
             if (accountOpt.isEmpty()) {
                 logger.info("Account not found: {}", accountId);
@@ -78,7 +124,7 @@ public class AccountController {
             }
             
             Account account = accountOpt.get();
-            BigDecimal balance = accountService.calculateBalance(accountId);
+            BigDecimal balance = accountService.calculateBalanceAsOf(accountId, asOf);
             
             // Create DTO for response
             AccountDTO response = new AccountDTO(account.getAccountId(), balance);
@@ -90,4 +136,50 @@ public class AccountController {
             return ResponseEntity.notFound().build();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Gets the current balances of several accounts in one request.
+     *
+     * @param request the account IDs to read
+     * @return a response with the balances of the accounts found and the IDs that were not found
+     */
+    @Operation(summary = "Get balances of several accounts",
+            description = "Retrieves the current balances of up to " + BalanceBatchRequestDTO.MAX_ACCOUNTS
+                    + " accounts in one call, read from the balance projection")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balances returned",
+                    content = @Content(schema = @Schema(implementation = BalanceBatchResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized list of account IDs",
+                    content = @Content(schema = @Schema(implementation = ValidationErrorDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content(schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)))
+    })
+    @PostMapping("/balances")
+    public ResponseEntity<BalanceBatchResponseDTO> getBalances(@Valid @RequestBody BalanceBatchRequestDTO request) {
+        Set<UUID> accountIds = new LinkedHashSet<>(request.accountIds());
+        logger.info("Batch balance request received for {} accounts", accountIds.size());
+        
+        Map<UUID, BigDecimal> balances = accountService.getBalances(accountIds);
+        
+        List<AccountDTO> found = new ArrayList<>(balances.size());
+        List<UUID> notFound = new ArrayList<>();
+        for (UUID accountId : accountIds) {
+            BigDecimal balance = balances.get(accountId);
+            if (balance != null) {
+                found.add(new AccountDTO(accountId, balance));
+            } else {
+                notFound.add(accountId);
+            }
+        }
+        
+        logger.info("Batch balances returned: found={}, notFound={}", found.size(), notFound.size());
+        return ResponseEntity.ok(new BalanceBatchResponseDTO(found, notFound));
+    }
+
+    /**
+     * Formats a balance version as a strong entity tag.
+     */
+    private static String balanceETag(long version) {
+        return "\"" + version + "\"";
+    }
+}
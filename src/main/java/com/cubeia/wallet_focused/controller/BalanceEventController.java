@@ -0,0 +1,247 @@
+package com.cubeia.wallet_focused.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.cubeia.wallet_focused.dto.BalanceEventDTO;
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.service.BalanceEventPublisher;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for streaming balance changes to clients as Server-Sent Events.
+ * <p>
+ * Each connection gets a bounded queue that the transfer path fills without blocking,
+ * and a virtual thread that drains the queue into the response. A client that falls
+ * {@value #QUEUE_CAPACITY} events behind is disconnected instead of slowing down
+ * transfers or growing the queue without limit; since every event carries its sequence
+ * number as the event ID, the client simply reconnects with {@code Last-Event-ID} and
+ * the missed events are replayed from the ledger.
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@Tag(name = "Events", description = "Balance change notifications")
+public class BalanceEventController {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceEventController.class);
+
+    static final int QUEUE_CAPACITY = 1024;
+    static final String EVENT_NAME = "balance";
+    static final String SNAPSHOT_EVENT_NAME = "snapshot";
+    private static final long STREAM_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    private static final Duration DEFAULT_KEEP_ALIVE = Duration.ofSeconds(15);
+
+    private final BalanceEventPublisher eventPublisher;
+    private final Duration keepAlive;
+
+    /**
+     * Creates a new BalanceEventController with the specified publisher.
+     *
+     * @param eventPublisher the publisher to subscribe to
+     */
+    @Autowired
+    public BalanceEventController(BalanceEventPublisher eventPublisher) {
+        this(eventPublisher, DEFAULT_KEEP_ALIVE);
+    }
+
+    BalanceEventController(BalanceEventPublisher eventPublisher, Duration keepAlive) {
+        this.eventPublisher = eventPublisher;
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Opens a stream of balance changes for an account.
+     *
+     * @param id the account ID as a string
+     * @param afterSequence optional sequence number to resume after
+     * @param lastEventId the standard SSE reconnect header, used when afterSequence is not given
+     * @return the event stream, or an error response
+     */
+    @Operation(summary = "Stream balance changes",
+            description = "Pushes a 'balance' event for every committed entry of the account. New subscribers first get a "
+                    + "'snapshot' event with the current balance; subscribers resuming with afterSequence or Last-Event-ID "
+                    + "get the missed events replayed instead")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid account ID or sequence number"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @PathVariable("id") String id,
+            @Parameter(description = "Resume after this sequence number instead of starting with a snapshot")
+            @RequestParam(value = "afterSequence", required = false) Long afterSequence,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        logger.info("Balance event stream requested: accountId={}, afterSequence={}, lastEventId={}",
+                id, afterSequence, lastEventId);
+
+        UUID accountId;
+        try {
+            accountId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid account ID format: {}", id);
+            return ResponseEntity.badRequest().build();
+        }
+
+        Long resumeAfter = afterSequence;
+        if (resumeAfter == null && lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeAfter = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid Last-Event-ID: {}", lastEventId);
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (resumeAfter != null && resumeAfter < 0) {
+            logger.warn("Invalid resume sequence: {}", resumeAfter);
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (eventPublisher.currentBalance(accountId) == null) {
+            logger.info("Account not found: {}", accountId);
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        new BalanceEventStream(accountId, resumeAfter, emitter).start();
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+
+    /**
+     * One subscriber connection: a bounded queue filled by the publisher and a
+     * virtual thread writing the queued events to the emitter.
+     */
+    private final class BalanceEventStream {
+        private final UUID accountId;
+        private final Long resumeAfter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BalanceChangeEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean overflowed;
+        private volatile boolean closed;
+        // Created before subscribing: the publisher may call enqueue as soon as subscribe is called
+        private final Thread drainer;
+        private BalanceEventPublisher.Subscription subscription;
+
+        BalanceEventStream(UUID accountId, Long resumeAfter, SseEmitter emitter) {
+            this.accountId = accountId;
+            this.resumeAfter = resumeAfter;
+            this.emitter = emitter;
+            this.drainer = Thread.ofVirtual().name("balance-events-" + accountId).unstarted(this::drain);
+        }
+
+        void start() {
+            // Subscribe before reading the ledger so nothing committed in between is missed;
+            // events that show up both in the replay and the queue are skipped by sequence number
+            subscription = eventPublisher.subscribe(accountId, this::enqueue);
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(e -> close());
+            drainer.start();
+        }
+
+        private void enqueue(BalanceChangeEvent event) {
+            if (!queue.offer(event)) {
+                overflowed = true;
+                drainer.interrupt();
+            }
+        }
+
+        private void drain() {
+            try {
+                long lastSent = sendInitialEvents();
+                while (!closed && !overflowed) {
+                    BalanceChangeEvent event;
+                    try {
+                        event = queue.poll(keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        continue;
+                    }
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else if (event.sequence() > lastSent) {
+                        send(event);
+                        lastSent = event.sequence();
+                    }
+                }
+                if (overflowed && !closed) {
+                    logger.warn("Balance event subscriber fell behind, closing stream: accountId={}, lastSequence={}",
+                            accountId, lastSent);
+                    // Cancel the subscription before completing, so it is gone once the client sees the end
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Balance event stream closed: accountId={}, reason={}", accountId, e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * Sends the snapshot or the replayed events the client missed.
+         *
+         * @return the sequence number of the last event the client has
+         */
+        private long sendInitialEvents() throws IOException {
+            if (resumeAfter == null) {
+                BalanceSnapshot snapshot = eventPublisher.currentBalance(accountId);
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(snapshot.sequence()))
+                        .name(SNAPSHOT_EVENT_NAME)
+                        .data(BalanceEventDTO.snapshot(accountId, snapshot.sequence(), snapshot.balance()),
+                                MediaType.APPLICATION_JSON));
+                return snapshot.sequence();
+            }
+            try {
+                return eventPublisher.replay(accountId, resumeAfter, event -> {
+                    try {
+                        send(event);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void send(BalanceChangeEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.sequence()))
+                    .name(EVENT_NAME)
+                    .data(BalanceEventDTO.fromModel(event), MediaType.APPLICATION_JSON));
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscription.cancel();
+            drainer.interrupt();
+            logger.debug("Balance event subscriber removed: accountId={}", accountId);
+        }
+    }
+}
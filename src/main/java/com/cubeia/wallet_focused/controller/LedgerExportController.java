@@ -0,0 +1,135 @@
+package com.cubeia.wallet_focused.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.service.TransactionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for exporting transaction history as newline-delimited JSON.
+ * <p>
+ * Entries are written straight from the repository's log to the response stream,
+ * one JSON object per line, instead of being collected into a list first. The
+ * response is flushed every {@value #FLUSH_INTERVAL} entries. Writes block while the
+ * client is not reading, which pauses the iteration over the log, so memory use stays
+ * flat regardless of the history size.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Export", description = "Streaming transaction history export")
+public class LedgerExportController {
+    private static final Logger logger = LoggerFactory.getLogger(LedgerExportController.class);
+
+    static final int FLUSH_INTERVAL = 512;
+
+    private final TransactionService transactionService;
+    private final ObjectWriter entryWriter;
+
+    public LedgerExportController(TransactionService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.entryWriter = objectMapper.writerFor(TransactionEntryDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Operation(summary = "Export transactions for account",
+            description = "Streams all transaction entries of an account as newline-delimited JSON, in sequence order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started"),
+            @ApiResponse(responseCode = "400", description = "Invalid account ID format"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    @GetMapping(value = "/accounts/{id}/transactions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccount(@PathVariable("id") String id) {
+        logger.info("Transaction export request received for account ID: {}", id);
+
+        UUID accountId;
+        try {
+            accountId = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid account ID format: {}", id);
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!transactionService.accountExists(accountId)) {
+            logger.info("Account not found: {}", accountId);
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> {
+            long written = writeEntries(out, action -> transactionService.forEachTransaction(accountId, action));
+            logger.info("Exported {} transactions for account: {}", written, accountId);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @Operation(summary = "Export the whole ledger",
+            description = "Streams every transaction entry of every account as newline-delimited JSON, account by account")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export started")
+    })
+    @GetMapping(value = "/ledger/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLedger() {
+        logger.info("Ledger export request received");
+
+        StreamingResponseBody body = out -> {
+            long written = writeEntries(out, transactionService::forEachTransaction);
+            logger.info("Exported {} ledger transactions", written);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Writes the entries produced by the source as one JSON object per line.
+     *
+     * @return the number of entries written
+     */
+    private long writeEntries(OutputStream out, Consumer<Consumer<? super TransactionEntry>> source) throws IOException {
+        long[] written = new long[1];
+        try (JsonGenerator generator = entryWriter.createGenerator(out)) {
+            // Each line ends with the newline written after its entry; without this the generator
+            // also puts its default root value separator, a space, in front of every entry but the first
+            generator.setRootValueSeparator(null);
+            try {
+                source.accept(entry -> {
+                    try {
+                        entryWriter.writeValue(generator, TransactionEntryDTO.fromModel(entry));
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                logger.warn("Export aborted after {} entries: {}", written[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+        }
+        return written[0];
+    }
+}
@@ -1,5 +1,6 @@
 package com.cubeia.wallet_focused.controller;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
@@ -16,6 +18,7 @@ import com.cubeia.wallet_focused.model.TransactionEntry;
 import com.cubeia.wallet_focused.service.TransactionService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -35,15 +38,26 @@ public class TransactionController {
         this.transactionService = transactionService;
     }
 
-    @Operation(summary = "Get transactions for account", description = "Retrieves all transaction entries for a specified account")
+    @Operation(summary = "Get transactions for account",
+            description = "Retrieves the transaction entries for a specified account. Without query parameters all entries are returned. "
+                    + "Use afterSequence to continue from a previously seen entry, or from/to to select a time range.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transactions found",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = TransactionEntryDTO.class)))),
-            @ApiResponse(responseCode = "400", description = "Invalid account ID format"),
+            @ApiResponse(responseCode = "400", description = "Invalid account ID format or query parameters"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     @GetMapping("/{id}/transactions")
-    public ResponseEntity<List<TransactionEntryDTO>> getTransactions(@PathVariable("id") String id) {
+    public ResponseEntity<List<TransactionEntryDTO>> getTransactions(
+            @PathVariable("id") String id,
+            @Parameter(description = "Only return entries with a sequence number greater than this one")
+            @RequestParam(value = "afterSequence", required = false) Long afterSequence,
+            @Parameter(description = "Only return entries at or after this instant (ISO-8601)")
+            @RequestParam(value = "from", required = false) Instant from,
+            @Parameter(description = "Only return entries before this instant (ISO-8601)")
+            @RequestParam(value = "to", required = false) Instant to,
+            @Parameter(description = "Maximum number of entries to return")
+            @RequestParam(value = "limit", required = false) Integer limit) {
         logger.info("Transactions request received for account ID: {}", id);
         
         UUID accountId;
@@ -54,13 +68,31 @@ public class TransactionController {
             return ResponseEntity.badRequest().build();
         }
 
+        boolean timeRange = from != null || to != null;
+        if ((afterSequence != null && (afterSequence < 0 || timeRange))
+                || (limit != null && limit <= 0)
+                || (from != null && to != null && to.isBefore(from))) {
+            logger.warn("Invalid transaction query: afterSequence={}, from={}, to={}, limit={}",
+                    afterSequence, from, to, limit);
+            return ResponseEntity.badRequest().build();
+        }
+
         // Check if the account exists
         if (!transactionService.accountExists(accountId)) {
             logger.info("Account not found: {}", accountId);
             return ResponseEntity.notFound().build();
         }
 
-        List<TransactionEntry> transactions = transactionService.getTransactionsByAccount(accountId);
+        int maxResults = limit != null ? limit : Integer.MAX_VALUE;
+        List<TransactionEntry> transactions;
+        if (timeRange) {
+            transactions = transactionService.getTransactionsBetween(accountId, from, to, maxResults);
+        } else if (afterSequence != null || limit != null) {
+            transactions = transactionService.getTransactionsAfterSequence(
+                    accountId, afterSequence != null ? afterSequence : 0L, maxResults);
+        } else {
+            transactions = transactionService.getTransactionsByAccount(accountId);
+        }
         
         // Convert model objects to DTOs
         List<TransactionEntryDTO> transactionDTOs = transactions.stream()
@@ -70,4 +102,4 @@ public class TransactionController {
         logger.info("Retrieved {} transactions for account: {}", transactionDTOs.size(), accountId);
         return ResponseEntity.ok(transactionDTOs);
     }
-} 
\ No newline at end of file
+}
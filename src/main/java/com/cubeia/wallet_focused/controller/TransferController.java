@@ -1,5 +1,9 @@
 package com.cubeia.wallet_focused.controller;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -11,7 +15,9 @@ import org.springframework.web.bind.annotation.RestController;
 import com.cubeia.wallet_focused.config.GlobalExceptionHandler;
 import com.cubeia.wallet_focused.dto.TransferRequestDTO;
 import com.cubeia.wallet_focused.dto.TransferResponseDTO;
-import com.cubeia.wallet_focused.model.InsufficientFundsException;
+import com.cubeia.wallet_focused.dto.ValidationErrorDTO;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.service.PhaseTimings;
 import com.cubeia.wallet_focused.service.WalletService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,7 +26,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -35,12 +40,13 @@ public class TransferController {
     }
 
     @Operation(summary = "Transfer funds between accounts",
-            description = "Transfers funds from source account to destination account using double-entry bookkeeping")
+            description = "Transfers funds from source account to destination account using double-entry bookkeeping. "
+                    + "The response includes the balances and balance versions of both accounts after the transfer")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transfer successful",
                     content = @Content(schema = @Schema(implementation = TransferResponseDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request (negative amount, same account, etc.)",
-                    content = @Content(schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request (missing fields, negative amount, same account, etc.)",
+                    content = @Content(schema = @Schema(oneOf = { ValidationErrorDTO.class, TransferResponseDTO.class }))),
             @ApiResponse(responseCode = "404", description = "Account not found",
                     content = @Content(schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class))),
             @ApiResponse(responseCode = "409", description = "Insufficient funds",
@@ -49,41 +55,62 @@ public class TransferController {
                     content = @Content(schema = @Schema(implementation = GlobalExceptionHandler.ErrorResponse.class)))
     })
     @PostMapping("/accounts/transfer")
-    public ResponseEntity<TransferResponseDTO> transfer(@Valid @RequestBody TransferRequestDTO requestDTO) {
-        logger.info("Transfer request received: source={}, destination={}, amount={}, transactionId={}", 
+    public CompletableFuture<ResponseEntity<?>> transfer(@RequestBody TransferRequestDTO requestDTO) {
+        // Validated by hand rather than with @Valid, which costs more than the transfer itself;
+        // the errors are returned directly, without building an exception
+        PhaseTimings timings = PhaseTimings.current();
+        long validationMark = timings.mark();
+        Optional<ValidationErrorDTO> errors = requestDTO.validate();
+        timings.record(PhaseTimings.Phase.VALIDATION, validationMark);
+        if (errors.isPresent()) {
+            logger.debug("Transfer request failed validation: {}", errors.get().fieldErrors());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errors.get()));
+        }
+        logger.debug("Transfer request received: source={}, destination={}, amount={}, transactionId={}", 
                 requestDTO.sourceAccountId(), requestDTO.destinationAccountId(), 
                 requestDTO.amount(), requestDTO.transactionId());
         
+        // The request thread is released while the transfer waits for its account locks
+        CompletableFuture<TransferOutcome> outcome;
         try {
-            // Convert DTO to domain model using the toModel method
-            walletService.transfer(requestDTO.toModel());
-            
-            // Success response
-            TransferResponseDTO response = TransferResponseDTO.success(requestDTO.transactionId());
-            
-            logger.info("Transfer completed successfully: transactionId={}", requestDTO.transactionId());
-            return ResponseEntity.ok(response);
-        } catch (InsufficientFundsException e) {
-            logger.warn("Transfer failed - Insufficient funds: source={}, amount={}, transactionId={}", 
-                    requestDTO.sourceAccountId(), requestDTO.amount(), requestDTO.transactionId());
-            
-            // Handle insufficient funds
-            TransferResponseDTO response = TransferResponseDTO.error(e.getMessage());
-            return ResponseEntity.status(409).body(response);
-        } catch (IllegalArgumentException e) {
-            logger.warn("Transfer failed - Invalid request: {}, transactionId={}", 
-                    e.getMessage(), requestDTO.transactionId());
-            
-            // Handle invalid arguments
-            TransferResponseDTO response = TransferResponseDTO.error(e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            outcome = walletService.attemptTransferAsync(requestDTO.toModel());
         } catch (Exception e) {
-            logger.error("Unexpected error during transfer: transactionId={}", 
-                    requestDTO.transactionId(), e);
-            
-            // Handle unexpected errors
-            TransferResponseDTO response = TransferResponseDTO.error("An unexpected error occurred");
-            return ResponseEntity.status(500).body(response);
+            return CompletableFuture.completedFuture(unexpectedError(requestDTO, e));
         }
+        return outcome
+                .<ResponseEntity<?>>thenApply(result -> toResponse(requestDTO, result))
+                .exceptionally(e -> unexpectedError(requestDTO, e instanceof CompletionException ? e.getCause() : e));
+    }
+
+    /**
+     * Maps a transfer outcome to its response. Business rejections come back as
+     * outcomes, so only unexpected failures reach the exception path.
+     */
+    private ResponseEntity<TransferResponseDTO> toResponse(TransferRequestDTO requestDTO, TransferOutcome outcome) {
+        return switch (outcome) {
+            case TransferOutcome.Completed completed -> {
+                logger.debug("Transfer completed successfully: transactionId={}", requestDTO.transactionId());
+                yield ResponseEntity.ok(TransferResponseDTO.success(completed.result()));
+            }
+            case TransferOutcome.InsufficientFunds insufficient -> {
+                logger.debug("Transfer failed - Insufficient funds: source={}, amount={}, transactionId={}", 
+                        requestDTO.sourceAccountId(), requestDTO.amount(), requestDTO.transactionId());
+                yield ResponseEntity.status(409).body(TransferResponseDTO.error(insufficient.message()));
+            }
+            case TransferOutcome.Rejected rejected -> {
+                logger.debug("Transfer failed - Invalid request: {}, transactionId={}", 
+                        rejected.message(), requestDTO.transactionId());
+                yield ResponseEntity.badRequest().body(TransferResponseDTO.error(rejected.message()));
+            }
+        };
+    }
+
+    private ResponseEntity<?> unexpectedError(TransferRequestDTO requestDTO, Throwable e) {
+        logger.error("Unexpected error during transfer: transactionId={}", 
+                requestDTO.transactionId(), e);
+        
+        // Handle unexpected errors
+        TransferResponseDTO response = TransferResponseDTO.error("An unexpected error occurred");
+        return ResponseEntity.status(500).body(response);
     }
-} 
\ No newline at end of file
+}
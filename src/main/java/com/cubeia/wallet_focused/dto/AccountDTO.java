@@ -3,12 +3,15 @@ package com.cubeia.wallet_focused.dto;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 
 @Valid
 @Schema(description = "Account information")
+@JsonSerialize(using = LedgerJsonSerializers.AccountSerializer.class)
 public record AccountDTO(
     @NotNull(message = "Account ID is required")
     @Schema(description = "Unique identifier for the account", example = "123e4567-e89b-12d3-a456-426614174000")
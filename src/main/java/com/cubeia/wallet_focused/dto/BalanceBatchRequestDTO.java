@@ -0,0 +1,27 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object for a multi-account balance request.
+ */
+@Valid
+@Schema(description = "Request for the balances of several accounts")
+public record BalanceBatchRequestDTO(
+    @NotEmpty(message = "At least one account ID is required")
+    @Size(max = BalanceBatchRequestDTO.MAX_ACCOUNTS, message = "At most " + BalanceBatchRequestDTO.MAX_ACCOUNTS + " account IDs are allowed")
+    @Schema(description = "Account identifiers to read balances for", example = "[\"123e4567-e89b-12d3-a456-426614174001\"]")
+    List<@NotNull(message = "Account ID must not be null") UUID> accountIds
+) {
+    /**
+     * Maximum number of accounts that can be requested in one call.
+     */
+    public static final int MAX_ACCOUNTS = 500;
+}
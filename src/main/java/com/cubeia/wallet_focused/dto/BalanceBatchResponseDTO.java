@@ -0,0 +1,17 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for a multi-account balance response.
+ */
+@Schema(description = "Balances of several accounts")
+public record BalanceBatchResponseDTO(
+    @Schema(description = "Balances of the accounts that were found, in request order")
+    List<AccountDTO> balances,
+    @Schema(description = "Requested account IDs that do not exist")
+    List<UUID> notFound
+) {}
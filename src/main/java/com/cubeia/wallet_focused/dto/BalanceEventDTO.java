@@ -0,0 +1,64 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object (DTO) for a balance change pushed to event stream subscribers.
+ */
+@Schema(description = "Balance change of an account caused by a committed transaction entry")
+public record BalanceEventDTO(
+    @Schema(description = "Account whose balance changed", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID accountId,
+    @Schema(description = "Sequence number of the entry that caused the change, also sent as the event ID", example = "42")
+    long sequence,
+    @Schema(description = "Balance of the account after the change", example = "950.00")
+    BigDecimal balance,
+    @Schema(description = "Transaction that caused the change, absent for snapshot events", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID transactionId,
+    @Schema(description = "Counterparty account of the transaction", example = "123e4567-e89b-12d3-a456-426614174000")
+    UUID counterpartyId,
+    @Schema(description = "Type of the entry (DEBIT or CREDIT)", example = "DEBIT")
+    TransactionEntryDTO.Type type,
+    @Schema(description = "Amount of the entry", example = "50.00")
+    BigDecimal amount,
+    @Schema(description = "Timestamp of the entry", example = "2023-01-15T12:34:56Z")
+    Instant timestamp
+) {
+    /**
+     * Creates a snapshot event carrying only the current balance, sent to new subscribers
+     * that do not resume from a known sequence number.
+     *
+     * @param accountId the account
+     * @param sequence the sequence number of the latest entry
+     * @param balance the current balance
+     * @return a new BalanceEventDTO without entry details
+     */
+    public static BalanceEventDTO snapshot(UUID accountId, long sequence, BigDecimal balance) {
+        return new BalanceEventDTO(accountId, sequence, balance, null, null, null, null, null);
+    }
+
+    /**
+     * Factory method to create a DTO from a model object.
+     *
+     * @param model the BalanceChangeEvent model to convert
+     * @return a new BalanceEventDTO
+     */
+    public static BalanceEventDTO fromModel(BalanceChangeEvent model) {
+        return new BalanceEventDTO(
+            model.accountId(),
+            model.sequence(),
+            model.balance(),
+            model.transactionId(),
+            model.counterpartyId(),
+            model.type() == null ? null : TransactionEntryDTO.Type.valueOf(model.type().name()),
+            model.amount(),
+            model.timestamp()
+        );
+    }
+}
@@ -0,0 +1,208 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written Jackson serializers for the DTOs written in bulk by the balance and
+ * transaction endpoints.
+ * <p>
+ * They produce the same JSON as the default serialization (fields in declaration
+ * order, UUIDs as strings, instants as ISO-8601 strings like
+ * {@link java.time.format.DateTimeFormatter#ISO_INSTANT}) but skip reflective property
+ * access and the generic UUID and {@code Instant} serializers, which allocate a
+ * {@code char[]} or {@code String} per value. UUIDs and timestamps are formatted into
+ * a per-thread character buffer and handed to the generator from there. Field names
+ * are pre-encoded. {@code BigDecimal}s are left to the generator, which reuses the
+ * string each instance caches.
+ */
+public final class LedgerJsonSerializers {
+    private static final SerializableString TRANSACTION_ID = new SerializedString("transactionId");
+    private static final SerializableString ACCOUNT_ID = new SerializedString("accountId");
+    private static final SerializableString COUNTERPARTY_ID = new SerializedString("counterpartyId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializableString SEQUENCE = new SerializedString("sequence");
+    private static final SerializableString BALANCE = new SerializedString("balance");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int UUID_LENGTH = 36;
+    // Longest ISO instant written from the buffer: yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ
+    private static final int INSTANT_MAX_LENGTH = 30;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    // Instants outside years 0000-9999 need a sign or more digits and use Instant.toString
+    private static final long MIN_FAST_EPOCH_SECOND = -62_167_219_200L;
+    private static final long MAX_FAST_EPOCH_SECOND = 253_402_300_799L;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(
+            () -> new char[Math.max(UUID_LENGTH, INSTANT_MAX_LENGTH)]);
+
+    private LedgerJsonSerializers() {
+    }
+
+    /**
+     * Serializer for {@link TransactionEntryDTO}.
+     */
+    public static final class TransactionEntrySerializer extends StdSerializer<TransactionEntryDTO> {
+        public TransactionEntrySerializer() {
+            super(TransactionEntryDTO.class);
+        }
+
+        @Override
+        public void serialize(TransactionEntryDTO entry, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFER.get();
+            gen.writeStartObject(entry);
+            gen.writeFieldName(TRANSACTION_ID);
+            writeUuid(gen, buffer, entry.transactionId());
+            gen.writeFieldName(ACCOUNT_ID);
+            writeUuid(gen, buffer, entry.accountId());
+            gen.writeFieldName(COUNTERPARTY_ID);
+            writeUuid(gen, buffer, entry.counterpartyId());
+            gen.writeFieldName(AMOUNT);
+            if (entry.amount() != null) {
+                gen.writeNumber(entry.amount());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(TYPE);
+            if (entry.type() != null) {
+                gen.writeString(entry.type().name());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeFieldName(TIMESTAMP);
+            writeInstant(gen, buffer, entry.timestamp());
+            gen.writeFieldName(SEQUENCE);
+            gen.writeNumber(entry.sequence());
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Serializer for {@link AccountDTO}.
+     */
+    public static final class AccountSerializer extends StdSerializer<AccountDTO> {
+        public AccountSerializer() {
+            super(AccountDTO.class);
+        }
+
+        @Override
+        public void serialize(AccountDTO account, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(account);
+            gen.writeFieldName(ACCOUNT_ID);
+            writeUuid(gen, BUFFER.get(), account.accountId());
+            gen.writeFieldName(BALANCE);
+            if (account.balance() != null) {
+                gen.writeNumber(account.balance());
+            } else {
+                gen.writeNull();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeUuid(JsonGenerator gen, char[] buffer, UUID uuid) throws IOException {
+        if (uuid == null) {
+            gen.writeNull();
+            return;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        appendHex(buffer, 0, msb >>> 32, 8);
+        buffer[8] = '-';
+        appendHex(buffer, 9, msb >>> 16, 4);
+        buffer[13] = '-';
+        appendHex(buffer, 14, msb, 4);
+        buffer[18] = '-';
+        appendHex(buffer, 19, lsb >>> 48, 4);
+        buffer[23] = '-';
+        appendHex(buffer, 24, lsb, 12);
+        gen.writeString(buffer, 0, UUID_LENGTH);
+    }
+
+    private static void appendHex(char[] buffer, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static void writeInstant(JsonGenerator gen, char[] buffer, Instant instant) throws IOException {
+        if (instant == null) {
+            gen.writeNull();
+            return;
+        }
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < MIN_FAST_EPOCH_SECOND || epochSecond > MAX_FAST_EPOCH_SECOND) {
+            gen.writeString(instant.toString());
+            return;
+        }
+        gen.writeString(buffer, 0, formatInstant(buffer, epochSecond, instant.getNano()));
+    }
+
+    /**
+     * Formats an instant in years 0000-9999 the way {@code DateTimeFormatter.ISO_INSTANT}
+     * does: fractional seconds are omitted when zero and otherwise written in groups
+     * of three digits.
+     *
+     * @return the number of characters written
+     */
+    static int formatInstant(char[] buffer, long epochSecond, int nano) {
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+        // Civil date from days since 1970-01-01, in 400-year eras starting on March 1st
+        long shifted = epochDay + 719_468;
+        long era = Math.floorDiv(shifted, 146_097);
+        int dayOfEra = (int) (shifted - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (era * 400 + yearOfEra) + (month <= 2 ? 1 : 0);
+
+        appendDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        appendDigits(buffer, 5, month, 2);
+        buffer[7] = '-';
+        appendDigits(buffer, 8, day, 2);
+        buffer[10] = 'T';
+        appendDigits(buffer, 11, secondOfDay / 3600, 2);
+        buffer[13] = ':';
+        appendDigits(buffer, 14, secondOfDay / 60 % 60, 2);
+        buffer[16] = ':';
+        appendDigits(buffer, 17, secondOfDay % 60, 2);
+        int length = 19;
+        if (nano != 0) {
+            buffer[length++] = '.';
+            if (nano % 1_000_000 == 0) {
+                appendDigits(buffer, length, nano / 1_000_000, 3);
+                length += 3;
+            } else if (nano % 1_000 == 0) {
+                appendDigits(buffer, length, nano / 1_000, 6);
+                length += 6;
+            } else {
+                appendDigits(buffer, length, nano, 9);
+                length += 9;
+            }
+        }
+        buffer[length++] = 'Z';
+        return length;
+    }
+
+    private static void appendDigits(char[] buffer, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import java.util.UUID;
 
 import com.cubeia.wallet_focused.model.TransactionEntry;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -13,6 +15,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * Used to provide a clean separation between the API layer and the domain model.
  */
 @Schema(description = "Transaction entry representing a debit or credit to an account")
+@JsonSerialize(using = LedgerJsonSerializers.TransactionEntrySerializer.class)
 public record TransactionEntryDTO(
     @Schema(description = "Unique identifier for the transaction", example = "123e4567-e89b-12d3-a456-426614174000")
     UUID transactionId,
@@ -25,7 +28,9 @@ public record TransactionEntryDTO(
     @Schema(description = "Type of transaction entry (DEBIT or CREDIT)", example = "DEBIT")
     Type type,
     @Schema(description = "Timestamp when the transaction occurred", example = "2023-01-15T12:34:56Z")
-    Instant timestamp
+    Instant timestamp,
+    @Schema(description = "Per-account sequence number of the entry, usable as a cursor", example = "42")
+    long sequence
 ) {
     /**
      * The type of transaction entry.
@@ -33,6 +38,21 @@ public record TransactionEntryDTO(
     @Schema(description = "Type of transaction: DEBIT or CREDIT")
     public enum Type { DEBIT, CREDIT }
 
+    /**
+     * Creates a DTO without a sequence number, for entries that have not been stored.
+     *
+     * @param transactionId unique identifier for the transaction
+     * @param accountId the account this entry applies to
+     * @param counterpartyId the counterparty account in this transaction
+     * @param amount the transaction amount
+     * @param type the entry type
+     * @param timestamp when the transaction occurred
+     */
+    public TransactionEntryDTO(UUID transactionId, UUID accountId, UUID counterpartyId,
+            BigDecimal amount, Type type, Instant timestamp) {
+        this(transactionId, accountId, counterpartyId, amount, type, timestamp, 0L);
+    }
+
     /**
      * Factory method to create a DTO from a model object.
      *
@@ -47,7 +67,8 @@ public record TransactionEntryDTO(
             model.getCounterpartyId(),
             model.getAmount(),
             dtoType,
-            model.getTimestamp()
+            model.getTimestamp(),
+            model.getSequence()
         );
     }
 } 
\ No newline at end of file
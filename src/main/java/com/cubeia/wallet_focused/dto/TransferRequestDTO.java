@@ -1,6 +1,9 @@
 package com.cubeia.wallet_focused.dto;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.cubeia.wallet_focused.model.TransferRequest;
@@ -35,6 +38,37 @@ public record TransferRequestDTO(
     BigDecimal amount
 ) {
     
+    /**
+     * Checks the same constraints as the Bean Validation annotations on this record,
+     * with the same messages, using plain field checks instead of the reflective
+     * validator. The transfer endpoints call this on every request, so it is kept in
+     * step with the annotations, which still document the schema.
+     *
+     * @return the field errors, or empty if the request is valid
+     */
+    public Optional<ValidationErrorDTO> validate() {
+        if (transactionId != null && sourceAccountId != null && destinationAccountId != null
+                && amount != null && amount.signum() > 0) {
+            return Optional.empty();
+        }
+        List<ValidationErrorDTO.FieldError> errors = new ArrayList<>(4);
+        if (transactionId == null) {
+            errors.add(new ValidationErrorDTO.FieldError("transactionId", "Transaction ID is required"));
+        }
+        if (sourceAccountId == null) {
+            errors.add(new ValidationErrorDTO.FieldError("sourceAccountId", "Source account ID is required"));
+        }
+        if (destinationAccountId == null) {
+            errors.add(new ValidationErrorDTO.FieldError("destinationAccountId", "Destination account ID is required"));
+        }
+        if (amount == null) {
+            errors.add(new ValidationErrorDTO.FieldError("amount", "Amount is required"));
+        } else if (amount.signum() <= 0) {
+            errors.add(new ValidationErrorDTO.FieldError("amount", "Amount must be positive"));
+        }
+        return Optional.of(new ValidationErrorDTO(errors));
+    }
+
     /**
      * Converts this DTO to a domain model TransferRequest.
      *
@@ -1,29 +1,92 @@
 package com.cubeia.wallet_focused.dto;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
 /**
  * Data Transfer Object for transfer operation responses.
  * Provides a strongly-typed response structure instead of using Maps.
+ * Successful responses carry the balances of both accounts after the transfer, so
+ * clients do not need to read them back with separate balance requests.
  */
-public record TransferResponseDTO(boolean success, UUID transactionId, String error) {
+public record TransferResponseDTO(
+    boolean success,
+    UUID transactionId,
+    String error,
+    @Schema(description = "Source account balance after the transfer")
+    AccountBalance source,
+    @Schema(description = "Destination account balance after the transfer")
+    AccountBalance destination,
+    @Schema(description = "True if the transaction ID had already been processed; balances are then the current ones")
+    boolean duplicate
+) {
+    /**
+     * Balance of one account after a transfer.
+     *
+     * @param accountId the account
+     * @param balance the balance after the transfer
+     * @param version the balance version after the transfer, as returned in the balance endpoint's ETag
+     */
+    @Schema(description = "Balance and balance version of an account")
+    public record AccountBalance(
+        @Schema(description = "Account ID", example = "123e4567-e89b-12d3-a456-426614174000")
+        UUID accountId,
+        @Schema(description = "Balance after the transfer", example = "950.00")
+        BigDecimal balance,
+        @Schema(description = "Balance version after the transfer, usable in If-None-Match", example = "42")
+        long version
+    ) {
+        static AccountBalance of(UUID accountId, BalanceSnapshot snapshot) {
+            return new AccountBalance(accountId, snapshot.balance(), snapshot.sequence());
+        }
+    }
+
+    /**
+     * Creates a response without account balances.
+     *
+     * @param success whether the transfer succeeded
+     * @param transactionId the transaction ID
+     * @param error the error message, or null
+     */
+    public TransferResponseDTO(boolean success, UUID transactionId, String error) {
+        this(success, transactionId, error, null, null, false);
+    }
+
     /**
      * Creates a success response with the transaction ID.
-     * 
+     *
      * @param transactionId the transaction ID
      * @return a success response
      */
     public static TransferResponseDTO success(UUID transactionId) {
         return new TransferResponseDTO(true, transactionId, null);
     }
-    
+
+    /**
+     * Creates a success response with the balances from a transfer result.
+     *
+     * @param result the result of the transfer
+     * @return a success response
+     */
+    public static TransferResponseDTO success(TransferResult result) {
+        return new TransferResponseDTO(true, result.transactionId(), null,
+                AccountBalance.of(result.sourceAccountId(), result.source()),
+                AccountBalance.of(result.destinationAccountId(), result.destination()),
+                result.duplicate());
+    }
+
     /**
      * Creates an error response with the specified error message.
-     * 
+     *
      * @param errorMessage the error message
      * @return an error response
      */
     public static TransferResponseDTO error(String errorMessage) {
         return new TransferResponseDTO(false, null, errorMessage);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.cubeia.wallet_focused.ingress;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+/**
+ * Binary frame layout of the TCP transfer ingress. All numbers are big-endian, and
+ * every frame starts with a 4-byte length of the rest of the frame.
+ * <p>
+ * Request frame (58 bytes after the length):
+ * <pre>
+ *   type                  1  {@link #TYPE_TRANSFER}
+ *   transactionId        16  most significant long, least significant long
+ *   sourceAccountId      16
+ *   destinationAccountId 16
+ *   amount unscaled       8  amount = unscaled * 10^-scale
+ *   amount scale          1  0 to 127
+ * </pre>
+ * Response frame:
+ * <pre>
+ *   status                1  {@link Status#code()}
+ *   transactionId        16  zero for malformed frames
+ *   COMPLETED and DUPLICATE:
+ *     source version      8, source balance unscaled 8, scale 1
+ *     destination version 8, destination balance unscaled 8, scale 1
+ *   all other statuses:
+ *     message length      2, message UTF-8 bytes
+ * </pre>
+ * Requests are decoded with absolute reads straight from the receive buffer, without
+ * copying the frame.
+ */
+public final class TransferFrameCodec {
+    /**
+     * Size of the length prefix of every frame.
+     */
+    public static final int LENGTH_PREFIX = 4;
+
+    /**
+     * Frame type of a transfer request.
+     */
+    public static final byte TYPE_TRANSFER = 1;
+
+    /**
+     * Length of a transfer request frame after the length prefix.
+     */
+    public static final int REQUEST_LENGTH = 1 + 16 + 16 + 16 + 8 + 1;
+
+    /**
+     * Largest frame length accepted; longer frames close the connection.
+     */
+    public static final int MAX_FRAME_LENGTH = 1024;
+
+    private static final int MAX_MESSAGE_LENGTH = 256;
+    private static final int COMPLETED_LENGTH = 1 + 16 + 2 * (8 + 8 + 1);
+
+    /**
+     * Largest response frame, including the length prefix.
+     */
+    static final int MAX_RESPONSE_LENGTH = LENGTH_PREFIX + 1 + 16 + 2 + MAX_MESSAGE_LENGTH;
+
+    /**
+     * Response status codes.
+     */
+    public enum Status {
+        COMPLETED(0),
+        DUPLICATE(1),
+        INSUFFICIENT_FUNDS(2),
+        REJECTED(3),
+        MALFORMED(4),
+        ERROR(5);
+
+        private final byte code;
+
+        Status(int code) {
+            this.code = (byte) code;
+        }
+
+        /**
+         * Gets the wire code of the status.
+         *
+         * @return the code
+         */
+        public byte code() {
+            return code;
+        }
+
+        static Status fromCode(byte code) {
+            for (Status status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Unknown status code: " + code);
+        }
+    }
+
+    /**
+     * A decoded response frame.
+     *
+     * @param status the status
+     * @param transactionId the transaction the response belongs to
+     * @param source the source balance and version, for completed transfers
+     * @param destination the destination balance and version, for completed transfers
+     * @param message the error message, for other statuses
+     */
+    public record Response(Status status, UUID transactionId, BalanceSnapshot source,
+            BalanceSnapshot destination, String message) {}
+
+    private TransferFrameCodec() {
+    }
+
+    /**
+     * Decodes a transfer request frame.
+     *
+     * @param buffer the buffer holding the frame
+     * @param offset the index of the first byte after the length prefix
+     * @param length the frame length from the prefix
+     * @return the transfer request
+     * @throws IllegalArgumentException if the frame is not a valid transfer request
+     */
+    public static TransferRequest decodeRequest(ByteBuffer buffer, int offset, int length) {
+        if (length != REQUEST_LENGTH) {
+            throw new IllegalArgumentException("Invalid transfer frame length: " + length);
+        }
+        byte type = buffer.get(offset);
+        if (type != TYPE_TRANSFER) {
+            throw new IllegalArgumentException("Unknown frame type: " + type);
+        }
+        UUID transactionId = new UUID(buffer.getLong(offset + 1), buffer.getLong(offset + 9));
+        UUID sourceAccountId = new UUID(buffer.getLong(offset + 17), buffer.getLong(offset + 25));
+        UUID destinationAccountId = new UUID(buffer.getLong(offset + 33), buffer.getLong(offset + 41));
+        byte scale = buffer.get(offset + 57);
+        if (scale < 0) {
+            throw new IllegalArgumentException("Invalid amount scale: " + scale);
+        }
+        BigDecimal amount = BigDecimal.valueOf(buffer.getLong(offset + 49), scale);
+        return new TransferRequest(transactionId, sourceAccountId, destinationAccountId, amount);
+    }
+
+    /**
+     * Encodes a transfer request frame, including its length prefix.
+     *
+     * @param buffer the buffer to write to
+     * @param request the request to encode
+     * @throws ArithmeticException if the amount does not fit the frame
+     */
+    public static void encodeRequest(ByteBuffer buffer, TransferRequest request) {
+        buffer.putInt(REQUEST_LENGTH);
+        buffer.put(TYPE_TRANSFER);
+        putUuid(buffer, request.getTransactionId());
+        putUuid(buffer, request.getSourceAccountId());
+        putUuid(buffer, request.getDestinationAccountId());
+        putDecimal(buffer, request.getAmount());
+    }
+
+    /**
+     * Encodes the response frame for a transfer outcome, including its length prefix.
+     *
+     * @param buffer the buffer to write to
+     * @param transactionId the transaction the outcome belongs to
+     * @param outcome the outcome of the transfer
+     * @throws ArithmeticException if a balance does not fit the frame
+     */
+    public static void encodeResponse(ByteBuffer buffer, UUID transactionId, TransferOutcome outcome) {
+        switch (outcome) {
+            case TransferOutcome.Completed completed -> {
+                TransferResult result = completed.result();
+                buffer.putInt(COMPLETED_LENGTH);
+                buffer.put(result.duplicate() ? Status.DUPLICATE.code() : Status.COMPLETED.code());
+                putUuid(buffer, transactionId);
+                putSnapshot(buffer, result.source());
+                putSnapshot(buffer, result.destination());
+            }
+            case TransferOutcome.InsufficientFunds insufficient ->
+                encodeError(buffer, Status.INSUFFICIENT_FUNDS, transactionId, insufficient.message());
+            case TransferOutcome.Rejected rejected ->
+                encodeError(buffer, Status.REJECTED, transactionId, rejected.message());
+        }
+    }
+
+    /**
+     * Encodes an error response frame, including its length prefix.
+     *
+     * @param buffer the buffer to write to
+     * @param status the error status
+     * @param transactionId the transaction the error belongs to, or null if unknown
+     * @param message the error message, truncated to 256 bytes
+     */
+    public static void encodeError(ByteBuffer buffer, Status status, UUID transactionId, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        int messageLength = Math.min(bytes.length, MAX_MESSAGE_LENGTH);
+        buffer.putInt(1 + 16 + 2 + messageLength);
+        buffer.put(status.code());
+        putUuid(buffer, transactionId != null ? transactionId : new UUID(0L, 0L));
+        buffer.putShort((short) messageLength);
+        buffer.put(bytes, 0, messageLength);
+    }
+
+    /**
+     * Decodes a response frame.
+     *
+     * @param buffer the buffer holding the frame
+     * @param offset the index of the first byte after the length prefix
+     * @return the response
+     */
+    public static Response decodeResponse(ByteBuffer buffer, int offset) {
+        Status status = Status.fromCode(buffer.get(offset));
+        UUID transactionId = new UUID(buffer.getLong(offset + 1), buffer.getLong(offset + 9));
+        if (status == Status.COMPLETED || status == Status.DUPLICATE) {
+            return new Response(status, transactionId,
+                    getSnapshot(buffer, offset + 17), getSnapshot(buffer, offset + 34), null);
+        }
+        int messageLength = buffer.getShort(offset + 17);
+        byte[] message = new byte[messageLength];
+        buffer.get(offset + 19, message);
+        return new Response(status, transactionId, null, null, new String(message, StandardCharsets.UTF_8));
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        if (value.scale() != (byte) value.scale()) {
+            throw new ArithmeticException("Scale does not fit the frame: " + value.scale());
+        }
+        buffer.putLong(value.unscaledValue().longValueExact());
+        buffer.put((byte) value.scale());
+    }
+
+    private static void putSnapshot(ByteBuffer buffer, BalanceSnapshot snapshot) {
+        buffer.putLong(snapshot.sequence());
+        putDecimal(buffer, snapshot.balance());
+    }
+
+    private static BalanceSnapshot getSnapshot(ByteBuffer buffer, int offset) {
+        return new BalanceSnapshot(buffer.getLong(offset),
+                BigDecimal.valueOf(buffer.getLong(offset + 8), buffer.get(offset + 16)));
+    }
+}
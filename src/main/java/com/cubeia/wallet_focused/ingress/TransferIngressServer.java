@@ -0,0 +1,353 @@
+package com.cubeia.wallet_focused.ingress;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.service.WalletService;
+
+/**
+ * TCP listener that accepts binary transfer frames (see {@link TransferFrameCodec})
+ * and submits them to {@link WalletService#attemptTransferAsync}.
+ * <p>
+ * A single selector thread does all socket I/O. Clients may pipeline any number of
+ * frames; each frame is submitted as soon as it has been read, and responses are
+ * written in the order the frames arrived on the connection, even when later
+ * transfers complete first. A connection stops being read while it has
+ * {@code maxInFlight} transfers outstanding or its response buffer is more than half
+ * full, and the response buffer never grows, so a client that does not read its
+ * responses cannot queue unbounded work or responses.
+ * <p>
+ * Frames bypass JSON binding and Bean Validation; the service's own checks still
+ * reject invalid amounts, same-account transfers and unknown source accounts.
+ */
+public class TransferIngressServer implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TransferIngressServer.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Unsent response bytes above which a connection is no longer read
+    private static final int OUT_HIGH_WATER = BUFFER_SIZE / 2;
+
+    private final WalletService walletService;
+    private final InetSocketAddress bindAddress;
+    private final int maxInFlight;
+    // Connections with completed transfers, handed from completing threads to the selector thread
+    private final Queue<Connection> completions = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread selectorThread;
+
+    /**
+     * Creates a listener that is bound when started.
+     *
+     * @param walletService the service to submit transfers to
+     * @param bindAddress the address to listen on; port 0 picks a free port
+     * @param maxInFlight the maximum number of outstanding transfers per connection
+     */
+    public TransferIngressServer(WalletService walletService, InetSocketAddress bindAddress, int maxInFlight) {
+        this.walletService = walletService;
+        this.bindAddress = bindAddress;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public void start() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(bindAddress);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start transfer ingress on " + bindAddress, e);
+        }
+        running = true;
+        selectorThread = Thread.ofPlatform().name("transfer-ingress").start(this::run);
+        logger.info("Transfer ingress listening: port={}", getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Transfer ingress stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the port the listener is bound to.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+                Connection completed;
+                while ((completed = completions.poll()) != null) {
+                    completed.process();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) {
+                            connection.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            connection.process();
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Transfer ingress selector failed", e);
+            running = false;
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.warn("Could not close transfer ingress selector", e);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+        logger.debug("Transfer ingress connection accepted: remote={}", channel.getRemoteAddress());
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            logger.debug("Error closing transfer ingress channel", e);
+        }
+    }
+
+    /**
+     * A transfer submitted from a frame, or a malformed frame awaiting its error response.
+     */
+    private record Pending(UUID transactionId, CompletableFuture<TransferOutcome> outcome, String malformed) {}
+
+    /**
+     * State of one client connection. All methods run on the selector thread, except
+     * {@link #signal()}, which completing transfers call from any thread.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final Queue<Pending> pending = new ArrayDeque<>();
+        private final AtomicBoolean signalled = new AtomicBoolean();
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        private boolean inputClosed;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        void read() {
+            int read;
+            try {
+                read = channel.read(in);
+            } catch (IOException e) {
+                logger.debug("Transfer ingress read failed", e);
+                closeQuietly(key);
+                return;
+            }
+            if (read < 0) {
+                // The client has finished sending; answer what it sent, then close
+                inputClosed = true;
+            }
+            process();
+        }
+
+        void signal() {
+            if (signalled.compareAndSet(false, true)) {
+                completions.add(this);
+                selector.wakeup();
+            }
+        }
+
+        /**
+         * Submits buffered frames while there is room for more outstanding transfers,
+         * encodes the responses of completed transfers at the head of the queue while
+         * they fit the response buffer, and writes as much as the socket accepts.
+         */
+        void process() {
+            signalled.set(false);
+            if (!key.isValid()) {
+                return;
+            }
+            if (!submitFrames()) {
+                return;
+            }
+            while (true) {
+                encodeCompleted();
+                int written;
+                try {
+                    out.flip();
+                    written = channel.write(out);
+                    out.compact();
+                } catch (IOException e) {
+                    logger.debug("Transfer ingress write failed", e);
+                    closeQuietly(key);
+                    return;
+                }
+                // Completed responses left behind for lack of room have already
+                // signalled, so encode them now that the write made room
+                if (written == 0 || !headCompleted()) {
+                    break;
+                }
+            }
+            if (inputClosed && pending.isEmpty() && out.position() == 0) {
+                closeQuietly(key);
+                return;
+            }
+            int interest = out.position() > 0 ? SelectionKey.OP_WRITE : 0;
+            if (acceptsFrames()) {
+                interest |= SelectionKey.OP_READ;
+            }
+            key.interestOps(interest);
+        }
+
+        /**
+         * Whether more frames may be submitted: transfers still outstanding and responses
+         * not yet sent both count against the connection.
+         */
+        private boolean acceptsFrames() {
+            return !inputClosed && pending.size() < maxInFlight && out.position() < OUT_HIGH_WATER;
+        }
+
+        private boolean headCompleted() {
+            Pending head = pending.peek();
+            return head != null && (head.outcome() == null || head.outcome().isDone());
+        }
+
+        private void encodeCompleted() {
+            while (headCompleted() && out.remaining() >= TransferFrameCodec.MAX_RESPONSE_LENGTH) {
+                encode(pending.poll());
+            }
+        }
+
+        /**
+         * Submits the complete frames in the receive buffer, up to the in-flight limit
+         * and while the unsent responses stay below the high-water mark.
+         *
+         * @return false if the connection was closed because of an invalid frame length
+         */
+        private boolean submitFrames() {
+            in.flip();
+            try {
+                while (in.remaining() >= TransferFrameCodec.LENGTH_PREFIX && pending.size() < maxInFlight
+                        && out.position() < OUT_HIGH_WATER) {
+                    int length = in.getInt(in.position());
+                    if (length <= 0 || length > TransferFrameCodec.MAX_FRAME_LENGTH) {
+                        logger.warn("Closing transfer ingress connection: invalid frame length={}", length);
+                        closeQuietly(key);
+                        return false;
+                    }
+                    if (in.remaining() < TransferFrameCodec.LENGTH_PREFIX + length) {
+                        break;
+                    }
+                    int offset = in.position() + TransferFrameCodec.LENGTH_PREFIX;
+                    submit(offset, length);
+                    in.position(offset + length);
+                }
+                return true;
+            } finally {
+                in.compact();
+            }
+        }
+
+        private void submit(int offset, int length) {
+            TransferRequest request;
+            try {
+                request = TransferFrameCodec.decodeRequest(in, offset, length);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Malformed transfer frame: {}", e.getMessage());
+                pending.add(new Pending(null, null, e.getMessage()));
+                return;
+            }
+            CompletableFuture<TransferOutcome> outcome;
+            try {
+                outcome = walletService.attemptTransferAsync(request);
+            } catch (RuntimeException e) {
+                outcome = CompletableFuture.failedFuture(e);
+            }
+            pending.add(new Pending(request.getTransactionId(), outcome, null));
+            outcome.whenComplete((result, error) -> signal());
+        }
+
+        private void encode(Pending pending) {
+            if (pending.outcome() == null) {
+                TransferFrameCodec.encodeError(out, TransferFrameCodec.Status.MALFORMED, null, pending.malformed());
+                return;
+            }
+            int start = out.position();
+            try {
+                TransferFrameCodec.encodeResponse(out, pending.transactionId(), pending.outcome().join());
+            } catch (CompletionException | ArithmeticException e) {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                logger.error("Unexpected error during transfer: transactionId={}", pending.transactionId(), cause);
+                out.position(start);
+                TransferFrameCodec.encodeError(out, TransferFrameCodec.Status.ERROR, pending.transactionId(),
+                        "An unexpected error occurred");
+            }
+        }
+    }
+}
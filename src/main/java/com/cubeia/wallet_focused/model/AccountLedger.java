@@ -0,0 +1,326 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Append-only transaction log of a single account.
+ * <p>
+ * Entries are stored in sequence order in a growable array, so the entry with
+ * sequence number {@code s} lives at index {@code s - 1}. This makes "entries after
+ * sequence S" a direct index lookup. As long as entries are appended in timestamp
+ * order (which the transfer path guarantees, since timestamps are taken while the
+ * account lock is held) the same array is also ordered by time, and time range
+ * queries are answered with a binary search. Back-dated entries are still accepted,
+ * but switch time queries for that account over to a linear scan.
+ * <p>
+ * Every {@value #CHECKPOINT_INTERVAL} entries the running balance is recorded as a
+ * checkpoint. The balance after any prefix of the log is then the nearest checkpoint
+ * plus at most {@value #CHECKPOINT_INTERVAL} - 1 tail entries, which is what makes
+ * point-in-time balance lookups independent of the history length. The balance
+ * after the latest entry is kept as a {@link BalanceSnapshot} projection.
+ * <p>
+ * Appends are serialized by an internal lock. Readers never lock: they read the
+ * published size first and only look at entries below it.
+ */
+public class AccountLedger {
+    /**
+     * Number of entries between two balance checkpoints.
+     */
+    public static final int CHECKPOINT_INTERVAL = 64;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final UUID accountId;
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private volatile TransactionEntry[] entries = new TransactionEntry[INITIAL_CAPACITY];
+    private volatile int size;
+    private volatile boolean timeOrdered = true;
+    // checkpoints[k] is the balance after the first k * CHECKPOINT_INTERVAL entries
+    private volatile BigDecimal[] checkpoints = initialCheckpoints();
+    private volatile BalanceSnapshot head = BalanceSnapshot.EMPTY;
+    // Guarded by appendLock
+    private BigDecimal runningBalance = BigDecimal.ZERO;
+
+    /**
+     * Creates an empty ledger for the specified account.
+     *
+     * @param accountId the account this ledger belongs to
+     */
+    public AccountLedger(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    /**
+     * Gets the account this ledger belongs to.
+     *
+     * @return the account ID
+     */
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * Appends an entry to the ledger and assigns it the next sequence number.
+     *
+     * @param entry the entry to append
+     * @return the sequence number assigned to the entry
+     */
+    public long append(TransactionEntry entry) {
+        appendLock.lock();
+        try {
+            int index = size;
+            TransactionEntry[] current = entries;
+            if (index == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                entries = current;
+            }
+            if (timeOrdered && (entry.getTimestamp() == null
+                    || (index > 0 && entry.getTimestamp().isBefore(current[index - 1].getTimestamp())))) {
+                timeOrdered = false;
+            }
+            long sequence = index + 1L;
+            entry.setSequence(sequence);
+            current[index] = entry;
+            runningBalance = runningBalance.add(signedAmount(entry));
+            if ((index + 1) % CHECKPOINT_INTERVAL == 0) {
+                int checkpoint = (index + 1) / CHECKPOINT_INTERVAL;
+                BigDecimal[] recorded = checkpoints;
+                if (checkpoint == recorded.length) {
+                    recorded = Arrays.copyOf(recorded, recorded.length * 2);
+                    checkpoints = recorded;
+                }
+                recorded[checkpoint] = runningBalance;
+            }
+            head = new BalanceSnapshot(sequence, runningBalance);
+            // Publishing the size last makes the entry and any new checkpoint visible to readers
+            size = index + 1;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of entries in the ledger, which is also the sequence number
+     * of the latest entry.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the projected balance after the latest entry, without replaying the log.
+     *
+     * @return the current balance snapshot
+     */
+    public BalanceSnapshot balance() {
+        return head;
+    }
+
+    /**
+     * Returns a copy of all entries in sequence order.
+     *
+     * @return a new list containing all entries
+     */
+    public List<TransactionEntry> entries() {
+        int count = size;
+        return toList(entries, 0, count);
+    }
+
+    /**
+     * Passes every entry that is in the ledger when the call starts to the given action,
+     * in sequence order, without copying the log.
+     *
+     * @param action the action to perform for each entry
+     */
+    public void forEach(Consumer<? super TransactionEntry> action) {
+        int count = size;
+        TransactionEntry[] snapshot = entries;
+        for (int i = 0; i < count; i++) {
+            action.accept(snapshot[i]);
+        }
+    }
+
+    /**
+     * Returns the entries with a sequence number greater than {@code afterSequence},
+     * in sequence order.
+     *
+     * @param afterSequence the exclusive lower bound on the sequence number (0 for the start)
+     * @param limit the maximum number of entries to return
+     * @return a new list with at most {@code limit} entries
+     */
+    public List<TransactionEntry> entriesAfter(long afterSequence, int limit) {
+        int count = size;
+        int from = (int) Math.min(Math.max(afterSequence, 0L), count);
+        int to = (int) Math.min((long) from + limit, count);
+        return toList(entries, from, to);
+    }
+
+    /**
+     * Returns the entries with a timestamp in the half-open interval
+     * {@code [from, to)}, in sequence order.
+     *
+     * @param from the inclusive lower bound, or null for no lower bound
+     * @param to the exclusive upper bound, or null for no upper bound
+     * @param limit the maximum number of entries to return
+     * @return a new list with at most {@code limit} entries
+     */
+    public List<TransactionEntry> entriesBetween(Instant from, Instant to, int limit) {
+        int count = size;
+        TransactionEntry[] snapshot = entries;
+        if (!timeOrdered) {
+            List<TransactionEntry> result = new ArrayList<>();
+            for (int i = 0; i < count && result.size() < limit; i++) {
+                if (isWithin(snapshot[i].getTimestamp(), from, to)) {
+                    result.add(snapshot[i]);
+                }
+            }
+            return result;
+        }
+        int start = from == null ? 0 : firstIndexNotBefore(snapshot, count, from);
+        int end = to == null ? count : firstIndexNotBefore(snapshot, count, to);
+        if (end <= start) {
+            return new ArrayList<>();
+        }
+        return toList(snapshot, start, (int) Math.min((long) start + limit, end));
+    }
+
+    /**
+     * Calculates the balance of the account as it was at the given instant, i.e. the
+     * sum of all entries with a timestamp at or before {@code asOf}.
+     *
+     * @param asOf the point in time to calculate the balance for
+     * @return the balance at that point in time
+     */
+    public BigDecimal balanceAsOf(Instant asOf) {
+        int count = size;
+        TransactionEntry[] snapshot = entries;
+        if (!timeOrdered) {
+            BigDecimal balance = BigDecimal.ZERO;
+            for (int i = 0; i < count; i++) {
+                Instant timestamp = snapshot[i].getTimestamp();
+                if (timestamp != null && !timestamp.isAfter(asOf)) {
+                    balance = balance.add(signedAmount(snapshot[i]));
+                }
+            }
+            return balance;
+        }
+        return balanceOfPrefix(snapshot, firstIndexAfter(snapshot, count, asOf));
+    }
+
+    /**
+     * Calculates the balance of the account right after the entry with the given
+     * sequence number, from the nearest checkpoint.
+     *
+     * @param sequence the sequence number, 0 for the balance before the first entry;
+     *                 values beyond the latest entry give the current balance
+     * @return the balance after that entry
+     */
+    public BigDecimal balanceAt(long sequence) {
+        int count = size;
+        return balanceOfPrefix(entries, (int) Math.min(Math.max(sequence, 0L), count));
+    }
+
+    /**
+     * Calculates the balance after the first {@code length} entries, starting from the
+     * closest checkpoint at or below that position.
+     */
+    private BigDecimal balanceOfPrefix(TransactionEntry[] snapshot, int length) {
+        int checkpoint = length / CHECKPOINT_INTERVAL;
+        BigDecimal balance = checkpoints[checkpoint];
+        for (int i = checkpoint * CHECKPOINT_INTERVAL; i < length; i++) {
+            balance = balance.add(signedAmount(snapshot[i]));
+        }
+        return balance;
+    }
+
+    /**
+     * Estimates the bytes a ledger of the given size retains besides its entries: the
+     * ledger and its lock, its mapping in the repository, the entry and checkpoint
+     * arrays as they are grown by {@link #append}, the checkpoint balances and the
+     * balance projection. See {@link LedgerFootprint} for the assumed object layout.
+     *
+     * @param size the number of entries
+     * @return the estimated bytes
+     */
+    static long estimatedBytes(int size) {
+        int entryCapacity = size <= INITIAL_CAPACITY ? INITIAL_CAPACITY : Integer.highestOneBit(size - 1) << 1;
+        int checkpoint = size / CHECKPOINT_INTERVAL;
+        int checkpointCapacity = checkpoint < INITIAL_CAPACITY ? INITIAL_CAPACITY : Integer.highestOneBit(checkpoint) << 1;
+        // Ledger object, ReentrantLock with its sync, repository mapping, balance snapshot and running balance
+        long fixed = 48 + 48 + LedgerFootprint.MAP_ENTRY_BYTES + 24 + 40;
+        return fixed + arrayBytes(entryCapacity) + arrayBytes(checkpointCapacity) + checkpoint * 40L;
+    }
+
+    private static long arrayBytes(int length) {
+        return (16 + 4L * length + 7) & ~7L;
+    }
+
+    private static BigDecimal[] initialCheckpoints() {
+        BigDecimal[] initial = new BigDecimal[INITIAL_CAPACITY];
+        initial[0] = BigDecimal.ZERO;
+        return initial;
+    }
+
+    private static BigDecimal signedAmount(TransactionEntry entry) {
+        return entry.getType() == TransactionEntry.Type.CREDIT ? entry.getAmount() : entry.getAmount().negate();
+    }
+
+    /**
+     * Binary search for the first index whose entry timestamp is after the given instant.
+     */
+    private static int firstIndexAfter(TransactionEntry[] snapshot, int count, Instant instant) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].getTimestamp().isAfter(instant)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Binary search for the first index whose entry timestamp is not before the given instant.
+     */
+    private static int firstIndexNotBefore(TransactionEntry[] snapshot, int count, Instant instant) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].getTimestamp().isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isWithin(Instant timestamp, Instant from, Instant to) {
+        if (timestamp == null) {
+            return false;
+        }
+        return (from == null || !timestamp.isBefore(from)) && (to == null || timestamp.isBefore(to));
+    }
+
+    private static List<TransactionEntry> toList(TransactionEntry[] snapshot, int from, int to) {
+        List<TransactionEntry> result = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            result.add(snapshot[i]);
+        }
+        return result;
+    }
+}
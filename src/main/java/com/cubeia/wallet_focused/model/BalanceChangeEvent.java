@@ -0,0 +1,48 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A change of an account's balance caused by one committed ledger entry.
+ *
+ * @param accountId the account whose balance changed
+ * @param sequence the sequence number of the entry that caused the change
+ * @param balance the balance of the account after the entry
+ * @param transactionId the transaction the entry belongs to
+ * @param counterpartyId the other account of the transfer
+ * @param type whether the entry was a DEBIT or CREDIT
+ * @param amount the amount of the entry
+ * @param timestamp when the entry was recorded
+ */
+public record BalanceChangeEvent(
+    UUID accountId,
+    long sequence,
+    BigDecimal balance,
+    UUID transactionId,
+    UUID counterpartyId,
+    TransactionEntry.Type type,
+    BigDecimal amount,
+    Instant timestamp
+) {
+    /**
+     * Creates the event for a stored entry.
+     *
+     * @param entry the entry, with its sequence number assigned
+     * @param balanceAfter the balance of the account after the entry
+     * @return the event describing the entry
+     */
+    public static BalanceChangeEvent of(TransactionEntry entry, BigDecimal balanceAfter) {
+        return new BalanceChangeEvent(
+            entry.getAccountId(),
+            entry.getSequence(),
+            balanceAfter,
+            entry.getTransactionId(),
+            entry.getCounterpartyId(),
+            entry.getType(),
+            entry.getAmount(),
+            entry.getTimestamp()
+        );
+    }
+}
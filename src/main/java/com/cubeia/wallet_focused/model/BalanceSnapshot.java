@@ -0,0 +1,19 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+
+/**
+ * The projected balance of an account together with the sequence number of the
+ * latest entry it includes. Both values are published together by the account's
+ * ledger, so a snapshot always describes one committed state of the account.
+ *
+ * @param sequence the sequence number of the latest entry included, 0 if the account has no entries
+ * @param balance the balance after that entry
+ */
+public record BalanceSnapshot(long sequence, BigDecimal balance) {
+    
+    /**
+     * Snapshot of an account without any entries.
+     */
+    public static final BalanceSnapshot EMPTY = new BalanceSnapshot(0L, BigDecimal.ZERO);
+}
@@ -9,7 +9,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Repository;
@@ -17,17 +19,24 @@ import org.springframework.stereotype.Repository;
 /**
  * In-memory implementation of the WalletRepository interface.
  * Uses thread-safe concurrent collections to store accounts, transactions, and
- * processed transactions.
+ * processed transactions. Each account's transactions are kept in an
+ * {@link AccountLedger}, which assigns per-account sequence numbers and indexes
+ * the entries for sequence and time range queries. The estimated heap footprint of
+ * the stored data is kept up to date on every write, see {@link LedgerFootprint}.
  */
 @Repository
 @Primary
 public class InMemoryWalletRepository implements WalletRepository {
     private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
-    private final Map<UUID, List<TransactionEntry>> transactions = new ConcurrentHashMap<>();
+    private final Map<UUID, AccountLedger> ledgers = new ConcurrentHashMap<>();
     private final Set<UUID> processedTransactions = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final LedgerFootprint footprint = new LedgerFootprint();
     
     // Special admin account with UUID of all zeros
     private static final UUID ADMIN_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+    // Not a synchronized method: a virtual thread blocking on a monitor pins its carrier
+    private final ReentrantLock adminAccountLock = new ReentrantLock();
+    // Guarded by adminAccountLock
     private boolean adminAccountInitialized = false;
 
     public InMemoryWalletRepository() {
@@ -38,14 +47,23 @@ public class InMemoryWalletRepository implements WalletRepository {
      * Initializes the admin account with 1 million in funds.
      * This is called by the application, but not during testing.
      */
-    public synchronized void initializeAdminAccountIfNeeded() {
+    public void initializeAdminAccountIfNeeded() {
+        adminAccountLock.lock();
+        try {
+            initializeAdminAccount();
+        } finally {
+            adminAccountLock.unlock();
+        }
+    }
+
+    private void initializeAdminAccount() {
         if (adminAccountInitialized) {
             return;
         }
         
         // Initialize admin account with 1 million in funds
         Account adminAccount = new Account(ADMIN_ACCOUNT_ID);
-        accounts.put(ADMIN_ACCOUNT_ID, adminAccount);
+        saveAccount(adminAccount);
         
         // Add initial credit transaction to the admin account
         UUID initialTransactionId = UUID.fromString("00000000-0000-0000-0000-000000000001");
@@ -72,26 +90,100 @@ public class InMemoryWalletRepository implements WalletRepository {
 
     @Override
     public void saveAccount(Account account) {
-        accounts.put(account.getAccountId(), account);
+        if (accounts.put(account.getAccountId(), account) == null) {
+            footprint.accountAdded();
+        }
     }
 
     @Override
     public void saveTransaction(TransactionEntry entry) {
-        transactions.computeIfAbsent(entry.getAccountId(), k -> new CopyOnWriteArrayList<>()).add(entry);
+        AccountLedger ledger = ledgers.computeIfAbsent(entry.getAccountId(), accountId -> {
+            footprint.ledgerCreated();
+            return new AccountLedger(accountId);
+        });
+        footprint.entryAppended(ledger, (int) ledger.append(entry));
     }
 
     @Override
     public List<TransactionEntry> findTransactionsByAccount(UUID accountId) {
-        return new ArrayList<>(transactions.getOrDefault(accountId, Collections.emptyList()));
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? new ArrayList<>() : ledger.entries();
+    }
+
+    @Override
+    public void forEachTransaction(UUID accountId, Consumer<? super TransactionEntry> action) {
+        AccountLedger ledger = ledgers.get(accountId);
+        if (ledger != null) {
+            ledger.forEach(action);
+        }
+    }
+
+    @Override
+    public void forEachTransaction(Consumer<? super TransactionEntry> action) {
+        for (AccountLedger ledger : ledgers.values()) {
+            ledger.forEach(action);
+        }
+    }
+
+    @Override
+    public List<TransactionEntry> findTransactionsAfterSequence(UUID accountId, long afterSequence, int limit) {
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? new ArrayList<>() : ledger.entriesAfter(afterSequence, limit);
+    }
+
+    @Override
+    public List<TransactionEntry> findTransactionsBetween(UUID accountId, Instant from, Instant to, int limit) {
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? new ArrayList<>() : ledger.entriesBetween(from, to, limit);
+    }
+
+    @Override
+    public BalanceSnapshot findBalance(UUID accountId) {
+        if (!accounts.containsKey(accountId)) {
+            return null;
+        }
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? BalanceSnapshot.EMPTY : ledger.balance();
+    }
+
+    @Override
+    public BigDecimal findBalanceAsOf(UUID accountId, Instant asOf) {
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? BigDecimal.ZERO : ledger.balanceAsOf(asOf);
+    }
+
+    @Override
+    public BigDecimal findBalanceAtSequence(UUID accountId, long sequence) {
+        AccountLedger ledger = ledgers.get(accountId);
+        return ledger == null ? BigDecimal.ZERO : ledger.balanceAt(sequence);
     }
 
     @Override
     public void markTransactionProcessed(UUID transactionId) {
-        processedTransactions.add(transactionId);
+        if (processedTransactions.add(transactionId)) {
+            footprint.transactionProcessed();
+        }
     }
 
     @Override
     public boolean isTransactionProcessed(UUID transactionId) {
         return processedTransactions.contains(transactionId);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public long countProcessedTransactions() {
+        return processedTransactions.size();
+    }
+
+    @Override
+    public void forEachHistorySize(IntConsumer action) {
+        for (AccountLedger ledger : ledgers.values()) {
+            action.accept(ledger.size());
+        }
+    }
+
+    @Override
+    public LedgerFootprint.Snapshot footprint() {
+        return footprint.snapshot();
+    }
+}
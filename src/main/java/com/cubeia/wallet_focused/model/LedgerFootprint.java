@@ -0,0 +1,221 @@
+package com.cubeia.wallet_focused.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Estimated heap footprint of the in-memory ledger, kept up to date as accounts,
+ * entries and processed transaction IDs are added, so reading it costs the same
+ * however large the ledger is.
+ * <p>
+ * Sizes are estimates for a 64-bit JVM with compressed references: 12-byte object
+ * headers, 4-byte references and 8-byte alignment. Each structure is counted where
+ * it is owned: an entry shares its amount and timestamp with the other entry of its
+ * transfer, its account IDs with the accounts and its transaction ID with the
+ * idempotency set, so an entry costs its own object plus half the amount and
+ * timestamp. Map entries count the node and an average share of the table.
+ * <p>
+ * Alongside the byte counts, the number of accounts with 1, 2-3, 4-7, ... entries is
+ * kept as a power-of-two histogram, and the accounts with the most entries are kept
+ * in a small set that is only locked when an account outgrows its smallest member.
+ */
+public final class LedgerFootprint {
+    /**
+     * Estimated bytes of one {@link java.util.UUID}.
+     */
+    public static final long UUID_BYTES = 32;
+
+    /**
+     * Estimated bytes of one {@link java.util.concurrent.ConcurrentHashMap} mapping:
+     * the node and its share of the table.
+     */
+    public static final long MAP_ENTRY_BYTES = 40;
+
+    /**
+     * Estimated bytes of an account in the account map, with its ID.
+     */
+    static final long ACCOUNT_BYTES = MAP_ENTRY_BYTES + 16 + UUID_BYTES;
+
+    /**
+     * Estimated bytes of a ledger entry: the object, half of the amount shared with
+     * the other entry of the transfer and half of the timestamp.
+     */
+    static final long ENTRY_BYTES = 48 + 40 / 2 + 24 / 2;
+
+    /**
+     * Estimated bytes of a processed transaction ID in the idempotency set.
+     */
+    static final long IDEMPOTENCY_KEY_BYTES = MAP_ENTRY_BYTES + UUID_BYTES;
+
+    /**
+     * Number of largest accounts kept.
+     */
+    static final int LARGEST_ACCOUNTS = 10;
+
+    /**
+     * Entry count and estimated bytes of one part of the ledger.
+     *
+     * @param count the number of items
+     * @param bytes the estimated bytes they retain
+     */
+    public record Section(long count, long bytes) {
+    }
+
+    /**
+     * Number of accounts whose entry count lies in a range.
+     *
+     * @param minEntries the smallest entry count of the range
+     * @param maxEntries the largest entry count of the range
+     * @param accounts the number of accounts in the range
+     */
+    public record Bucket(long minEntries, long maxEntries, long accounts) {
+    }
+
+    /**
+     * One of the accounts with the most entries.
+     *
+     * @param accountId the account
+     * @param entries the number of entries in its log
+     * @param bytes the estimated bytes of its log and entries
+     */
+    public record LargeAccount(UUID accountId, int entries, long bytes) {
+    }
+
+    /**
+     * The footprint at one moment. Sections are read one after another, without
+     * stopping writers, so they may be a few updates apart.
+     *
+     * @param accounts the accounts
+     * @param entries the ledger entries
+     * @param accountLogs the per-account logs, without their entries
+     * @param idempotencyKeys the processed transaction IDs
+     * @param entriesPerAccount the accounts by number of entries, in ranges of powers of two
+     * @param largestAccounts the accounts with the most entries, largest first
+     */
+    public record Snapshot(Section accounts, Section entries, Section accountLogs, Section idempotencyKeys,
+            List<Bucket> entriesPerAccount, List<LargeAccount> largestAccounts) {
+
+        /**
+         * Gets the estimated bytes of all sections.
+         *
+         * @return the total
+         */
+        public long totalBytes() {
+            return accounts.bytes() + entries.bytes() + accountLogs.bytes() + idempotencyKeys.bytes();
+        }
+    }
+
+    private final LongAdder accounts = new LongAdder();
+    private final LongAdder entries = new LongAdder();
+    private final LongAdder accountLogs = new LongAdder();
+    private final LongAdder accountLogBytes = new LongAdder();
+    private final LongAdder idempotencyKeys = new LongAdder();
+    // Index k counts the accounts with 2^k to 2^(k+1) - 1 entries
+    private final AtomicLongArray entriesPerAccount = new AtomicLongArray(Integer.SIZE);
+    private final Map<UUID, AccountLedger> largest = new ConcurrentHashMap<>();
+    private final ReentrantLock largestLock = new ReentrantLock();
+    // Size of the smallest of the largest accounts once the set is full; an account
+    // must grow past it to get in. Only ever lower than the true smallest size.
+    private volatile int largestThreshold;
+
+    void accountAdded() {
+        accounts.increment();
+    }
+
+    void transactionProcessed() {
+        idempotencyKeys.increment();
+    }
+
+    void ledgerCreated() {
+        accountLogs.increment();
+        accountLogBytes.add(AccountLedger.estimatedBytes(0));
+    }
+
+    /**
+     * Accounts for an entry appended to a ledger.
+     *
+     * @param ledger the ledger
+     * @param size the ledger's size after the append
+     */
+    void entryAppended(AccountLedger ledger, int size) {
+        entries.increment();
+        accountLogBytes.add(AccountLedger.estimatedBytes(size) - AccountLedger.estimatedBytes(size - 1));
+        int bucket = bucket(size);
+        if (size == 1) {
+            entriesPerAccount.incrementAndGet(bucket);
+        } else if (bucket != bucket(size - 1)) {
+            entriesPerAccount.decrementAndGet(bucket - 1);
+            entriesPerAccount.incrementAndGet(bucket);
+        }
+        if (size > largestThreshold && !largest.containsKey(ledger.getAccountId())) {
+            admitLargest(ledger);
+        }
+    }
+
+    private static int bucket(int size) {
+        return 31 - Integer.numberOfLeadingZeros(size);
+    }
+
+    private void admitLargest(AccountLedger ledger) {
+        largestLock.lock();
+        try {
+            largest.put(ledger.getAccountId(), ledger);
+            if (largest.size() <= LARGEST_ACCOUNTS) {
+                return;
+            }
+            AccountLedger smallest = null;
+            for (AccountLedger member : largest.values()) {
+                if (smallest == null || member.size() < smallest.size()) {
+                    smallest = member;
+                }
+            }
+            largest.remove(smallest.getAccountId());
+            int threshold = Integer.MAX_VALUE;
+            for (AccountLedger member : largest.values()) {
+                threshold = Math.min(threshold, member.size());
+            }
+            largestThreshold = threshold;
+        } finally {
+            largestLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the current footprint.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long entryCount = entries.sum();
+        long keyCount = idempotencyKeys.sum();
+        List<Bucket> buckets = new ArrayList<>();
+        for (int k = 0; k < entriesPerAccount.length(); k++) {
+            long count = entriesPerAccount.get(k);
+            if (count > 0) {
+                buckets.add(new Bucket(1L << k, (1L << (k + 1)) - 1, count));
+            }
+        }
+        List<LargeAccount> largestAccounts = largest.values().stream()
+                .map(ledger -> {
+                    int size = ledger.size();
+                    return new LargeAccount(ledger.getAccountId(), size,
+                            AccountLedger.estimatedBytes(size) + size * ENTRY_BYTES);
+                })
+                .sorted(Comparator.comparingInt(LargeAccount::entries).reversed())
+                .toList();
+        return new Snapshot(
+                new Section(accounts.sum(), accounts.sum() * ACCOUNT_BYTES),
+                new Section(entryCount, entryCount * ENTRY_BYTES),
+                new Section(accountLogs.sum(), accountLogBytes.sum()),
+                new Section(keyCount, keyCount * IDEMPOTENCY_KEY_BYTES),
+                buckets,
+                largestAccounts);
+    }
+}
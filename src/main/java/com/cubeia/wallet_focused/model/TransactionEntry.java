@@ -61,6 +61,14 @@ public class TransactionEntry {
     @Schema(description = "Timestamp when the transaction occurred", example = "2023-01-15T12:34:56Z")
     private Instant timestamp;
 
+    /**
+     * Per-account sequence number of this entry, assigned by the repository when
+     * the entry is appended to the account's ledger. Starts at 1 and increases by
+     * one for every entry of the same account; 0 means the entry is not yet stored.
+     */
+    @Schema(description = "Per-account sequence number of the entry", example = "42")
+    private long sequence;
+
     /**
      * Creates a new transaction entry with the specified details.
      *
@@ -192,4 +200,22 @@ public class TransactionEntry {
     public void setTimestamp(Instant timestamp) {
         this.timestamp = timestamp;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Gets the per-account sequence number of this entry.
+     *
+     * @return the sequence number, or 0 if the entry has not been stored yet
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the per-account sequence number of this entry.
+     *
+     * @param sequence the sequence number to set
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
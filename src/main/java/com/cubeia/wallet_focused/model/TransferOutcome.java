@@ -0,0 +1,53 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Result of a transfer attempt. Expected business outcomes, such as a rejected
+ * request or a source account without enough funds, are returned as values rather
+ * than thrown, so rejecting a transfer costs no more than completing one.
+ * <p>
+ * The set of outcomes is closed, which lets callers handle them with an exhaustive
+ * {@code switch}.
+ */
+public sealed interface TransferOutcome {
+
+    /**
+     * The transfer was committed, or had already been committed under the same transaction ID.
+     *
+     * @param result the balances of both accounts after the transfer
+     */
+    record Completed(TransferResult result) implements TransferOutcome {}
+
+    /**
+     * The source account's balance does not cover the amount. Nothing was changed.
+     *
+     * @param accountId the source account
+     * @param balance the balance the decision was based on
+     * @param amount the requested amount
+     */
+    record InsufficientFunds(UUID accountId, BigDecimal balance, BigDecimal amount) implements TransferOutcome {
+        /**
+         * Message reported to clients for this outcome.
+         */
+        public static final String MESSAGE = "Insufficient funds in source account";
+
+        /**
+         * Gets the message reported to clients.
+         *
+         * @return the error message
+         */
+        public String message() {
+            return MESSAGE;
+        }
+    }
+
+    /**
+     * The request is invalid, for example a non-positive amount, a transfer to the
+     * same account or an unknown source account. Nothing was changed.
+     *
+     * @param message the reason reported to clients
+     */
+    record Rejected(String message) implements TransferOutcome {}
+}
@@ -0,0 +1,26 @@
+package com.cubeia.wallet_focused.model;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a completed transfer: the balances and balance versions of both
+ * accounts right after the transfer's entries were committed.
+ * <p>
+ * For a repeated transaction ID nothing is committed, and the snapshots describe
+ * the accounts' current state instead, with {@code duplicate} set.
+ *
+ * @param transactionId the transaction ID of the transfer
+ * @param sourceAccountId the debited account
+ * @param source the source account's balance and version after the transfer
+ * @param destinationAccountId the credited account
+ * @param destination the destination account's balance and version after the transfer
+ * @param duplicate true if the transaction had already been processed and nothing was changed
+ */
+public record TransferResult(
+    UUID transactionId,
+    UUID sourceAccountId,
+    BalanceSnapshot source,
+    UUID destinationAccountId,
+    BalanceSnapshot destination,
+    boolean duplicate
+) {}
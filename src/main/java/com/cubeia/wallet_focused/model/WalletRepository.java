@@ -1,7 +1,11 @@
 package com.cubeia.wallet_focused.model;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Repository interface for wallet operations.
@@ -40,6 +44,77 @@ public interface WalletRepository {
      */
     List<TransactionEntry> findTransactionsByAccount(UUID accountId);
     
+    /**
+     * Passes the transaction entries of an account to the given action in sequence order,
+     * reading them straight from the account's log instead of copying them into a list.
+     *
+     * @param accountId the ID of the account to read transactions for
+     * @param action the action to perform for each entry
+     */
+    void forEachTransaction(UUID accountId, Consumer<? super TransactionEntry> action);
+    
+    /**
+     * Passes every transaction entry in the ledger to the given action, account by account
+     * and in sequence order within each account. Entries saved while the iteration is in
+     * progress may or may not be included.
+     *
+     * @param action the action to perform for each entry
+     */
+    void forEachTransaction(Consumer<? super TransactionEntry> action);
+    
+    /**
+     * Finds the transaction entries of an account with a sequence number greater than
+     * the given one, in sequence order. Used as a cursor for incremental reads.
+     *
+     * @param accountId the ID of the account to find transactions for
+     * @param afterSequence the exclusive lower bound on the sequence number (0 for the start)
+     * @param limit the maximum number of entries to return
+     * @return a list of transaction entries for the account, may be empty but never null
+     */
+    List<TransactionEntry> findTransactionsAfterSequence(UUID accountId, long afterSequence, int limit);
+    
+    /**
+     * Finds the transaction entries of an account with a timestamp in the half-open
+     * interval {@code [from, to)}, in sequence order.
+     *
+     * @param accountId the ID of the account to find transactions for
+     * @param from the inclusive lower bound, or null for no lower bound
+     * @param to the exclusive upper bound, or null for no upper bound
+     * @param limit the maximum number of entries to return
+     * @return a list of transaction entries for the account, may be empty but never null
+     */
+    List<TransactionEntry> findTransactionsBetween(UUID accountId, Instant from, Instant to, int limit);
+    
+    /**
+     * Gets the projected balance of an account, maintained as entries are saved.
+     * This is an O(1) read that does not replay the account's history.
+     *
+     * @param accountId the ID of the account
+     * @return the balance snapshot, or null if the account does not exist
+     */
+    BalanceSnapshot findBalance(UUID accountId);
+    
+    /**
+     * Calculates the balance of an account at a point in time, i.e. the sum of all
+     * entries with a timestamp at or before {@code asOf}. Implementations are expected
+     * to answer this without replaying the full history.
+     *
+     * @param accountId the ID of the account
+     * @param asOf the point in time to calculate the balance for
+     * @return the balance at that point in time, BigDecimal.ZERO if the account has no entries
+     */
+    BigDecimal findBalanceAsOf(UUID accountId, Instant asOf);
+    
+    /**
+     * Calculates the balance of an account right after the entry with the given sequence
+     * number. Implementations are expected to answer this without replaying the full history.
+     *
+     * @param accountId the ID of the account
+     * @param sequence the sequence number, 0 for the balance before the first entry
+     * @return the balance after that entry, BigDecimal.ZERO if the account has no entries
+     */
+    BigDecimal findBalanceAtSequence(UUID accountId, long sequence);
+    
     /**
      * Marks a transaction as processed for idempotency.
      *
@@ -54,4 +129,28 @@ public interface WalletRepository {
      * @return true if the transaction has been processed, false otherwise
      */
     boolean isTransactionProcessed(UUID transactionId);
-} 
\ No newline at end of file
+    
+    /**
+     * Gets the number of transaction IDs remembered for idempotency.
+     *
+     * @return the number of processed transactions
+     */
+    long countProcessedTransactions();
+    
+    /**
+     * Calls the action with the number of entries in the history of every account
+     * that has at least one entry.
+     *
+     * @param action the action to call with each history size
+     */
+    void forEachHistorySize(IntConsumer action);
+
+    /**
+     * Gets the estimated heap footprint of the stored accounts, entries and processed
+     * transaction IDs, with the distribution of entries per account and the largest
+     * accounts. Cheap to call: the footprint is maintained as data is written.
+     *
+     * @return the footprint
+     */
+    LedgerFootprint.Snapshot footprint();
+}
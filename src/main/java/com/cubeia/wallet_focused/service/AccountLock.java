@@ -0,0 +1,111 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.cubeia.wallet_focused.model.LedgerFootprint;
+
+/**
+ * Mutual exclusion for one account that hands out ownership through futures.
+ * <p>
+ * {@link #acquire()} never blocks: it returns a future that is already complete when
+ * the lock is free, or one that is queued and completed when an earlier owner calls
+ * {@link #release()}. Ownership passes directly to the oldest waiter, so waiters are
+ * served in FIFO order and a releasing thread cannot be overtaken by a newcomer.
+ * Synchronous callers simply join the future; asynchronous callers chain their work
+ * onto it and hold no thread while they wait.
+ * <p>
+ * The lock is not reentrant. The internal state lock only guards the owner flag and
+ * the waiter queue and is never held while waiters run.
+ */
+final class AccountLock {
+    /**
+     * Estimated bytes of an idle lock in the lock map, with its mapping and account ID:
+     * the lock, its state lock, the empty waiter queue, the map node and the key.
+     */
+    static final long ESTIMATED_BYTES = 32 + 48 + 24 + 88 + LedgerFootprint.MAP_ENTRY_BYTES + LedgerFootprint.UUID_BYTES;
+
+    private static final CompletableFuture<Void> ACQUIRED = CompletableFuture.completedFuture(null);
+
+    private final ReentrantLock state = new ReentrantLock();
+    // Guarded by state
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    // Guarded by state
+    private boolean held;
+    // Written and read by the current owner only
+    private long ownedSinceNanos;
+
+    /**
+     * Requests ownership of the lock.
+     *
+     * @return a future that completes once the caller owns the lock
+     */
+    CompletableFuture<Void> acquire() {
+        state.lock();
+        try {
+            if (!held) {
+                held = true;
+                return ACQUIRED;
+            }
+            CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            state.unlock();
+        }
+    }
+
+    /**
+     * Releases ownership, handing it to the oldest waiter if there is one. Must only be
+     * called by the current owner, once per completed {@link #acquire()}.
+     */
+    void release() {
+        CompletableFuture<Void> next;
+        state.lock();
+        try {
+            next = waiters.poll();
+            if (next == null) {
+                held = false;
+            }
+        } finally {
+            state.unlock();
+        }
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    /**
+     * Notes when the current owner got the lock. Must only be called by the owner.
+     *
+     * @param nanos the {@link System#nanoTime()} at which ownership passed to the caller
+     */
+    void markOwned(long nanos) {
+        ownedSinceNanos = nanos;
+    }
+
+    /**
+     * Gets when the current owner got the lock. Must only be called by the owner.
+     *
+     * @return the time passed to {@link #markOwned}
+     */
+    long ownedSinceNanos() {
+        return ownedSinceNanos;
+    }
+
+    /**
+     * Gets the number of callers waiting for the lock.
+     *
+     * @return the current queue length
+     */
+    int queueLength() {
+        state.lock();
+        try {
+            return waiters.size();
+        } finally {
+            state.unlock();
+        }
+    }
+}
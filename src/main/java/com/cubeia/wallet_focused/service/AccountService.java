@@ -1,10 +1,14 @@
 package com.cubeia.wallet_focused.service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 
 /**
  * Service for accessing and managing accounts.
@@ -29,4 +33,39 @@ public interface AccountService {
      * @throws jakarta.persistence.EntityNotFoundException if the account doesn't exist
      */
     BigDecimal calculateBalance(UUID accountId);
-} 
\ No newline at end of file
+    
+    /**
+     * Calculate the balance an account had at a point in time, including all entries
+     * with a timestamp at or before {@code asOf}. This is answered from the ledger's
+     * balance checkpoints and a binary search over its time-ordered entries rather
+     * than a replay of the full history.
+     *
+     * @param accountId the unique identifier of the account
+     * @param asOf the point in time to calculate the balance for
+     * @return the balance at that point in time
+     * @throws com.cubeia.wallet_focused.model.EntityNotFoundException if the account doesn't exist
+     */
+    BigDecimal calculateBalanceAsOf(UUID accountId, Instant asOf);
+    
+    /**
+     * Get the current balances of several accounts in one call. Balances are read
+     * from the repository's balance projection instead of replaying each history.
+     * Each balance reflects a committed state of its account; balances of different
+     * accounts are read one after another, not as one atomic snapshot.
+     *
+     * @param accountIds the accounts to read
+     * @return the balances by account ID in request order, without entries for unknown accounts
+     */
+    Map<UUID, BigDecimal> getBalances(Collection<UUID> accountIds);
+    
+    /**
+     * Get the current balance of an account together with its version, read from the
+     * balance projection. The version is the sequence number of the latest committed
+     * entry, so it increases with every change of the balance; the two are read as one
+     * snapshot and always describe the same state.
+     *
+     * @param accountId the unique identifier of the account
+     * @return the balance snapshot, or empty if the account doesn't exist
+     */
+    Optional<BalanceSnapshot> getBalanceSnapshot(UUID accountId);
+}
@@ -1,16 +1,22 @@
 package com.cubeia.wallet_focused.service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.model.EntityNotFoundException;
 import com.cubeia.wallet_focused.model.TransactionEntry;
 import com.cubeia.wallet_focused.model.WalletRepository;
@@ -25,6 +31,7 @@ public class AccountServiceImpl implements AccountService {
     private static final Logger logger = LoggerFactory.getLogger(AccountServiceImpl.class);
     
     private final WalletRepository repository;
+    private final WalletMetrics metrics;
 
     /**
      * Creates a new AccountServiceImpl with the specified repository.
@@ -32,7 +39,19 @@ public class AccountServiceImpl implements AccountService {
      * @param repository the wallet repository to use
      */
     public AccountServiceImpl(WalletRepository repository) {
+        this(repository, WalletMetrics.NOOP);
+    }
+
+    /**
+     * Creates a new AccountServiceImpl that records balance calculation metrics.
+     *
+     * @param repository the wallet repository to use
+     * @param metrics the metrics to record to
+     */
+    @Autowired
+    public AccountServiceImpl(WalletRepository repository, WalletMetrics metrics) {
         this.repository = repository;
+        this.metrics = metrics;
     }
 
     @Override
@@ -71,8 +90,45 @@ public class AccountServiceImpl implements AccountService {
                 ? entry.getAmount()
                 : entry.getAmount().negate())
             .reduce(BigDecimal.ZERO, BigDecimal::add);
+        metrics.recordEntriesScanned(entries.size());
         
         logger.debug("Calculated balance for account: accountId={}, balance={}", accountId, balance);
         return balance;
     }
-} 
\ No newline at end of file
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal calculateBalanceAsOf(UUID accountId, Instant asOf) {
+        logger.debug("Calculating balance as of {} for account: accountId={}", asOf, accountId);
+        
+        if (repository.findAccount(accountId) == null) {
+            logger.warn("Cannot calculate balance - account not found: accountId={}", accountId);
+            throw new EntityNotFoundException("Account not found: " + accountId);
+        }
+        
+        BigDecimal balance = repository.findBalanceAsOf(accountId, asOf);
+        logger.debug("Calculated balance as of {} for account: accountId={}, balance={}", asOf, accountId, balance);
+        return balance;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> getBalances(Collection<UUID> accountIds) {
+        logger.debug("Fetching balances for {} accounts", accountIds.size());
+        Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+        for (UUID accountId : accountIds) {
+            BalanceSnapshot snapshot = repository.findBalance(accountId);
+            if (snapshot != null) {
+                balances.put(accountId, snapshot.balance());
+            }
+        }
+        logger.debug("Found balances for {} of {} accounts", balances.size(), accountIds.size());
+        return balances;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<BalanceSnapshot> getBalanceSnapshot(UUID accountId) {
+        return Optional.ofNullable(repository.findBalance(accountId));
+    }
+}
@@ -0,0 +1,150 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.WalletRepository;
+
+/**
+ * Fans out balance change events to per-account subscribers.
+ * <p>
+ * Events are published from the transfer commit path while the account locks are
+ * held, which keeps them in sequence order per account. Publishing only reads a
+ * copy-on-write subscriber list, so it never blocks; listeners must not block
+ * either and are expected to hand events off to their own delivery thread.
+ * Subscribing and unsubscribing copy the list, which is fine since they are rare
+ * compared to transfers.
+ * <p>
+ * Subscribers that missed events, for example after a reconnect, can catch up with
+ * {@link #replay(UUID, long, Consumer)}, which rebuilds the events from the ledger.
+ */
+@Service
+public class BalanceEventPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(BalanceEventPublisher.class);
+
+    private static final int REPLAY_PAGE_SIZE = 1000;
+
+    /**
+     * Handle for cancelling a subscription.
+     */
+    public interface Subscription {
+        /**
+         * Stops delivering events to the subscriber. Calling this more than once has no effect.
+         */
+        void cancel();
+    }
+
+    private final WalletRepository repository;
+    private final Map<UUID, List<Consumer<BalanceChangeEvent>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new BalanceEventPublisher.
+     *
+     * @param repository the wallet repository used to replay missed events
+     */
+    public BalanceEventPublisher(WalletRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Registers a listener for balance changes of an account.
+     *
+     * @param accountId the account to listen to
+     * @param listener a non-blocking listener
+     * @return a handle for cancelling the subscription
+     */
+    public Subscription subscribe(UUID accountId, Consumer<BalanceChangeEvent> listener) {
+        subscribers.compute(accountId, (id, listeners) -> {
+            List<Consumer<BalanceChangeEvent>> updated = listeners != null ? listeners : new CopyOnWriteArrayList<>();
+            updated.add(listener);
+            return updated;
+        });
+        logger.debug("Balance event subscriber added: accountId={}", accountId);
+        return () -> subscribers.computeIfPresent(accountId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Checks whether anyone is listening to an account, so that publishers can skip
+     * creating events nobody will receive.
+     *
+     * @param accountId the account to check
+     * @return true if the account has at least one subscriber
+     */
+    public boolean hasSubscribers(UUID accountId) {
+        return subscribers.containsKey(accountId);
+    }
+
+    /**
+     * Delivers an event to all subscribers of its account. A failing listener is
+     * logged and skipped so it cannot affect the caller or the other listeners.
+     *
+     * @param event the event to publish
+     */
+    public void publish(BalanceChangeEvent event) {
+        List<Consumer<BalanceChangeEvent>> listeners = subscribers.get(event.accountId());
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<BalanceChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                logger.warn("Balance event listener failed: accountId={}, sequence={}",
+                        event.accountId(), event.sequence(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the current projected balance of an account as a starting point for subscribers.
+     *
+     * @param accountId the account to read
+     * @return the balance snapshot, or null if the account does not exist
+     */
+    public BalanceSnapshot currentBalance(UUID accountId) {
+        return repository.findBalance(accountId);
+    }
+
+    /**
+     * Rebuilds the events of all entries after the given sequence number from the
+     * ledger and passes them to the action in sequence order.
+     *
+     * @param accountId the account to replay
+     * @param afterSequence the last sequence number the subscriber has seen
+     * @param action the action to perform for each event
+     * @return the sequence number of the last replayed event, or {@code afterSequence} if there were none
+     */
+    public long replay(UUID accountId, long afterSequence, Consumer<BalanceChangeEvent> action) {
+        long lastSequence = afterSequence;
+        BigDecimal balance = repository.findBalanceAtSequence(accountId, afterSequence);
+        List<TransactionEntry> page;
+        do {
+            page = repository.findTransactionsAfterSequence(accountId, lastSequence, REPLAY_PAGE_SIZE);
+            for (TransactionEntry entry : page) {
+                balance = entry.getType() == TransactionEntry.Type.CREDIT
+                        ? balance.add(entry.getAmount())
+                        : balance.subtract(entry.getAmount());
+                action.accept(BalanceChangeEvent.of(entry, balance));
+                lastSequence = entry.getSequence();
+            }
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        logger.debug("Replayed balance events: accountId={}, afterSequence={}, lastSequence={}",
+                accountId, afterSequence, lastSequence);
+        return lastSequence;
+    }
+}
@@ -0,0 +1,216 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The accounts whose locks transfers wait for the longest, kept in a space-bounded
+ * Space-Saving sketch instead of a map over every account.
+ * <p>
+ * The sketch holds at most a fixed number of accounts, ranked by the total time
+ * transfers waited for their locks. A contended lock wait for an account that is not
+ * tracked replaces the tracked account with the least wait, and the new account
+ * inherits that wait as its count and as its error bound. A tracked account's true
+ * wait lies between {@code waitNanos - waitErrorNanos} and {@code waitNanos}, and an
+ * account whose true wait exceeds its stripe's total wait divided by the stripe's
+ * capacity is always tracked.
+ * <p>
+ * Uncontended acquisitions and hold times are added to tracked accounts only; they
+ * never bring an account into the sketch, so an account's hold time and acquisition
+ * counts cover the time since it was last brought in. The sketch is split into
+ * stripes by account, each with its own lock that is only taken to bring an account
+ * in, so updating a tracked account or skipping an untracked one takes no lock.
+ * Services created without Spring use {@link #NONE}, which records nothing.
+ */
+@Component
+public class ContendedAccounts {
+    /**
+     * A sketch that records nothing.
+     */
+    public static final ContendedAccounts NONE = new ContendedAccounts(0);
+
+    private static final int STRIPES = 16;
+
+    /**
+     * Lock contention of one tracked account.
+     *
+     * @param accountId the account
+     * @param waitNanos the total time transfers waited for the account's lock, an
+     *        overestimate by at most {@code waitErrorNanos}
+     * @param waitErrorNanos the wait inherited from the account it replaced in the sketch
+     * @param acquisitions the number of times the lock was acquired while tracked
+     * @param contendedAcquisitions how many of those acquisitions had to wait
+     * @param holdNanos the total time the lock was held while tracked
+     * @param maxWaiters the most transfers seen queued for the lock at once
+     */
+    public record AccountContention(UUID accountId, long waitNanos, long waitErrorNanos, long acquisitions,
+            long contendedAcquisitions, long holdNanos, int maxWaiters) {
+    }
+
+    private static final class Counter {
+        final LongAdder waitNanos;
+        final long waitErrorNanos;
+        final LongAdder acquisitions = new LongAdder();
+        final LongAdder contendedAcquisitions = new LongAdder();
+        final LongAdder holdNanos = new LongAdder();
+        final AtomicInteger maxWaiters = new AtomicInteger();
+
+        Counter(long inheritedWaitNanos) {
+            this.waitNanos = new LongAdder();
+            this.waitNanos.add(inheritedWaitNanos);
+            this.waitErrorNanos = inheritedWaitNanos;
+        }
+
+        void recordWait(long nanos, int waiters) {
+            acquisitions.increment();
+            if (waiters > 0) {
+                waitNanos.add(nanos);
+                contendedAcquisitions.increment();
+                maxWaiters.accumulateAndGet(waiters, Math::max);
+            }
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+    }
+
+    private final int capacity;
+    private final int stripeCapacity;
+    private final Stripe[] stripes;
+
+    /**
+     * Creates a sketch that tracks up to the given number of accounts.
+     *
+     * @param capacity the number of accounts to track, or 0 to record nothing
+     */
+    @Autowired
+    public ContendedAccounts(@Value("${wallet.contention.tracked-accounts:256}") int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Tracked accounts must not be negative: " + capacity);
+        }
+        this.stripeCapacity = (capacity + STRIPES - 1) / STRIPES;
+        this.capacity = stripeCapacity * STRIPES;
+        this.stripes = new Stripe[capacity > 0 ? STRIPES : 0];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Gets the number of accounts the sketch tracks, the requested capacity rounded up
+     * to a multiple of the stripe count.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private Stripe stripe(UUID accountId) {
+        return stripes[Math.floorMod(accountId.hashCode(), STRIPES)];
+    }
+
+    /**
+     * Records the acquisition of an account lock.
+     *
+     * @param accountId the account
+     * @param waitNanos the time the transfer waited for the lock, 0 if it was free
+     * @param waiters the transfers queued for the lock, including this one, when it
+     *        had to wait; 0 if the lock was free
+     */
+    void recordAcquire(UUID accountId, long waitNanos, int waiters) {
+        if (stripes.length == 0) {
+            return;
+        }
+        Stripe stripe = stripe(accountId);
+        Counter counter = stripe.counters.get(accountId);
+        if (counter == null) {
+            if (waiters == 0) {
+                return;
+            }
+            counter = admit(stripe, accountId);
+        }
+        counter.recordWait(waitNanos, waiters);
+    }
+
+    /**
+     * Brings an account into a stripe, replacing the account with the least wait when
+     * the stripe is full.
+     */
+    private Counter admit(Stripe stripe, UUID accountId) {
+        stripe.lock.lock();
+        try {
+            Counter counter = stripe.counters.get(accountId);
+            if (counter != null) {
+                return counter;
+            }
+            long inherited = 0;
+            if (stripe.counters.size() >= stripeCapacity) {
+                Map.Entry<UUID, Counter> least = null;
+                long leastWait = Long.MAX_VALUE;
+                for (Map.Entry<UUID, Counter> entry : stripe.counters.entrySet()) {
+                    long wait = entry.getValue().waitNanos.sum();
+                    if (wait < leastWait) {
+                        least = entry;
+                        leastWait = wait;
+                    }
+                }
+                stripe.counters.remove(least.getKey());
+                inherited = leastWait;
+            }
+            counter = new Counter(inherited);
+            stripe.counters.put(accountId, counter);
+            return counter;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Records how long an account lock was held, if the account is tracked.
+     *
+     * @param accountId the account
+     * @param holdNanos the time from acquiring the lock to releasing it
+     */
+    void recordHold(UUID accountId, long holdNanos) {
+        if (stripes.length == 0) {
+            return;
+        }
+        Counter counter = stripe(accountId).counters.get(accountId);
+        if (counter != null) {
+            counter.holdNanos.add(holdNanos);
+        }
+    }
+
+    /**
+     * Gets the tracked accounts with the most lock wait.
+     *
+     * @param limit the maximum number of accounts to return
+     * @return the accounts, most wait first
+     */
+    public List<AccountContention> top(int limit) {
+        List<AccountContention> accounts = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.counters.forEach((accountId, counter) -> accounts.add(new AccountContention(accountId,
+                    counter.waitNanos.sum(), counter.waitErrorNanos, counter.acquisitions.sum(),
+                    counter.contendedAcquisitions.sum(), counter.holdNanos.sum(), counter.maxWaiters.get())));
+        }
+        return accounts.stream()
+                .sorted(Comparator.comparingLong(AccountContention::waitNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.Locale;
+
+/**
+ * Time spent in each phase of one request, reported in the {@code Server-Timing}
+ * response header when server timing is enabled.
+ * <p>
+ * The web layer creates the timings of a request and binds them to the request
+ * thread. The transfer engine picks them up with {@link #current()} when a transfer
+ * starts and records into them from whichever thread runs each phase. When nothing
+ * is bound, {@link #current()} returns {@link #NONE}, whose {@link #mark()} does not
+ * read the clock and whose {@link #record} does nothing, so unmeasured requests pay
+ * for a thread-local lookup only.
+ * <p>
+ * The phases of a request run one after another, and the hand-offs between threads
+ * go through {@code CompletableFuture}s or the servlet async dispatch, which order
+ * the writes; the timings therefore need no synchronization.
+ */
+public final class PhaseTimings {
+    private static final Phase[] PHASES = Phase.values();
+
+    /**
+     * Timings that record nothing.
+     */
+    public static final PhaseTimings NONE = new PhaseTimings(0, false);
+
+    private static final ThreadLocal<PhaseTimings> CURRENT = new ThreadLocal<>();
+
+    /**
+     * A phase of a request, with the metric name used in the {@code Server-Timing} header.
+     */
+    public enum Phase {
+        PARSE("parse"),
+        VALIDATION("validate"),
+        IDEMPOTENCY("idem"),
+        LOCK_WAIT("lock"),
+        BALANCE("balance"),
+        APPEND("append"),
+        SERIALIZATION("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * Gets the metric name of the phase in the {@code Server-Timing} header.
+         *
+         * @return the metric name
+         */
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private final long startNanos;
+    private final boolean recording;
+    private final long[] nanos = new long[PHASES.length];
+    private final boolean[] recorded = new boolean[PHASES.length];
+    private final long[] openMarks = new long[PHASES.length];
+    private final boolean[] open = new boolean[PHASES.length];
+
+    private PhaseTimings(long startNanos, boolean recording) {
+        this.startNanos = startNanos;
+        this.recording = recording;
+    }
+
+    /**
+     * Starts timing a request now.
+     *
+     * @return timings whose total is measured from now
+     */
+    public static PhaseTimings start() {
+        return new PhaseTimings(System.nanoTime(), true);
+    }
+
+    /**
+     * Gets the timings bound to the current thread.
+     *
+     * @return the bound timings, or {@link #NONE}
+     */
+    public static PhaseTimings current() {
+        PhaseTimings timings = CURRENT.get();
+        return timings != null ? timings : NONE;
+    }
+
+    /**
+     * Binds timings to the current thread, or clears the binding.
+     *
+     * @param timings the timings to bind, or null to unbind
+     */
+    public static void bind(PhaseTimings timings) {
+        if (timings == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timings);
+        }
+    }
+
+    /**
+     * Reads the clock at the start of a phase.
+     *
+     * @return the current {@link System#nanoTime()}, or 0 for timings that record nothing
+     */
+    public long mark() {
+        return recording ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since a {@link #mark()} to a phase. A phase recorded more than
+     * once, such as the balance read of both accounts, accumulates.
+     *
+     * @param phase the phase
+     * @param markNanos the mark taken at the start of the phase
+     */
+    public void record(Phase phase, long markNanos) {
+        if (recording) {
+            nanos[phase.ordinal()] += System.nanoTime() - markNanos;
+            recorded[phase.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Starts a phase that is ended elsewhere, such as in a later callback, by {@link #end}.
+     *
+     * @param phase the phase
+     */
+    public void begin(Phase phase) {
+        if (recording) {
+            openMarks[phase.ordinal()] = System.nanoTime();
+            open[phase.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Ends a phase started with {@link #begin} and adds its time. Does nothing if the
+     * phase was not started.
+     *
+     * @param phase the phase
+     */
+    public void end(Phase phase) {
+        if (open[phase.ordinal()]) {
+            open[phase.ordinal()] = false;
+            record(phase, openMarks[phase.ordinal()]);
+        }
+    }
+
+    /**
+     * Gets the time recorded for a phase.
+     *
+     * @param phase the phase
+     * @return the accumulated nanoseconds, or -1 if the phase was not recorded
+     */
+    public long nanos(Phase phase) {
+        return recorded[phase.ordinal()] ? nanos[phase.ordinal()] : -1;
+    }
+
+    /**
+     * Gets the time since the timings were started.
+     *
+     * @return the elapsed nanoseconds
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the recorded phases and a total as a {@code Server-Timing} header value,
+     * for example {@code parse;dur=0.041, lock;dur=1.250, total;dur=2.003}. Durations
+     * are in milliseconds; phases that were not recorded are left out.
+     *
+     * @param totalName the metric name of the total
+     * @param totalNanos the total in nanoseconds
+     * @return the header value
+     */
+    public String toHeaderValue(String totalName, long totalNanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            if (recorded[phase.ordinal()]) {
+                appendMetric(header, phase.metricName(), nanos[phase.ordinal()]);
+            }
+        }
+        appendMetric(header, totalName, totalNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+}
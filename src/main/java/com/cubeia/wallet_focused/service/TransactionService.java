@@ -1,11 +1,50 @@
 package com.cubeia.wallet_focused.service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import com.cubeia.wallet_focused.model.TransactionEntry;
 
 public interface TransactionService {
     List<TransactionEntry> getTransactionsByAccount(UUID accountId);
     boolean accountExists(UUID accountId);
+
+    /**
+     * Streams the entries of an account to the given action in sequence order,
+     * without materializing the history as a list.
+     *
+     * @param accountId the account to read
+     * @param action the action to perform for each entry
+     */
+    void forEachTransaction(UUID accountId, Consumer<? super TransactionEntry> action);
+
+    /**
+     * Streams every entry of the ledger to the given action, account by account.
+     *
+     * @param action the action to perform for each entry
+     */
+    void forEachTransaction(Consumer<? super TransactionEntry> action);
+
+    /**
+     * Gets the entries of an account after the given sequence number, in sequence order.
+     *
+     * @param accountId the account to read
+     * @param afterSequence the exclusive lower bound on the sequence number (0 for the start)
+     * @param limit the maximum number of entries to return
+     * @return the matching entries, may be empty but never null
+     */
+    List<TransactionEntry> getTransactionsAfterSequence(UUID accountId, long afterSequence, int limit);
+
+    /**
+     * Gets the entries of an account with a timestamp in {@code [from, to)}, in sequence order.
+     *
+     * @param accountId the account to read
+     * @param from the inclusive lower bound, or null for no lower bound
+     * @param to the exclusive upper bound, or null for no upper bound
+     * @param limit the maximum number of entries to return
+     * @return the matching entries, may be empty but never null
+     */
+    List<TransactionEntry> getTransactionsBetween(UUID accountId, Instant from, Instant to, int limit);
 } 
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.cubeia.wallet_focused.service;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +32,41 @@ public class TransactionServiceImpl implements TransactionService {
         return transactions;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTransaction(UUID accountId, Consumer<? super TransactionEntry> action) {
+        logger.debug("Streaming transactions for account: accountId={}", accountId);
+        repository.forEachTransaction(accountId, action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTransaction(Consumer<? super TransactionEntry> action) {
+        logger.debug("Streaming all ledger transactions");
+        repository.forEachTransaction(action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionEntry> getTransactionsAfterSequence(UUID accountId, long afterSequence, int limit) {
+        logger.debug("Fetching transactions after sequence: accountId={}, afterSequence={}, limit={}",
+                accountId, afterSequence, limit);
+        List<TransactionEntry> transactions = repository.findTransactionsAfterSequence(accountId, afterSequence, limit);
+        logger.debug("Found {} transactions after sequence {} for account: accountId={}",
+                transactions.size(), afterSequence, accountId);
+        return transactions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionEntry> getTransactionsBetween(UUID accountId, Instant from, Instant to, int limit) {
+        logger.debug("Fetching transactions in time range: accountId={}, from={}, to={}, limit={}",
+                accountId, from, to, limit);
+        List<TransactionEntry> transactions = repository.findTransactionsBetween(accountId, from, to, limit);
+        logger.debug("Found {} transactions in time range for account: accountId={}", transactions.size(), accountId);
+        return transactions;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public boolean accountExists(UUID accountId) {
@@ -0,0 +1,198 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.UUID;
+
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events emitted by the transfer engine, one per phase of a
+ * transfer: the idempotency check, the wait for each account lock, each balance
+ * computation, the append of the ledger entries and the transfer as a whole.
+ * <p>
+ * All events are disabled by default and carry no stack traces. They are turned on
+ * by a recording that uses the {@code src/main/jfr/wallet.jfc} settings. While no
+ * such recording runs, {@link Event#shouldCommit()} is false and the fields are never
+ * filled in, so instrumented code costs little more than the allocation of the event.
+ * Identifiers are recorded as strings, the only JFR field type that holds them.
+ */
+final class TransferEvents {
+    private static final String CATEGORY = "Wallet";
+
+    private TransferEvents() {
+    }
+
+    /**
+     * Gets the outcome name of a transfer, as used in the {@code wallet.transfer} metric.
+     */
+    static String outcomeName(TransferOutcome outcome) {
+        return switch (outcome) {
+            case TransferOutcome.Completed completed -> completed.result().duplicate() ? "duplicate" : "success";
+            case TransferOutcome.InsufficientFunds insufficient -> "insufficient_funds";
+            case TransferOutcome.Rejected rejected -> "invalid";
+        };
+    }
+
+    /**
+     * A transfer from request to outcome.
+     */
+    @Name("com.cubeia.wallet.Transfer")
+    @Label("Transfer")
+    @Description("A transfer from request to outcome")
+    @Category({ CATEGORY, "Transfer" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class Transfer extends Event {
+        @Label("Transaction ID")
+        String transactionId;
+        @Label("Source Account")
+        String sourceAccountId;
+        @Label("Destination Account")
+        String destinationAccountId;
+        @Label("Amount")
+        String amount;
+        @Label("Outcome")
+        @Description("success, duplicate, insufficient_funds, invalid or error")
+        String outcome;
+
+        /**
+         * Commits the event if it is recorded.
+         *
+         * @return the outcome, for use in return statements
+         */
+        TransferOutcome complete(TransferRequest request, TransferOutcome result) {
+            commit(request, outcomeName(result));
+            return result;
+        }
+
+        /**
+         * Commits the event for a transfer that failed with an exception.
+         */
+        void fail(TransferRequest request) {
+            commit(request, "error");
+        }
+
+        private void commit(TransferRequest request, String outcomeName) {
+            if (shouldCommit()) {
+                transactionId = String.valueOf(request.getTransactionId());
+                sourceAccountId = String.valueOf(request.getSourceAccountId());
+                destinationAccountId = String.valueOf(request.getDestinationAccountId());
+                amount = String.valueOf(request.getAmount());
+                outcome = outcomeName;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * A lookup of the transaction ID among the processed transactions.
+     */
+    @Name("com.cubeia.wallet.IdempotencyCheck")
+    @Label("Idempotency Check")
+    @Description("Lookup of a transaction ID among the processed transactions")
+    @Category({ CATEGORY, "Transfer" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class IdempotencyCheck extends Event {
+        @Label("Transaction ID")
+        String transactionId;
+        @Label("Processed")
+        @Description("Whether the transaction ID had already been processed")
+        boolean processed;
+
+        void complete(UUID transaction, boolean wasProcessed) {
+            if (shouldCommit()) {
+                transactionId = String.valueOf(transaction);
+                processed = wasProcessed;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * The wait of a transfer for the lock of one account.
+     */
+    @Name("com.cubeia.wallet.LockWait")
+    @Label("Account Lock Wait")
+    @Description("Time a transfer waits to own the lock of one account")
+    @Category({ CATEGORY, "Locks" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class LockWait extends Event {
+        @Label("Transaction ID")
+        String transactionId;
+        @Label("Account")
+        String accountId;
+        @Label("Contended")
+        @Description("Whether the lock was held when the transfer asked for it")
+        boolean contended;
+
+        void complete(UUID transaction, UUID account, boolean wasContended) {
+            if (shouldCommit()) {
+                transactionId = String.valueOf(transaction);
+                accountId = String.valueOf(account);
+                contended = wasContended;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * A balance read of one account inside a transfer.
+     */
+    @Name("com.cubeia.wallet.BalanceComputation")
+    @Label("Balance Computation")
+    @Description("Balance read of one account while a transfer holds its locks")
+    @Category({ CATEGORY, "Transfer" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class BalanceComputation extends Event {
+        @Label("Transaction ID")
+        String transactionId;
+        @Label("Account")
+        String accountId;
+
+        void complete(UUID transaction, UUID account) {
+            if (shouldCommit()) {
+                transactionId = String.valueOf(transaction);
+                accountId = String.valueOf(account);
+                commit();
+            }
+        }
+    }
+
+    /**
+     * The append of a transfer's ledger entries and its processed marker.
+     */
+    @Name("com.cubeia.wallet.EntryAppend")
+    @Label("Entry Append")
+    @Description("Append of a transfer's debit and credit entries and its processed marker")
+    @Category({ CATEGORY, "Transfer" })
+    @Enabled(false)
+    @StackTrace(false)
+    static final class EntryAppend extends Event {
+        @Label("Transaction ID")
+        String transactionId;
+        @Label("Source Account")
+        String sourceAccountId;
+        @Label("Destination Account")
+        String destinationAccountId;
+
+        void complete(UUID transaction, UUID source, UUID destination) {
+            if (shouldCommit()) {
+                transactionId = String.valueOf(transaction);
+                sourceAccountId = String.valueOf(source);
+                destinationAccountId = String.valueOf(destination);
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.cubeia.wallet_focused.model.TransferOutcome;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Micrometer meters recorded by the transfer engine.
+ * <p>
+ * Transfer latency is a timer per outcome, tagged {@code outcome} with one of
+ * {@code success}, {@code duplicate}, {@code insufficient_funds}, {@code invalid} or
+ * {@code error}. Lock waits and the number of entries replayed by balance
+ * calculations are recorded as distributions. All of them publish percentile
+ * histograms, so percentiles can be aggregated across instances in Prometheus.
+ * <p>
+ * Meters are registered once up front; recording is a lookup-free call on the hot
+ * path. Services created without Spring use {@link #NOOP}, which records nothing.
+ */
+@Component
+public class WalletMetrics {
+    /**
+     * Metrics that are not registered anywhere.
+     */
+    public static final WalletMetrics NOOP = new WalletMetrics(new CompositeMeterRegistry());
+
+    private final Timer success;
+    private final Timer duplicate;
+    private final Timer insufficientFunds;
+    private final Timer invalid;
+    private final Timer error;
+    private final Timer lockWait;
+    private final DistributionSummary entriesScanned;
+
+    /**
+     * Creates the meters in the given registry.
+     *
+     * @param registry the registry to register the meters in
+     */
+    public WalletMetrics(MeterRegistry registry) {
+        this.success = transferTimer(registry, "success");
+        this.duplicate = transferTimer(registry, "duplicate");
+        this.insufficientFunds = transferTimer(registry, "insufficient_funds");
+        this.invalid = transferTimer(registry, "invalid");
+        this.error = transferTimer(registry, "error");
+        this.lockWait = Timer.builder("wallet.lock.wait")
+                .description("Time a transfer waits to own both account locks")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.entriesScanned = DistributionSummary.builder("wallet.balance.entries.scanned")
+                .description("Ledger entries replayed per full balance calculation")
+                .baseUnit("entries")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer transferTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("wallet.transfer")
+                .description("Transfer latency from request to outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Records the latency of a transfer by its outcome.
+     *
+     * @param outcome the outcome of the transfer
+     * @param startNanos the {@link System#nanoTime()} at which the transfer started
+     * @return the outcome, for use in return statements
+     */
+    TransferOutcome recordTransfer(TransferOutcome outcome, long startNanos) {
+        Timer timer = switch (outcome) {
+            case TransferOutcome.Completed completed -> completed.result().duplicate() ? duplicate : success;
+            case TransferOutcome.InsufficientFunds insufficient -> insufficientFunds;
+            case TransferOutcome.Rejected rejected -> invalid;
+        };
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return outcome;
+    }
+
+    /**
+     * Records the latency of a transfer that failed with an exception.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the transfer started
+     */
+    void recordTransferError(long startNanos) {
+        error.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records how long a transfer waited for its account locks.
+     *
+     * @param startNanos the {@link System#nanoTime()} at which the transfer started to acquire them
+     */
+    void recordLockWait(long startNanos) {
+        lockWait.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the number of entries a balance calculation replayed.
+     *
+     * @param entries the number of entries
+     */
+    void recordEntriesScanned(int entries) {
+        entriesScanned.record(entries);
+    }
+}
@@ -1,7 +1,44 @@
 package com.cubeia.wallet_focused.service;
 
+import java.util.concurrent.CompletableFuture;
+
+import com.cubeia.wallet_focused.model.InsufficientFundsException;
+import com.cubeia.wallet_focused.model.TransferOutcome;
 import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
 
 public interface WalletService {
-    void transfer(TransferRequest request);
-} 
\ No newline at end of file
+    /**
+     * Attempts a transfer between two accounts. Rejections are returned as outcomes
+     * instead of being thrown; only unexpected failures end in an exception.
+     *
+     * @param request the transfer to perform
+     * @return the outcome of the transfer
+     */
+    TransferOutcome attemptTransfer(TransferRequest request);
+
+    /**
+     * Attempts a transfer without blocking the caller. The transfer is queued on the
+     * locks of both accounts and runs once it owns them; no thread is held while it waits.
+     *
+     * @param request the transfer to perform
+     * @return a future completed with the outcome, or exceptionally on unexpected failures
+     */
+    CompletableFuture<TransferOutcome> attemptTransferAsync(TransferRequest request);
+
+    /**
+     * Transfers funds between two accounts, signalling rejections with exceptions.
+     *
+     * @param request the transfer to perform
+     * @return the balances and versions of both accounts after the transfer
+     * @throws InsufficientFundsException if the source account's balance does not cover the amount
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    default TransferResult transfer(TransferRequest request) {
+        return switch (attemptTransfer(request)) {
+            case TransferOutcome.Completed completed -> completed.result();
+            case TransferOutcome.InsufficientFunds insufficient -> throw new InsufficientFundsException(insufficient.message());
+            case TransferOutcome.Rejected rejected -> throw new IllegalArgumentException(rejected.message());
+        };
+    }
+}
\ No newline at end of file
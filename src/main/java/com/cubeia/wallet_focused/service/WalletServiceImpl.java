@@ -4,42 +4,101 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.cubeia.wallet_focused.audit.AuditLog;
 import com.cubeia.wallet_focused.model.Account;
-import com.cubeia.wallet_focused.model.InsufficientFundsException;
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.LedgerFootprint;
 import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
 import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
 import com.cubeia.wallet_focused.model.WalletRepository;
 
 /**
  * Implementation of the WalletService interface.
  * Handles the core transfer operations with thread safety, idempotency,
  * and double-entry bookkeeping.
+ * <p>
+ * Before taking any lock, a transfer is checked against the source account's
+ * projected balance, which is read without locking. If even that balance does not
+ * cover the amount, the transfer is rejected right away instead of queueing on the
+ * account locks just to be rejected there; this keeps lock queues free for transfers
+ * that can succeed when many requests hit an empty account. The projection only
+ * ever shows committed states, so such a rejection is the outcome the transfer would
+ * have had if it had run at the time of the read. The check inside the locks stays
+ * authoritative for every transfer that passes. Inside the locks, balances are read
+ * from the same projection rather than replayed from the history: no other transfer
+ * can append to either account meanwhile, so the projection is exact there.
+ * <p>
+ * Account locks are {@link AccountLock}s, which queue waiters per account and hand
+ * ownership to them on release. The blocking API waits for its turn on the calling
+ * thread; the async API chains the transfer onto the lock futures and runs it on a
+ * virtual thread once both locks are owned, so a queued transfer holds no thread.
+ * Both APIs share the same locks and ordering.
+ * <p>
+ * Each phase of a transfer is reported as a JDK Flight Recorder event, see
+ * {@link TransferEvents}. The events are disabled unless a recording enables them.
+ * The same phases are added to the {@link PhaseTimings} bound to the calling thread,
+ * if any, which the web layer reports in the {@code Server-Timing} header.
+ * <p>
+ * The outcome of every transfer is appended to the binary {@link AuditLog}, which
+ * writes it to disk on a background thread. Per-transfer log lines are DEBUG, so
+ * a transfer formats nothing at the default log level. That includes rejections:
+ * a storm of shed transfers costs a counter increment and an audit record each,
+ * not a formatted WARN line.
+ * <p>
+ * Lock waits, queue lengths and hold times are recorded per account in a
+ * {@link ContendedAccounts} sketch, which keeps only the most contended accounts.
  */
 @Service
 public class WalletServiceImpl implements WalletService {
     private static final Logger logger = LoggerFactory.getLogger(WalletServiceImpl.class);
     
+    private static final ThreadFactory ASYNC_TRANSFER_THREADS = Thread.ofVirtual().name("async-transfer-", 0).factory();
+    
     private final WalletRepository repository;
-    private final AccountService accountService;
-    private final Map<UUID, ReentrantLock> accountLocks = new ConcurrentHashMap<>();
+    private final BalanceEventPublisher eventPublisher;
+    private final WalletMetrics metrics;
+    private final AuditLog auditLog;
+    private final ContendedAccounts contention;
+    private final Map<UUID, AccountLock> accountLocks = new ConcurrentHashMap<>();
+    private final LongAdder shedTransfers = new LongAdder();
+    private final Executor executor = task -> ASYNC_TRANSFER_THREADS.newThread(task).start();
 
     /**
-     * Creates a new WalletServiceImpl with the specified repository and account service.
+     * Creates a new WalletServiceImpl that publishes balance changes, records metrics,
+     * audits transfer outcomes and tracks the most contended account locks.
+     * <p>
+     * Callers outside Spring that need none of these can pass
+     * {@link WalletMetrics#NOOP}, {@link AuditLog#DISABLED} and {@link ContendedAccounts#NONE}.
      *
      * @param repository the wallet repository to use
-     * @param accountService the account service to use for balance calculation
+     * @param eventPublisher the publisher to notify of balance changes
+     * @param metrics the metrics to record to
+     * @param auditLog the audit log to append transfer outcomes to
+     * @param contention the sketch to record account lock waits and hold times in
      */
-    public WalletServiceImpl(WalletRepository repository, AccountService accountService) {
+    @Autowired
+    public WalletServiceImpl(WalletRepository repository, BalanceEventPublisher eventPublisher,
+            WalletMetrics metrics, AuditLog auditLog, ContendedAccounts contention) {
         this.repository = repository;
-        this.accountService = accountService;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.auditLog = auditLog;
+        this.contention = contention;
     }
 
     /**
@@ -48,70 +107,248 @@ public class WalletServiceImpl implements WalletService {
      * @param accountId the account ID to get a lock for
      * @return a lock for the specified account
      */
-    private ReentrantLock getLock(UUID accountId) {
-        return accountLocks.computeIfAbsent(accountId, k -> new ReentrantLock());
+    private AccountLock getLock(UUID accountId) {
+        return accountLocks.computeIfAbsent(accountId, k -> new AccountLock());
+    }
+
+    /**
+     * Gets the number of account locks and their estimated bytes. A lock is created the
+     * first time a transfer touches an account and kept for the life of the service.
+     *
+     * @return the account locks
+     */
+    public LedgerFootprint.Section getAccountLockFootprint() {
+        long locks = accountLocks.size();
+        return new LedgerFootprint.Section(locks, locks * AccountLock.ESTIMATED_BYTES);
+    }
+
+    /**
+     * Gets the accounts a transfer locks, in the consistent order their locks must be
+     * acquired in. Transfers within one account are rejected before locking, so the
+     * two accounts are always distinct.
+     */
+    private static UUID[] lockOrder(TransferRequest request) {
+        UUID id1 = request.getSourceAccountId();
+        UUID id2 = request.getDestinationAccountId();
+        return id1.compareTo(id2) < 0 ? new UUID[] { id1, id2 } : new UUID[] { id2, id1 };
+    }
+
+    private AccountLock[] locksFor(UUID[] accountIds) {
+        AccountLock[] locks = new AccountLock[accountIds.length];
+        for (int i = 0; i < accountIds.length; i++) {
+            locks[i] = getLock(accountIds[i]);
+        }
+        return locks;
+    }
+
+    /**
+     * Requests an account lock, reporting the wait for it as a {@link TransferEvents.LockWait}
+     * and to the contended accounts sketch.
+     *
+     * @return a future that completes once the caller owns the lock
+     */
+    private CompletableFuture<Void> acquire(AccountLock lock, UUID accountId, UUID transactionId) {
+        TransferEvents.LockWait event = new TransferEvents.LockWait();
+        event.begin();
+        long requested = System.nanoTime();
+        CompletableFuture<Void> acquired = lock.acquire();
+        if (acquired.isDone()) {
+            lock.markOwned(requested);
+            contention.recordAcquire(accountId, 0, 0);
+            event.complete(transactionId, accountId, false);
+            return acquired;
+        }
+        int waiters = lock.queueLength();
+        return acquired.whenComplete((ignored, failure) -> {
+            long owned = System.nanoTime();
+            lock.markOwned(owned);
+            contention.recordAcquire(accountId, owned - requested, Math.max(waiters, 1));
+            event.complete(transactionId, accountId, true);
+        });
+    }
+
+    /**
+     * Releases the locks of a transfer in reverse order, recording how long each was held.
+     */
+    private void releaseAll(AccountLock[] locks, UUID[] accountIds) {
+        long now = System.nanoTime();
+        for (int i = locks.length - 1; i >= 0; i--) {
+            contention.recordHold(accountIds[i], now - locks[i].ownedSinceNanos());
+            locks[i].release();
+        }
     }
 
     @Override
     @Transactional
-    public void transfer(TransferRequest request) {
-        logger.info("Starting transfer operation: transactionId={}, sourceAccountId={}, destinationAccountId={}, amount={}",
+    public TransferOutcome attemptTransfer(TransferRequest request) {
+        logger.debug("Starting transfer operation: transactionId={}, sourceAccountId={}, destinationAccountId={}, amount={}",
                 request.getTransactionId(), request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
         
-        // Idempotency check
-        if (repository.isTransactionProcessed(request.getTransactionId())) {
-            logger.info("Transfer already processed (idempotency): transactionId={}", request.getTransactionId());
-            return;
+        long start = System.nanoTime();
+        PhaseTimings timings = PhaseTimings.current();
+        TransferEvents.Transfer event = new TransferEvents.Transfer();
+        event.begin();
+        TransferOutcome early = checkBeforeLocking(request, timings);
+        if (early != null) {
+            return completed(request, early, start, event);
         }
         
         // Lock both accounts in consistent order
-        UUID id1 = request.getSourceAccountId();
-        UUID id2 = request.getDestinationAccountId();
-        ReentrantLock lock1, lock2;
-        if (id1.compareTo(id2) < 0) {
-            lock1 = getLock(id1);
-            lock2 = getLock(id2);
-        } else {
-            lock1 = getLock(id2);
-            lock2 = getLock(id1);
-        }
-        
+        UUID[] accountIds = lockOrder(request);
+        AccountLock[] locks = locksFor(accountIds);
         logger.debug("Acquiring account locks for transfer: transactionId={}", request.getTransactionId());
-        lock1.lock();
-        lock2.lock();
+        long lockStart = System.nanoTime();
+        for (int i = 0; i < locks.length; i++) {
+            acquire(locks[i], accountIds[i], request.getTransactionId()).join();
+        }
+        metrics.recordLockWait(lockStart);
+        timings.record(PhaseTimings.Phase.LOCK_WAIT, lockStart);
+        TransferOutcome outcome;
         try {
-            // Validate inputs
-            if (request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                logger.warn("Invalid transfer amount: transactionId={}, amount={}", 
-                        request.getTransactionId(), request.getAmount());
-                throw new IllegalArgumentException("Amount must be positive");
-            }
-            if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
-                logger.warn("Transfer to same account attempted: accountId={}, transactionId={}", 
-                        request.getSourceAccountId(), request.getTransactionId());
-                throw new IllegalArgumentException("Cannot transfer to same account");
+            try {
+                outcome = transferLocked(request, timings);
+            } finally {
+                logger.debug("Releasing account locks: transactionId={}", request.getTransactionId());
+                releaseAll(locks, accountIds);
             }
-            
+        } catch (RuntimeException e) {
+            failed(request, start, event);
+            throw e;
+        }
+        // Recorded after the release, so a full audit log does not hold up transfers queued on the accounts
+        return completed(request, outcome, start, event);
+    }
+
+    @Override
+    public CompletableFuture<TransferOutcome> attemptTransferAsync(TransferRequest request) {
+        logger.debug("Starting async transfer operation: transactionId={}, sourceAccountId={}, destinationAccountId={}, amount={}",
+                request.getTransactionId(), request.getSourceAccountId(), request.getDestinationAccountId(), request.getAmount());
+        
+        long start = System.nanoTime();
+        PhaseTimings timings = PhaseTimings.current();
+        TransferEvents.Transfer event = new TransferEvents.Transfer();
+        event.begin();
+        TransferOutcome early = checkBeforeLocking(request, timings);
+        if (early != null) {
+            return CompletableFuture.completedFuture(completed(request, early, start, event));
+        }
+        
+        // Queue on the locks in consistent order; no thread waits while the transfer is queued
+        UUID[] accountIds = lockOrder(request);
+        AccountLock[] locks = locksFor(accountIds);
+        long lockStart = System.nanoTime();
+        CompletableFuture<Void> acquired = acquire(locks[0], accountIds[0], request.getTransactionId());
+        for (int i = 1; i < locks.length; i++) {
+            AccountLock next = locks[i];
+            UUID nextId = accountIds[i];
+            acquired = acquired.thenCompose(ignored -> acquire(next, nextId, request.getTransactionId()));
+        }
+        return acquired
+                .thenApplyAsync(ignored -> {
+                    metrics.recordLockWait(lockStart);
+                    timings.record(PhaseTimings.Phase.LOCK_WAIT, lockStart);
+                    return transferLocked(request, timings);
+                }, executor)
+                .whenComplete((outcome, failure) -> {
+                    logger.debug("Releasing account locks: transactionId={}", request.getTransactionId());
+                    releaseAll(locks, accountIds);
+                    if (failure == null) {
+                        completed(request, outcome, start, event);
+                    } else {
+                        failed(request, start, event);
+                    }
+                });
+    }
+
+    /**
+     * Records the outcome of a transfer in the metrics, the flight recorder event
+     * and the audit log. Called without the account locks held, since the audit log
+     * may wait for room.
+     *
+     * @return the outcome, for use in return statements
+     */
+    private TransferOutcome completed(TransferRequest request, TransferOutcome outcome, long start,
+            TransferEvents.Transfer event) {
+        metrics.recordTransfer(outcome, start);
+        event.complete(request, outcome);
+        auditLog.transfer(request, outcome);
+        return outcome;
+    }
+
+    /**
+     * Records a transfer that failed with an exception.
+     */
+    private void failed(TransferRequest request, long start, TransferEvents.Transfer event) {
+        metrics.recordTransferError(start);
+        event.fail(request);
+        auditLog.transferFailed(request);
+    }
+
+    /**
+     * Handles the idempotency check, request validation and the lock-free funds
+     * pre-check. None of these need the account locks, so they run before queueing
+     * for them and are not repeated inside the critical section.
+     *
+     * @return the outcome if the transfer is decided without locking, or null to continue
+     */
+    private TransferOutcome checkBeforeLocking(TransferRequest request, PhaseTimings timings) {
+        // Idempotency check
+        TransferEvents.IdempotencyCheck check = new TransferEvents.IdempotencyCheck();
+        check.begin();
+        long checkMark = timings.mark();
+        boolean processed = repository.isTransactionProcessed(request.getTransactionId());
+        timings.record(PhaseTimings.Phase.IDEMPOTENCY, checkMark);
+        check.complete(request.getTransactionId(), processed);
+        if (processed) {
+            logger.debug("Transfer already processed (idempotency): transactionId={}", request.getTransactionId());
+            return new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                    request.getSourceAccountId(), currentBalance(request.getSourceAccountId()),
+                    request.getDestinationAccountId(), currentBalance(request.getDestinationAccountId()),
+                    true));
+        }
+        
+        // Validate inputs
+        if (request.getAmount().signum() <= 0) {
+            logger.debug("Invalid transfer amount: transactionId={}, amount={}", 
+                    request.getTransactionId(), request.getAmount());
+            return new TransferOutcome.Rejected("Amount must be positive");
+        }
+        if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
+            logger.debug("Transfer to same account attempted: accountId={}, transactionId={}", 
+                    request.getSourceAccountId(), request.getTransactionId());
+            return new TransferOutcome.Rejected("Cannot transfer to same account");
+        }
+        
+        // Shed transfers that cannot succeed without touching the locks
+        return precheckFunds(request);
+    }
+
+    /**
+     * Performs the transfer. The caller must hold the locks of both accounts, and the
+     * request must have passed {@link #checkBeforeLocking}.
+     */
+    private TransferOutcome transferLocked(TransferRequest request, PhaseTimings timings) {
+        try {
             // Find source account
             Account sourceAccount = repository.findAccount(request.getSourceAccountId());
             if (sourceAccount == null) {
-                logger.warn("Source account not found: accountId={}, transactionId={}", 
+                logger.debug("Source account not found: accountId={}, transactionId={}", 
                         request.getSourceAccountId(), request.getTransactionId());
-                throw new IllegalArgumentException("Source account not found");
+                return new TransferOutcome.Rejected("Source account not found");
             }
             
-            // Calculate current balance and check if sufficient
-            BigDecimal sourceBalance = accountService.calculateBalance(sourceAccount.getAccountId());
+            // Read the current balance and check if sufficient; with the lock held the projection is exact
+            BigDecimal sourceBalance = readBalance(sourceAccount.getAccountId(), request.getTransactionId(), timings);
             if (sourceBalance.compareTo(request.getAmount()) < 0) {
-                logger.warn("Insufficient funds in source account: accountId={}, balance={}, requestedAmount={}, transactionId={}", 
+                logger.debug("Insufficient funds in source account: accountId={}, balance={}, requestedAmount={}, transactionId={}", 
                         sourceAccount.getAccountId(), sourceBalance, request.getAmount(), request.getTransactionId());
-                throw new InsufficientFundsException("Insufficient funds in source account");
+                return new TransferOutcome.InsufficientFunds(sourceAccount.getAccountId(), sourceBalance, request.getAmount());
             }
             
             // Find or create destination account
             Account destinationAccount = repository.findAccount(request.getDestinationAccountId());
             if (destinationAccount == null) {
-                logger.info("Creating new destination account: accountId={}", request.getDestinationAccountId());
+                logger.debug("Creating new destination account: accountId={}", request.getDestinationAccountId());
                 destinationAccount = new Account(request.getDestinationAccountId());
                 repository.saveAccount(destinationAccount);
             }
@@ -135,9 +372,9 @@ public class WalletServiceImpl implements WalletService {
                 timestamp
             );
             
-            // For logging: calculate before/after balances 
+            // Before/after balances for the result and the balance change events
             BigDecimal sourceBalanceBefore = sourceBalance;
-            BigDecimal destBalanceBefore = accountService.calculateBalance(destinationAccount.getAccountId());
+            BigDecimal destBalanceBefore = readBalance(destinationAccount.getAccountId(), request.getTransactionId(), timings);
             BigDecimal sourceBalanceAfter = sourceBalanceBefore.subtract(request.getAmount());
             BigDecimal destBalanceAfter = destBalanceBefore.add(request.getAmount());
             
@@ -146,26 +383,88 @@ public class WalletServiceImpl implements WalletService {
                     destinationAccount.getAccountId(), destBalanceBefore, destBalanceAfter);
             
             // Save transaction entries and mark as processed
+            TransferEvents.EntryAppend append = new TransferEvents.EntryAppend();
+            append.begin();
+            long appendMark = timings.mark();
             repository.saveTransaction(debitEntry);
             repository.saveTransaction(creditEntry);
             repository.markTransactionProcessed(request.getTransactionId());
+            timings.record(PhaseTimings.Phase.APPEND, appendMark);
+            append.complete(request.getTransactionId(), sourceAccount.getAccountId(), destinationAccount.getAccountId());
             
-            logger.info("Transfer completed successfully: transactionId={}, amount={}, source={}, destination={}", 
+            // Publish while the locks are held so subscribers see each account's changes in sequence order
+            publishBalanceChange(debitEntry, sourceBalanceAfter);
+            publishBalanceChange(creditEntry, destBalanceAfter);
+            
+            logger.debug("Transfer completed successfully: transactionId={}, amount={}, source={}, destination={}", 
                     request.getTransactionId(), request.getAmount(), 
                     sourceAccount.getAccountId(), destinationAccount.getAccountId());
-        } catch (InsufficientFundsException e) {
-            logger.warn("Transfer failed - Insufficient funds: {}", e.getMessage());
-            throw e;
-        } catch (IllegalArgumentException e) {
-            logger.warn("Transfer failed - Invalid request: {}", e.getMessage());
-            throw e;
+            return new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                    sourceAccount.getAccountId(), new BalanceSnapshot(debitEntry.getSequence(), sourceBalanceAfter),
+                    destinationAccount.getAccountId(), new BalanceSnapshot(creditEntry.getSequence(), destBalanceAfter),
+                    false));
         } catch (Exception e) {
             logger.error("Unexpected error during transfer: transactionId={}", request.getTransactionId(), e);
             throw e;
-        } finally {
-            logger.debug("Releasing account locks: transactionId={}", request.getTransactionId());
-            lock2.unlock();
-            lock1.unlock();
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Reads an account's projected balance for a transfer, reporting it as a
+     * {@link TransferEvents.BalanceComputation} and in the request's phase timings.
+     * The caller holds the account's lock, so no entry can be appended between the
+     * read and the transfer's own append, and the projection equals a full replay.
+     */
+    private BigDecimal readBalance(UUID accountId, UUID transactionId, PhaseTimings timings) {
+        TransferEvents.BalanceComputation event = new TransferEvents.BalanceComputation();
+        event.begin();
+        long mark = timings.mark();
+        BigDecimal balance = currentBalance(accountId).balance();
+        timings.record(PhaseTimings.Phase.BALANCE, mark);
+        event.complete(transactionId, accountId);
+        return balance;
+    }
+
+    /**
+     * Gets the number of transfers rejected for insufficient funds by the lock-free
+     * pre-check, without waiting for the account locks.
+     *
+     * @return the number of shed transfers since startup
+     */
+    public long getShedTransferCount() {
+        return shedTransfers.sum();
+    }
+
+    /**
+     * Checks the source account's projected balance without locking.
+     *
+     * @return an insufficient funds outcome if the transfer cannot succeed, or null to continue
+     */
+    private TransferOutcome precheckFunds(TransferRequest request) {
+        BalanceSnapshot snapshot = repository.findBalance(request.getSourceAccountId());
+        if (snapshot == null || snapshot.balance().compareTo(request.getAmount()) >= 0) {
+            return null;
+        }
+        shedTransfers.increment();
+        logger.debug("Insufficient funds in source account (shed before locking): accountId={}, balance={}, requestedAmount={}, transactionId={}",
+                request.getSourceAccountId(), snapshot.balance(), request.getAmount(), request.getTransactionId());
+        return new TransferOutcome.InsufficientFunds(request.getSourceAccountId(), snapshot.balance(), request.getAmount());
+    }
+
+    /**
+     * Reads the projected balance of an account, or an empty balance if it does not exist.
+     */
+    private BalanceSnapshot currentBalance(UUID accountId) {
+        BalanceSnapshot snapshot = repository.findBalance(accountId);
+        return snapshot != null ? snapshot : BalanceSnapshot.EMPTY;
+    }
+
+    /**
+     * Notifies subscribers of the account that a stored entry changed its balance.
+     */
+    private void publishBalanceChange(TransactionEntry entry, BigDecimal balanceAfter) {
+        if (eventPublisher.hasSubscribers(entry.getAccountId())) {
+            eventPublisher.publish(BalanceChangeEvent.of(entry, balanceAfter));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.cubeia.wallet_focused;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP load generator for the runners that compare server configurations. Each
+ * client runs on its own virtual thread and sends its requests one after another, so
+ * the number of clients is the number of concurrent connections. The request mix is 80% balance reads and 20% transfers
+ * between random seeded accounts.
+ */
+public final class HttpLoadDriver {
+    private static final String ADMIN_ACCOUNT_ID = "00000000-0000-0000-0000-000000000000";
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String base;
+
+    /**
+     * Creates a driver for a wallet API on localhost.
+     *
+     * @param port the port the application listens on
+     */
+    public HttpLoadDriver(int port) {
+        this.base = "http://localhost:" + port + "/api/v1/accounts";
+    }
+
+    /**
+     * Creates accounts funded from the admin account.
+     *
+     * @param count the number of accounts
+     * @return the account IDs
+     */
+    public List<UUID> seedAccounts(int count) throws Exception {
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID account = UUID.randomUUID();
+            send(transfer(ADMIN_ACCOUNT_ID, account.toString(), "1000.00"));
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    /**
+     * Runs the request mix and measures the latency of every request.
+     *
+     * @param name the label for the result
+     * @param accounts the accounts to read and transfer between
+     * @param clients the number of concurrent clients
+     * @param requestsPerClient the number of requests each client sends
+     * @return the measured result
+     */
+    public Result run(String name, List<UUID> accounts, int clients, int requestsPerClient) {
+        long[] latencies = new long[clients * requestsPerClient];
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int offset = c * requestsPerClient;
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            Thread.ofVirtual().start(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < requestsPerClient; i++) {
+                        UUID from = accounts.get(random.nextInt(accounts.size()));
+                        HttpRequest request;
+                        if (random.nextInt(100) < 80) {
+                            request = HttpRequest.newBuilder(URI.create(base + "/" + from + "/balance")).GET().build();
+                        } else {
+                            UUID to = accounts.get(random.nextInt(accounts.size()));
+                            request = transfer(from.toString(), to.toString(), "0.01");
+                        }
+                        long begin = System.nanoTime();
+                        int status = send(request);
+                        latencies[offset + i] = System.nanoTime() - begin;
+                        if (status >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    future.complete(null);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            futures.add(future);
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(latencies);
+        return new Result(name, latencies.length / seconds, latencies, errors.get());
+    }
+
+    private HttpRequest transfer(String from, String to, String amount) {
+        String body = String.format(
+                "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
+                UUID.randomUUID(), from, to, amount);
+        return HttpRequest.newBuilder(URI.create(base + "/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Throughput and sorted request latencies of one run.
+     *
+     * @param name the label of the run
+     * @param throughput requests per second
+     * @param latencies the request latencies in nanoseconds, sorted
+     * @param errors the number of 5xx responses
+     */
+    public record Result(String name, double throughput, long[] latencies, int errors) {
+        /**
+         * Gets a latency percentile.
+         *
+         * @param percentile the percentile, from 0 to 100
+         * @return the latency in milliseconds
+         */
+        public double percentile(double percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * Results of runs to compare, such as one per server configuration.
+     *
+     * @param results the results, in the order they are printed
+     */
+    public record Report(List<Result> results) {
+        /**
+         * Gets the number of 5xx responses over all runs.
+         *
+         * @return the total
+         */
+        public long totalErrors() {
+            return results.stream().mapToLong(Result::errors).sum();
+        }
+
+        /**
+         * Prints a table with throughput and latency percentiles of every run.
+         *
+         * @param out the stream to print to
+         */
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "%n%-24s %10s %10s %10s %10s %10s %8s%n",
+                    "run", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            for (Result result : results) {
+                out.printf(Locale.ROOT, "%-24s %10.0f %10.2f %10.2f %10.2f %10.2f %8d%n", result.name(),
+                        result.throughput(), result.percentile(50), result.percentile(99), result.percentile(99.9),
+                        result.percentile(100), result.errors());
+            }
+        }
+    }
+}
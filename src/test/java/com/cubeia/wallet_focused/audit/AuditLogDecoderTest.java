@@ -0,0 +1,76 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cubeia.wallet_focused.audit.AuditRecordCodec.Entry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+
+class AuditLogDecoderTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Writes a file of rejected-transfer records, optionally cut short in the last one.
+     */
+    private Path writeFile(String name, int records, int truncateBytes) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE + records * AuditRecordCodec.RECORD_SIZE);
+        AuditRecordCodec.encodeFileHeader(buffer);
+        for (int i = 0; i < records; i++) {
+            AuditRecordCodec.encode(buffer, buffer.position(), i,
+                    new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE),
+                    new TransferOutcome.Rejected("test"));
+            buffer.position(buffer.position() + AuditRecordCodec.RECORD_SIZE);
+        }
+        byte[] bytes = new byte[buffer.capacity() - truncateBytes];
+        buffer.get(0, bytes);
+        return Files.write(tempDir.resolve(name), bytes);
+    }
+
+    @Test
+    void testDecode_ManyReads() throws Exception {
+        Path file = writeFile("audit-1.bin", 2_500, 0);
+        List<Entry> entries = new ArrayList<>();
+
+        assertEquals(2_500, AuditLogDecoder.decode(file, entries::add));
+        assertEquals(2_500, entries.size());
+        assertEquals(2_499, entries.get(2_499).timestamp().getNano() / 1_000);
+    }
+
+    @Test
+    void testDecode_IgnoresPartialRecord() throws Exception {
+        Path file = writeFile("audit-1.bin", 3, 40);
+
+        assertEquals(2, AuditLogDecoder.decode(file, entry -> { }));
+    }
+
+    @Test
+    void testDecode_RejectsOtherFiles() throws Exception {
+        Path shortFile = Files.writeString(tempDir.resolve("short.bin"), "WAU");
+        Path otherFile = Files.writeString(tempDir.resolve("other.bin"), "not an audit log");
+
+        assertThrows(IllegalArgumentException.class, () -> AuditLogDecoder.decode(shortFile, entry -> { }));
+        assertThrows(IllegalArgumentException.class, () -> AuditLogDecoder.decode(otherFile, entry -> { }));
+    }
+
+    @Test
+    void testResolve_DirectoriesAndFiles() throws Exception {
+        Path newer = writeFile("audit-20261019T120000001.bin", 1, 0);
+        Path older = writeFile("audit-20261019T120000000.bin", 1, 0);
+        Files.writeString(tempDir.resolve("notes.txt"), "ignored");
+        Path explicit = writeFile("copy.bin", 1, 0);
+
+        assertEquals(List.of(older, newer, explicit), AuditLogDecoder.resolve(tempDir.toString(), explicit.toString()));
+    }
+}
@@ -0,0 +1,213 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cubeia.wallet_focused.audit.AuditRecordCodec.Entry;
+import com.cubeia.wallet_focused.audit.AuditRecordCodec.Kind;
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class AuditLogTest {
+    private static final long MAX_FILE_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private static TransferRequest request() {
+        return new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("1.00"));
+    }
+
+    private static TransferOutcome rejected() {
+        return new TransferOutcome.Rejected("test");
+    }
+
+    private List<Entry> readAll() throws Exception {
+        List<Entry> entries = new ArrayList<>();
+        for (Path file : AuditLog.listFiles(tempDir)) {
+            AuditLogDecoder.decode(file, entries::add);
+        }
+        return entries;
+    }
+
+    @Test
+    void testConcurrentAppends_AllWrittenInOrderOfClaim() throws Exception {
+        int threads = 16;
+        int perThread = 2_000;
+        Set<UUID> expected = ConcurrentHashMap.newKeySet();
+        try (AuditLog log = AuditLog.open(tempDir, 1024, MAX_FILE_BYTES, 100);
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        TransferRequest request = request();
+                        expected.add(request.getTransactionId());
+                        log.transfer(request, rejected());
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            log.flush();
+
+            List<Entry> entries = readAll();
+            assertEquals(threads * perThread, entries.size());
+            Set<UUID> written = new HashSet<>();
+            entries.forEach(entry -> written.add(entry.transactionId()));
+            assertEquals(expected, written);
+            assertEquals(0, log.getDroppedCount());
+            assertEquals(0, log.getWriteFailureCount());
+        }
+    }
+
+    @Test
+    void testFullBuffer_ProducersWaitWithoutLosingRecords() throws Exception {
+        int records = 5_000;
+        AuditLog log = AuditLog.open(tempDir, 2, MAX_FILE_BYTES, 100);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < records / 4; i++) {
+                        log.transfer(request(), rejected());
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            // Closing writes out what is still buffered, so the counts below are final
+            log.close();
+        }
+
+        assertEquals(records, readAll().size());
+        assertTrue(log.getFullWaitCount() > 0);
+        assertEquals(0, log.getDroppedCount());
+    }
+
+    @Test
+    void testRolling_KeepsNewestFiles() throws Exception {
+        long maxFileBytes = AuditRecordCodec.FILE_HEADER_SIZE + 10L * AuditRecordCodec.RECORD_SIZE;
+        List<UUID> ids = new ArrayList<>();
+        try (AuditLog log = AuditLog.open(tempDir, 16, maxFileBytes, 3)) {
+            for (int i = 0; i < 100; i++) {
+                TransferRequest request = request();
+                ids.add(request.getTransactionId());
+                log.transfer(request, rejected());
+                // One record per batch, so files fill up exactly
+                log.flush();
+            }
+        }
+
+        List<Path> files = AuditLog.listFiles(tempDir);
+        assertEquals(3, files.size());
+        for (Path file : files) {
+            assertTrue(Files.size(file) <= maxFileBytes);
+        }
+        List<UUID> kept = readAll().stream().map(Entry::transactionId).toList();
+        assertEquals(ids.subList(70, 100), kept);
+    }
+
+    @Test
+    void testClose_WritesPendingAndDropsLater() throws Exception {
+        AuditLog log = AuditLog.open(tempDir, 64, MAX_FILE_BYTES, 1);
+        for (int i = 0; i < 10; i++) {
+            log.transferFailed(request());
+        }
+        log.close();
+        log.close();
+        log.transfer(request(), rejected());
+        log.flush();
+
+        List<Entry> entries = readAll();
+        assertEquals(10, entries.size());
+        assertTrue(entries.stream().allMatch(entry -> entry.kind() == Kind.FAILED));
+        assertEquals(1, log.getDroppedCount());
+    }
+
+    @Test
+    void testDisabled_RecordsNothing() throws Exception {
+        AuditLog.DISABLED.transfer(request(), rejected());
+        AuditLog.DISABLED.transferFailed(request());
+        AuditLog.DISABLED.flush();
+        AuditLog.DISABLED.close();
+
+        assertEquals(0, AuditLog.DISABLED.getDroppedCount());
+        assertEquals(0, AuditLog.DISABLED.getFullWaitCount());
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> AuditLog.open(tempDir, 3, MAX_FILE_BYTES, 1));
+        assertThrows(IllegalArgumentException.class, () -> AuditLog.open(tempDir, 0, MAX_FILE_BYTES, 1));
+        assertThrows(IllegalArgumentException.class, () -> AuditLog.open(tempDir, 8, AuditRecordCodec.RECORD_SIZE, 1));
+        assertThrows(IllegalArgumentException.class, () -> AuditLog.open(tempDir, 8, MAX_FILE_BYTES, 0));
+    }
+
+    @Test
+    void testUnwritableDirectory_CountsFailures() throws Exception {
+        Path directory = tempDir.resolve("audit");
+        try (AuditLog log = AuditLog.open(directory, 8, MAX_FILE_BYTES, 1)) {
+            Files.delete(directory);
+            Files.writeString(directory, "not a directory");
+            log.transfer(request(), rejected());
+            log.flush();
+
+            assertEquals(1, log.getWriteFailureCount());
+        }
+    }
+
+    @Test
+    void testWalletService_AuditsEveryOutcome() throws Exception {
+        WalletRepository repository = new InMemoryWalletRepository();
+        UUID sourceId = UUID.randomUUID();
+        UUID destinationId = UUID.randomUUID();
+        repository.saveAccount(new Account(sourceId));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), sourceId, sourceId,
+                new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+        UUID transactionId = UUID.randomUUID();
+
+        try (AuditLog log = AuditLog.open(tempDir, 64, MAX_FILE_BYTES, 1)) {
+            WalletServiceImpl service = walletService(repository, log);
+            service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+            service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+            service.attemptTransferAsync(new TransferRequest(UUID.randomUUID(), sourceId, destinationId,
+                    new BigDecimal("500.00"))).join();
+            service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, sourceId, new BigDecimal("1.00")));
+            log.flush();
+        }
+
+        List<Entry> entries = readAll();
+        assertEquals(List.of(Kind.COMPLETED, Kind.DUPLICATE, Kind.INSUFFICIENT_FUNDS, Kind.REJECTED),
+                entries.stream().map(Entry::kind).toList());
+        Entry completed = entries.get(0);
+        assertEquals(transactionId, completed.transactionId());
+        assertEquals(new BigDecimal("90.00"), completed.sourceBalance());
+        assertEquals(new BigDecimal("10.00"), completed.destinationBalance());
+        assertEquals(new BigDecimal("90.00"), entries.get(2).sourceBalance());
+        assertFalse(entries.get(0).timestamp().isAfter(entries.get(3).timestamp()));
+    }
+}
@@ -0,0 +1,137 @@
+package com.cubeia.wallet_focused.audit;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.audit.AuditRecordCodec.Entry;
+import com.cubeia.wallet_focused.audit.AuditRecordCodec.Kind;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+class AuditRecordCodecTest {
+    private static final Instant TIME = Instant.parse("2026-10-19T12:00:00.123456Z");
+
+    private final TransferRequest request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            new BigDecimal("12.50"));
+
+    private Entry roundTrip(TransferOutcome outcome) {
+        // Encode into the middle of a buffer, as into a ring buffer slot
+        ByteBuffer buffer = ByteBuffer.allocate(3 * AuditRecordCodec.RECORD_SIZE);
+        AuditRecordCodec.encode(buffer, AuditRecordCodec.RECORD_SIZE, AuditRecordCodec.epochMicros(TIME), request, outcome);
+        assertEquals(0, buffer.position());
+        return AuditRecordCodec.decode(buffer, AuditRecordCodec.RECORD_SIZE);
+    }
+
+    private void assertRequest(Entry entry) {
+        assertEquals(TIME, entry.timestamp());
+        assertEquals(request.getTransactionId(), entry.transactionId());
+        assertEquals(request.getSourceAccountId(), entry.sourceAccountId());
+        assertEquals(request.getDestinationAccountId(), entry.destinationAccountId());
+        assertEquals(new BigDecimal("12.50"), entry.amount());
+    }
+
+    @Test
+    void testCompleted() {
+        Entry entry = roundTrip(new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                request.getSourceAccountId(), new BalanceSnapshot(7, new BigDecimal("87.50")),
+                request.getDestinationAccountId(), new BalanceSnapshot(1, new BigDecimal("12.50")), false)));
+
+        assertEquals(Kind.COMPLETED, entry.kind());
+        assertRequest(entry);
+        assertEquals(7, entry.sourceVersion());
+        assertEquals(new BigDecimal("87.50"), entry.sourceBalance());
+        assertEquals(1, entry.destinationVersion());
+        assertEquals(new BigDecimal("12.50"), entry.destinationBalance());
+        assertEquals("2026-10-19T12:00:00.123456Z COMPLETED transactionId=" + request.getTransactionId()
+                + " source=" + request.getSourceAccountId() + " destination=" + request.getDestinationAccountId()
+                + " amount=12.50 sourceBalance=87.50 sourceVersion=7 destinationBalance=12.50 destinationVersion=1",
+                entry.format());
+    }
+
+    @Test
+    void testDuplicate() {
+        Entry entry = roundTrip(new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                request.getSourceAccountId(), BalanceSnapshot.EMPTY,
+                request.getDestinationAccountId(), BalanceSnapshot.EMPTY, true)));
+
+        assertEquals(Kind.DUPLICATE, entry.kind());
+        assertEquals(BigDecimal.ZERO, entry.sourceBalance());
+        assertEquals(0, entry.destinationVersion());
+    }
+
+    @Test
+    void testInsufficientFunds() {
+        Entry entry = roundTrip(new TransferOutcome.InsufficientFunds(request.getSourceAccountId(),
+                new BigDecimal("3.00"), request.getAmount()));
+
+        assertEquals(Kind.INSUFFICIENT_FUNDS, entry.kind());
+        assertRequest(entry);
+        assertEquals(new BigDecimal("3.00"), entry.sourceBalance());
+        assertEquals(-1, entry.sourceVersion());
+        assertNull(entry.destinationBalance());
+        assertEquals(-1, entry.destinationVersion());
+    }
+
+    @Test
+    void testRejectedAndFailed() {
+        Entry rejected = roundTrip(new TransferOutcome.Rejected("Cannot transfer to same account"));
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecordCodec.RECORD_SIZE);
+        AuditRecordCodec.encodeFailure(buffer, 0, AuditRecordCodec.epochMicros(TIME), request);
+        Entry failed = AuditRecordCodec.decode(buffer, 0);
+
+        assertEquals(Kind.REJECTED, rejected.kind());
+        assertRequest(rejected);
+        assertNull(rejected.sourceBalance());
+        assertEquals(Kind.FAILED, failed.kind());
+        assertRequest(failed);
+        assertNull(failed.sourceBalance());
+        assertNull(failed.destinationBalance());
+    }
+
+    @Test
+    void testDecimalsThatDoNotFit_LeftOut() {
+        TransferRequest huge = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("1E-300"));
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecordCodec.RECORD_SIZE);
+        AuditRecordCodec.encode(buffer, 0, 0, huge, new TransferOutcome.InsufficientFunds(huge.getSourceAccountId(),
+                new BigDecimal("99999999999999999999"), huge.getAmount()));
+
+        Entry entry = AuditRecordCodec.decode(buffer, 0);
+
+        assertNull(entry.amount());
+        assertNull(entry.sourceBalance());
+        assertEquals(Instant.EPOCH, entry.timestamp());
+        assertTrue(entry.format().endsWith(" amount=?"));
+    }
+
+    @Test
+    void testFileHeader() {
+        ByteBuffer header = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE);
+        AuditRecordCodec.encodeFileHeader(header);
+        AuditRecordCodec.checkFileHeader(header.flip());
+
+        ByteBuffer other = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE).putInt(0x12345678).putInt(0).flip();
+        assertThrows(IllegalArgumentException.class, () -> AuditRecordCodec.checkFileHeader(other));
+        ByteBuffer newer = ByteBuffer.allocate(AuditRecordCodec.FILE_HEADER_SIZE)
+                .putInt(AuditRecordCodec.FILE_MAGIC).putShort((short) 2).putShort((short) AuditRecordCodec.RECORD_SIZE).flip();
+        assertThrows(IllegalArgumentException.class, () -> AuditRecordCodec.checkFileHeader(newer));
+    }
+
+    @Test
+    void testUnknownKind() {
+        ByteBuffer buffer = ByteBuffer.allocate(AuditRecordCodec.RECORD_SIZE);
+        buffer.put(0, (byte) 99);
+
+        assertThrows(IllegalArgumentException.class, () -> AuditRecordCodec.decode(buffer, 0));
+    }
+}
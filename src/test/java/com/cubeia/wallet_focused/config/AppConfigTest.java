@@ -14,7 +14,7 @@ import com.cubeia.wallet_focused.model.WalletRepository;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
-public class RepositoryConfigTest {
+public class AppConfigTest {
 
     @Autowired
     private ApplicationContext context;
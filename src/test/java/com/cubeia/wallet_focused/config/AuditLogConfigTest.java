@@ -0,0 +1,37 @@
+package com.cubeia.wallet_focused.config;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.cubeia.wallet_focused.audit.AuditLog;
+
+class AuditLogConfigTest {
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(AuditLogConfig.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEnabled_OpensLogInDirectory() {
+        Path directory = tempDir.resolve("audit");
+        runner.withPropertyValues("wallet.audit.directory=" + directory, "wallet.audit.buffer-records=16")
+                .run(context -> {
+                    assertNotSame(AuditLog.DISABLED, context.getBean(AuditLog.class));
+                    assertTrue(Files.isDirectory(directory));
+                });
+    }
+
+    @Test
+    void testDisabled_RecordsNothing() {
+        runner.withPropertyValues("wallet.audit.enabled=false", "wallet.audit.directory=" + tempDir.resolve("audit"))
+                .run(context -> assertSame(AuditLog.DISABLED, context.getBean(AuditLog.class)));
+    }
+}
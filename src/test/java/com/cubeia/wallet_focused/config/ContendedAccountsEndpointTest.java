@@ -0,0 +1,70 @@
+package com.cubeia.wallet_focused.config;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.ContendedAccounts;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class ContendedAccountsEndpointTest {
+
+    @Test
+    void testLimit() {
+        WalletRepository repository = new InMemoryWalletRepository();
+        ContendedAccounts sketch = new ContendedAccounts(32);
+        WalletServiceImpl service = walletService(repository, sketch);
+        UUID hot = UUID.randomUUID();
+        repository.saveAccount(new Account(hot));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), hot, hot,
+                new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+        CompletableFuture<?>[] transfers = new CompletableFuture<?>[50];
+        for (int i = 0; i < transfers.length; i++) {
+            transfers[i] = service.attemptTransferAsync(
+                    new TransferRequest(UUID.randomUUID(), hot, UUID.randomUUID(), new BigDecimal("1.00")));
+        }
+        CompletableFuture.allOf(transfers).join();
+        ContendedAccountsEndpoint endpoint = new ContendedAccountsEndpoint(sketch);
+
+        assertEquals(32, endpoint.contention(null).trackedAccounts());
+        assertEquals(hot, endpoint.contention(null).accounts().get(0).accountId());
+        assertEquals(1, endpoint.contention(1).accounts().size());
+        assertEquals(0, endpoint.contention(0).accounts().size());
+        assertThrows(IllegalArgumentException.class, () -> endpoint.contention(-1));
+    }
+
+    @SpringBootTest(properties = "logging.level.com.cubeia.wallet_focused=WARN")
+    @AutoConfigureMockMvc
+    static class ActuatorEndpoint {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        void testContentionEndpoint() throws Exception {
+            mockMvc.perform(get("/actuator/contention").param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.trackedAccounts").value(256))
+                    .andExpect(jsonPath("$.accounts").isArray());
+            mockMvc.perform(get("/actuator/contention").param("limit", "-1"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
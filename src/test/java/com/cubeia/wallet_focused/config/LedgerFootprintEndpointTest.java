@@ -0,0 +1,63 @@
+package com.cubeia.wallet_focused.config;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cubeia.wallet_focused.config.LedgerFootprintEndpoint.FootprintReport;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class LedgerFootprintEndpointTest {
+    private static final UUID ADMIN_ACCOUNT_ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+
+    @Test
+    void testFootprint() {
+        InMemoryWalletRepository repository = new InMemoryWalletRepository();
+        repository.initializeAdminAccountIfNeeded();
+        WalletServiceImpl service = walletService(repository);
+        for (int i = 0; i < 5; i++) {
+            service.attemptTransfer(new TransferRequest(UUID.randomUUID(), ADMIN_ACCOUNT_ID, UUID.randomUUID(),
+                    new BigDecimal("1.00")));
+        }
+
+        FootprintReport report = new LedgerFootprintEndpoint(repository, service).footprint();
+
+        assertEquals(6, report.accounts().count());
+        assertEquals(11, report.entries().count());
+        assertEquals(6, report.accountLogs().count());
+        assertEquals(6, report.idempotencyKeys().count());
+        assertEquals(6, report.accountLocks().count());
+        assertEquals(ADMIN_ACCOUNT_ID, report.largestAccounts().get(0).accountId());
+        assertEquals(repository.footprint().totalBytes() + report.accountLocks().bytes(), report.totalBytes());
+    }
+
+    @SpringBootTest(properties = "logging.level.com.cubeia.wallet_focused=WARN")
+    @AutoConfigureMockMvc
+    static class ActuatorEndpoint {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        void testFootprintEndpoint() throws Exception {
+            mockMvc.perform(get("/actuator/footprint"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalBytes").isNumber())
+                    .andExpect(jsonPath("$.entries.count").isNumber())
+                    .andExpect(jsonPath("$.accountLocks.bytes").isNumber())
+                    .andExpect(jsonPath("$.entriesPerAccount").isArray())
+                    .andExpect(jsonPath("$.largestAccounts").isNotEmpty());
+        }
+    }
+}
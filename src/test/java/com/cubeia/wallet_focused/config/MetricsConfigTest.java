@@ -0,0 +1,115 @@
+package com.cubeia.wallet_focused.config;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.WalletServiceImpl;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class MetricsConfigTest {
+    private final MetricsConfig config = new MetricsConfig();
+    private SimpleMeterRegistry registry;
+    private WalletRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new InMemoryWalletRepository();
+    }
+
+    private void addEntries(int count) {
+        UUID accountId = UUID.randomUUID();
+        repository.saveAccount(new Account(accountId));
+        for (int i = 0; i < count; i++) {
+            repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountId, accountId,
+                    BigDecimal.ONE, TransactionEntry.Type.CREDIT, Instant.now()));
+        }
+    }
+
+    private double historySize(String quantile) {
+        return registry.get("wallet.account.history.size").tag("quantile", quantile).gauge().value();
+    }
+
+    @Test
+    public void testRepositoryMetrics() {
+        config.walletRepositoryMetrics(repository).bindTo(registry);
+
+        assertEquals(0, registry.get("wallet.idempotency.keys").gauge().value());
+        assertEquals(0, historySize("1.0"));
+
+        for (int i = 1; i <= 100; i++) {
+            addEntries(i);
+        }
+        repository.markTransactionProcessed(UUID.randomUUID());
+        repository.markTransactionProcessed(UUID.randomUUID());
+
+        assertEquals(2, registry.get("wallet.idempotency.keys").gauge().value());
+    }
+
+    @Test
+    public void testHistorySizeQuantiles() {
+        for (int i = 1; i <= 100; i++) {
+            addEntries(i);
+        }
+        config.walletRepositoryMetrics(repository).bindTo(registry);
+
+        assertEquals(50, historySize("0.5"));
+        assertEquals(90, historySize("0.9"));
+        assertEquals(99, historySize("0.99"));
+        assertEquals(100, historySize("1.0"));
+    }
+
+    @Test
+    public void testShedTransferCounter() {
+        WalletServiceImpl walletService = walletService(repository);
+        config.walletServiceMetrics(walletService).bindTo(registry);
+        UUID emptyAccount = UUID.randomUUID();
+        repository.saveAccount(new Account(emptyAccount));
+
+        walletService.attemptTransfer(new TransferRequest(UUID.randomUUID(), emptyAccount, UUID.randomUUID(), BigDecimal.TEN));
+
+        assertEquals(1, registry.get("wallet.transfer.shed").functionCounter().count());
+    }
+
+    @SpringBootTest(properties = "logging.level.com.cubeia.wallet_focused=WARN")
+    @AutoConfigureMockMvc
+    @AutoConfigureObservability
+    static class PrometheusEndpoint {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        public void testScrapeEndpoint() throws Exception {
+            String body = mockMvc.perform(get("/actuator/prometheus"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertTrue(body.contains("wallet_transfer_seconds_bucket"), body);
+            assertTrue(body.contains("wallet_lock_wait_seconds"));
+            assertTrue(body.contains("wallet_balance_entries_scanned"));
+            assertTrue(body.contains("wallet_idempotency_keys"));
+            assertTrue(body.contains("wallet_account_history_size_entries{application=\"wallet-focused\",quantile=\"0.99\""));
+            assertTrue(body.contains("wallet_transfer_shed_total"));
+        }
+    }
+}
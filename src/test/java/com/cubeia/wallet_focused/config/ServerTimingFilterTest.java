@@ -0,0 +1,178 @@
+package com.cubeia.wallet_focused.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.PhaseTimings;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingFilterTest {
+
+    private static MockFilterChain chain(HttpServlet servlet) {
+        return new MockFilterChain(servlet);
+    }
+
+    @Test
+    void testTimingsBoundDuringChain_AndHeaderSetForBodylessResponse() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ofSeconds(10), 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/x/balance");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        PhaseTimings[] seen = new PhaseTimings[1];
+
+        filter.doFilter(request, response, chain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen[0] = PhaseTimings.current();
+                seen[0].record(PhaseTimings.Phase.BALANCE, seen[0].mark());
+                resp.setStatus(304);
+            }
+        }));
+
+        assertSame(seen[0], request.getAttribute(ServerTimingFilter.TIMINGS_ATTRIBUTE));
+        assertSame(PhaseTimings.NONE, PhaseTimings.current());
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).matches("balance;dur=\\d+\\.\\d{3}, app;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    void testSlowRequest_Logged(CapturedOutput output) throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(Duration.ZERO, 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts/transfer");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                PhaseTimings.current().begin(PhaseTimings.Phase.SERIALIZATION);
+            }
+        }));
+
+        assertThat(output.getOut())
+                .contains("Slow request: method=POST, uri=/api/v1/accounts/transfer, status=200")
+                .containsPattern("serverTiming=\"serialize;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}\"");
+    }
+
+    @Test
+    void testSlowRequest_NotLoggedWhenNotSampledOrFast(CapturedOutput output) throws Exception {
+        new ServerTimingFilter(Duration.ZERO, 0.0).doFilter(new MockHttpServletRequest("GET", "/unsampled"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        new ServerTimingFilter(Duration.ofSeconds(10), 1.0).doFilter(new MockHttpServletRequest("GET", "/fast"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(output.getOut()).doesNotContain("Slow request");
+    }
+
+    @Test
+    void testInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> new ServerTimingFilter(Duration.ZERO, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new ServerTimingFilter(Duration.ZERO, -0.1));
+    }
+
+    @Test
+    void testConfig_DisabledByDefault() {
+        new WebApplicationContextRunner()
+                .withUserConfiguration(ServerTimingConfig.class, ServerTimingAdvice.class)
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(FilterRegistrationBean.class);
+                    assertThat(context).doesNotHaveBean(ServerTimingAdvice.class);
+                });
+        new WebApplicationContextRunner()
+                .withUserConfiguration(ServerTimingConfig.class, ServerTimingAdvice.class)
+                .withPropertyValues("wallet.server-timing.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(FilterRegistrationBean.class);
+                    assertThat(context).hasSingleBean(ServerTimingAdvice.class);
+                });
+    }
+
+    @SpringBootTest(properties = {
+            "wallet.server-timing.enabled=true",
+            "wallet.server-timing.slow-threshold-ms=0",
+            "wallet.server-timing.slow-log-sample-rate=1.0" })
+    @AutoConfigureMockMvc
+    @ExtendWith(OutputCaptureExtension.class)
+    static class Enabled {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private WalletRepository repository;
+
+        @Test
+        void testTransfer_ReportsEveryPhase(CapturedOutput output) throws Exception {
+            UUID sourceId = UUID.randomUUID();
+            repository.saveAccount(new Account(sourceId));
+            repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), sourceId, sourceId,
+                    new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+            String body = String.format(
+                    "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":10}",
+                    UUID.randomUUID(), sourceId, UUID.randomUUID());
+
+            MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
+                    .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andReturn();
+            MvcResult dispatched = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn();
+
+            assertThat(dispatched.getResponse().getHeader(ServerTimingFilter.HEADER)).matches(
+                    "parse;dur=[\\d.]+, validate;dur=[\\d.]+, idem;dur=[\\d.]+, lock;dur=[\\d.]+, "
+                            + "balance;dur=[\\d.]+, append;dur=[\\d.]+, app;dur=[\\d.]+");
+            assertThat(output.getOut()).containsPattern(
+                    "Slow request: method=POST, uri=/api/v1/accounts/transfer, status=200, totalMs=\\d+, "
+                            + "serverTiming=\"parse.*serialize;dur=[\\d.]+, total;dur=[\\d.]+\"");
+        }
+
+        @Test
+        void testRead_ReportsAppTime() throws Exception {
+            String header = mockMvc.perform(get("/api/v1/accounts/{id}/transactions", UUID.randomUUID()))
+                    .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+            assertThat(header).matches("app;dur=[\\d.]+");
+        }
+    }
+
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    static class Disabled {
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        void testNoHeader() throws Exception {
+            assertNull(mockMvc.perform(get("/api/v1/accounts/{id}/transactions", UUID.randomUUID()))
+                    .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER));
+            assertEquals(PhaseTimings.NONE, PhaseTimings.current());
+        }
+    }
+}
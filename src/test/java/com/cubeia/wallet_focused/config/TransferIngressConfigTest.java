@@ -0,0 +1,31 @@
+package com.cubeia.wallet_focused.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.cubeia.wallet_focused.ingress.TransferIngressServer;
+import com.cubeia.wallet_focused.service.WalletService;
+
+class TransferIngressConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(TransferIngressConfig.class)
+            .withBean(WalletService.class, () -> mock(WalletService.class));
+
+    @Test
+    void testIngressDisabledByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TransferIngressServer.class));
+    }
+
+    @Test
+    void testIngressStartsWhenEnabled() {
+        contextRunner
+                .withPropertyValues("wallet.ingress.tcp.enabled=true", "wallet.ingress.tcp.port=0")
+                .run(context -> {
+                    TransferIngressServer server = context.getBean(TransferIngressServer.class);
+                    assertThat(server.isRunning()).isTrue();
+                    assertThat(server.getPort()).isPositive();
+                });
+    }
+}
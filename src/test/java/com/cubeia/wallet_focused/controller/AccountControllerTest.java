@@ -1,6 +1,11 @@
 package com.cubeia.wallet_focused.controller;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,18 +14,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.service.AccountService;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,8 +61,7 @@ class AccountControllerTest {
     @Test
     void getBalance_ValidAccountId_ReturnsBalanceAndStatus200() throws Exception {
         // Setup mocks
-        when(accountService.getAccount(accountId)).thenReturn(Optional.of(account));
-        when(accountService.calculateBalance(accountId)).thenReturn(balance);
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.of(new BalanceSnapshot(3L, balance)));
 
         // Perform test
         mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
@@ -61,15 +71,14 @@ class AccountControllerTest {
                 .andExpect(jsonPath("$.accountId").value(accountId.toString()))
                 .andExpect(jsonPath("$.balance").value("100.5"));
 
-        // Verify interactions
-        verify(accountService).getAccount(accountId);
-        verify(accountService).calculateBalance(accountId);
+        // Current balances come from the projection, without replaying the history
+        verify(accountService, never()).calculateBalance(accountId);
     }
 
     @Test
     void getBalance_NonExistentAccountId_ReturnsStatus404() throws Exception {
         // Setup mock
-        when(accountService.getAccount(accountId)).thenReturn(Optional.empty());
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.empty());
 
         // Perform test
         mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
@@ -77,7 +86,7 @@ class AccountControllerTest {
                 .andExpect(status().isNotFound());
 
         // Verify interactions
-        verify(accountService).getAccount(accountId);
+        verify(accountService).getBalanceSnapshot(accountId);
     }
 
     @Test
@@ -88,4 +97,124 @@ class AccountControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getBalance_AsOf_ReturnsHistoricalBalance() throws Exception {
+        Instant asOf = Instant.parse("2025-01-01T23:59:00Z");
+        when(accountService.getAccount(accountId)).thenReturn(Optional.of(account));
+        when(accountService.calculateBalanceAsOf(accountId, asOf)).thenReturn(new BigDecimal("12.25"));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .param("asOf", asOf.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId").value(accountId.toString()))
+                .andExpect(jsonPath("$.balance").value("12.25"));
+
+        verify(accountService).calculateBalanceAsOf(accountId, asOf);
+        verify(accountService, never()).calculateBalance(accountId);
+    }
+
+    @Test
+    void getBalance_InvalidAsOf_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .param("asOf", "yesterday"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getBalance_WithVersion_ReturnsETagOfSameSnapshotAsBody() throws Exception {
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.of(new BalanceSnapshot(42L, balance)));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(jsonPath("$.balance").value("100.5"));
+    }
+
+    @Test
+    void getBalance_IfNoneMatchCurrentVersion_ReturnsStatus304WithoutCalculatingBalance() throws Exception {
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.of(new BalanceSnapshot(42L, balance)));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .header("If-None-Match", "\"41\", W/\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(content().string(""));
+
+        verify(accountService, never()).getAccount(accountId);
+        verify(accountService, never()).calculateBalance(accountId);
+    }
+
+    @Test
+    void getBalance_IfNoneMatchOldVersion_ReturnsNewBalance() throws Exception {
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.of(new BalanceSnapshot(43L, balance)));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .header("If-None-Match", "\"42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"43\""))
+                .andExpect(jsonPath("$.balance").value("100.5"));
+    }
+
+    @Test
+    void getBalance_IfNoneMatchUnknownAccount_ReturnsStatus404() throws Exception {
+        when(accountService.getBalanceSnapshot(accountId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getBalance_AsOf_IgnoresIfNoneMatch() throws Exception {
+        Instant asOf = Instant.parse("2025-01-01T23:59:00Z");
+        when(accountService.getAccount(accountId)).thenReturn(Optional.of(account));
+        when(accountService.calculateBalanceAsOf(accountId, asOf)).thenReturn(new BigDecimal("12.25"));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/balance", accountId)
+                .param("asOf", asOf.toString())
+                .header("If-None-Match", "\"42\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(accountService, never()).getBalanceSnapshot(accountId);
+    }
+
+    @Test
+    void getBalances_MixedAccounts_ReturnsFoundAndNotFound() throws Exception {
+        UUID otherAccountId = UUID.randomUUID();
+        UUID unknownAccountId = UUID.randomUUID();
+        Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+        balances.put(accountId, balance);
+        balances.put(otherAccountId, new BigDecimal("7.00"));
+        when(accountService.getBalances(any())).thenReturn(balances);
+
+        String requestJson = String.format("{\"accountIds\":[\"%s\",\"%s\",\"%s\",\"%s\"]}",
+                accountId, unknownAccountId, otherAccountId, accountId);
+
+        mockMvc.perform(post("/api/v1/accounts/balances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balances.length()").value(2))
+                .andExpect(jsonPath("$.balances[0].accountId").value(accountId.toString()))
+                .andExpect(jsonPath("$.balances[0].balance").value("100.5"))
+                .andExpect(jsonPath("$.balances[1].accountId").value(otherAccountId.toString()))
+                .andExpect(jsonPath("$.notFound.length()").value(1))
+                .andExpect(jsonPath("$.notFound[0]").value(unknownAccountId.toString()));
+
+        verify(accountService).getBalances(new LinkedHashSet<>(List.of(accountId, unknownAccountId, otherAccountId)));
+        verify(accountService, never()).calculateBalance(any(UUID.class));
+    }
+
+    @Test
+    void getBalances_EmptyList_ReturnsStatus400() throws Exception {
+        mockMvc.perform(post("/api/v1/accounts/balances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"accountIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountService);
+    }
+}
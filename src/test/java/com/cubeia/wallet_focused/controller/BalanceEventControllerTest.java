@@ -0,0 +1,175 @@
+package com.cubeia.wallet_focused.controller;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.service.BalanceEventPublisher;
+
+class BalanceEventControllerTest {
+    private MockMvc mockMvc;
+    private InMemoryWalletRepository repository;
+    private BalanceEventPublisher publisher;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWalletRepository();
+        publisher = new BalanceEventPublisher(repository);
+        BalanceEventController controller = new BalanceEventController(publisher, Duration.ofMillis(50));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        accountId = UUID.randomUUID();
+        repository.saveAccount(new Account(accountId));
+    }
+
+    private TransactionEntry credit(String amount) {
+        TransactionEntry entry = new TransactionEntry(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                new BigDecimal(amount), TransactionEntry.Type.CREDIT, Instant.now());
+        repository.saveTransaction(entry);
+        return entry;
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            String content = response.getContentAsString();
+            if (content.contains(expected)) {
+                return content;
+            }
+            Thread.sleep(10);
+        }
+        fail("Timed out waiting for '" + expected + "' in: " + response.getContentAsString());
+        return null;
+    }
+
+    @Test
+    void streamEvents_NewSubscriber_GetsSnapshotThenLiveEvents() throws Exception {
+        credit("10.00");
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{id}/events", accountId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "\"balance\":10.00");
+
+        TransactionEntry entry = credit("5.00");
+        publisher.publish(BalanceChangeEvent.of(entry, new BigDecimal("15.00")));
+
+        String content = awaitContent(result, "\"balance\":15.00");
+        assertTrue(content.contains("id:1\nevent:snapshot"));
+        assertTrue(content.contains("\"balance\":10.00"));
+        assertTrue(content.contains("id:2\nevent:balance"));
+        assertTrue(content.contains("\"balance\":15.00"));
+        awaitContent(result, ":keep-alive");
+    }
+
+    @Test
+    void streamEvents_LastEventId_ReplaysMissedEvents() throws Exception {
+        credit("10.00");
+        credit("20.00");
+        credit("30.00");
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{id}/events", accountId)
+                        .header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = awaitContent(result, "\"balance\":60.00");
+        assertFalse(content.contains("id:1\n"));
+        assertFalse(content.contains("event:snapshot"));
+        assertTrue(content.contains("\"balance\":30.00"));
+        assertTrue(content.contains("\"balance\":60.00"));
+    }
+
+    @Test
+    void streamEvents_AfterSequenceSkipsEventsAlreadyReplayed() throws Exception {
+        TransactionEntry first = credit("10.00");
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{id}/events", accountId)
+                        .param("afterSequence", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "\"balance\":10.00");
+
+        // Published again after it was replayed: must not be sent twice
+        publisher.publish(BalanceChangeEvent.of(first, new BigDecimal("10.00")));
+        TransactionEntry second = credit("1.00");
+        publisher.publish(BalanceChangeEvent.of(second, new BigDecimal("11.00")));
+
+        String content = awaitContent(result, "\"balance\":11.00");
+        assertTrue(content.indexOf("id:1\n") == content.lastIndexOf("id:1\n"));
+    }
+
+    @Test
+    void streamEvents_OverflowWhileSubscribing_ClosesStream() throws Exception {
+        // Fills the subscriber's queue from inside subscribe, before start() returns
+        BalanceEventPublisher eagerPublisher = new BalanceEventPublisher(repository) {
+            @Override
+            public Subscription subscribe(UUID id, Consumer<BalanceChangeEvent> listener) {
+                Subscription subscription = super.subscribe(id, listener);
+                TransactionEntry entry = credit("1.00");
+                for (int i = 0; i <= BalanceEventController.QUEUE_CAPACITY; i++) {
+                    listener.accept(BalanceChangeEvent.of(entry, new BigDecimal("1.00")));
+                }
+                return subscription;
+            }
+        };
+        MockMvc eagerMockMvc = MockMvcBuilders
+                .standaloneSetup(new BalanceEventController(eagerPublisher, Duration.ofMillis(50)))
+                .build();
+
+        MvcResult result = eagerMockMvc.perform(get("/api/v1/accounts/{id}/events", accountId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The stream gives up on the subscriber that fell behind instead of failing the request,
+        // and cancels its subscription before it completes
+        result.getAsyncResult(5000);
+        assertFalse(eagerPublisher.hasSubscribers(accountId));
+    }
+
+    @Test
+    void streamEvents_NonExistentAccount_ReturnsStatus404() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/events", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamEvents_InvalidAccountId_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/not-a-uuid/events"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamEvents_InvalidLastEventId_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/events", accountId).header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamEvents_NegativeAfterSequence_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/events", accountId).param("afterSequence", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,138 @@
+package com.cubeia.wallet_focused.controller;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.service.TransactionService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerExportControllerTest {
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TransactionService transactionService;
+
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LedgerExportController controller = new LedgerExportController(transactionService, objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        accountId = UUID.randomUUID();
+    }
+
+    private TransactionEntry entry(long sequence) {
+        TransactionEntry entry = new TransactionEntry(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                new BigDecimal("5.00"), TransactionEntry.Type.CREDIT, Instant.parse("2025-01-01T10:00:00Z"));
+        entry.setSequence(sequence);
+        return entry;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAccount_WritesOneJsonObjectPerLine() throws Exception {
+        int count = LedgerExportController.FLUSH_INTERVAL + 3;
+        when(transactionService.accountExists(accountId)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<TransactionEntry> action = invocation.getArgument(1);
+            for (int i = 1; i <= count; i++) {
+                action.accept(entry(i));
+            }
+            return null;
+        }).when(transactionService).forEachTransaction(eq(accountId), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/accounts/{id}/transactions/export", accountId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("}\n"));
+        String[] lines = body.split("\n");
+        assertEquals(count, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), "Not a bare JSON object line: '" + line + "'");
+        }
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(accountId.toString(), first.get("accountId").asText());
+        assertEquals(1, first.get("sequence").asLong());
+        assertEquals("2025-01-01T10:00:00Z", first.get("timestamp").asText());
+        assertEquals(count, objectMapper.readTree(lines[count - 1]).get("sequence").asLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportAccount_NonExistentAccount_ReturnsStatus404() throws Exception {
+        when(transactionService.accountExists(accountId)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions/export", accountId))
+                .andExpect(status().isNotFound());
+
+        verify(transactionService, never()).forEachTransaction(eq(accountId), any(Consumer.class));
+    }
+
+    @Test
+    void exportAccount_InvalidAccountId_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/not-a-uuid/transactions/export"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void exportLedger_StreamsAllEntries() throws Exception {
+        TransactionEntry first = entry(1);
+        TransactionEntry second = entry(2);
+        doAnswer(invocation -> {
+            Consumer<TransactionEntry> action = invocation.getArgument(0);
+            action.accept(first);
+            action.accept(second);
+            return null;
+        }).when(transactionService).forEachTransaction(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/ledger/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Exactly one JSON object per line, with nothing between the lines
+        assertEquals(objectMapper.writeValueAsString(TransactionEntryDTO.fromModel(first)) + "\n"
+                + objectMapper.writeValueAsString(TransactionEntryDTO.fromModel(second)) + "\n", body);
+    }
+}
@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -130,4 +133,59 @@ class TransactionControllerTest {
         
         verifyNoInteractions(transactionService);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getTransactions_AfterSequence_ReturnsPageFromCursor() throws Exception {
+        transactions.get(1).setSequence(2);
+        when(transactionService.accountExists(accountId)).thenReturn(true);
+        when(transactionService.getTransactionsAfterSequence(accountId, 1L, 50)).thenReturn(List.of(transactions.get(1)));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", accountId)
+                .param("afterSequence", "1")
+                .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].sequence").value(2))
+                .andExpect(jsonPath("$[0].type").value("CREDIT"));
+
+        verify(transactionService).getTransactionsAfterSequence(accountId, 1L, 50);
+        verify(transactionService, never()).getTransactionsByAccount(accountId);
+    }
+
+    @Test
+    void getTransactions_TimeRange_ReturnsEntriesInRange() throws Exception {
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-02T00:00:00Z");
+        when(transactionService.accountExists(accountId)).thenReturn(true);
+        when(transactionService.getTransactionsBetween(accountId, from, to, Integer.MAX_VALUE))
+                .thenReturn(List.of(transactions.get(0)));
+
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", accountId)
+                .param("from", from.toString())
+                .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].transactionId").value(transactionId.toString()));
+
+        verify(transactionService).getTransactionsBetween(accountId, from, to, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void getTransactions_CursorCombinedWithTimeRange_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", accountId)
+                .param("afterSequence", "1")
+                .param("from", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void getTransactions_NonPositiveLimit_ReturnsStatus400() throws Exception {
+        mockMvc.perform(get("/api/v1/accounts/{id}/transactions", accountId)
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).getTransactionsAfterSequence(any(UUID.class), anyLong(), anyInt());
+    }
+}
@@ -2,6 +2,7 @@ package com.cubeia.wallet_focused.controller;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,21 +10,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import com.cubeia.wallet_focused.model.InsufficientFundsException;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferOutcome;
 import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
 import com.cubeia.wallet_focused.service.WalletService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -61,17 +67,29 @@ public class TransferControllerTest {
                 "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
                 transactionId, sourceAccountId, destinationAccountId, amount);
 
-        doNothing().when(walletService).transfer(any(TransferRequest.class));
+        when(walletService.attemptTransferAsync(any(TransferRequest.class))).thenReturn(CompletableFuture.completedFuture(new TransferOutcome.Completed(new TransferResult(transactionId,
+                sourceAccountId, new BalanceSnapshot(7L, new BigDecimal("900.00")),
+                destinationAccountId, new BalanceSnapshot(3L, new BigDecimal("100.00")), false))));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.transactionId").value(transactionId.toString()));
-
-        verify(walletService, times(1)).transfer(any(TransferRequest.class));
+                .andExpect(jsonPath("$.transactionId").value(transactionId.toString()))
+                .andExpect(jsonPath("$.source.accountId").value(sourceAccountId.toString()))
+                .andExpect(jsonPath("$.source.balance").value(900.00))
+                .andExpect(jsonPath("$.source.version").value(7))
+                .andExpect(jsonPath("$.destination.accountId").value(destinationAccountId.toString()))
+                .andExpect(jsonPath("$.destination.balance").value(100.00))
+                .andExpect(jsonPath("$.destination.version").value(3))
+                .andExpect(jsonPath("$.duplicate").value(false));
+
+        verify(walletService, times(1)).attemptTransferAsync(any(TransferRequest.class));
     }
 
     @Test
@@ -101,9 +119,12 @@ public class TransferControllerTest {
                 transactionId, sourceAccountId, destinationAccountId, amount);
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest());
 
         verifyNoInteractions(walletService);
@@ -120,18 +141,21 @@ public class TransferControllerTest {
                 "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
                 transactionId, accountId, accountId, amount);
 
-        doThrow(new IllegalArgumentException("Cannot transfer to same account"))
-                .when(walletService).transfer(any(TransferRequest.class));
+        when(walletService.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new TransferOutcome.Rejected("Cannot transfer to same account")));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error").value("Cannot transfer to same account"));
 
-        verify(walletService, times(1)).transfer(any(TransferRequest.class));
+        verify(walletService, times(1)).attemptTransferAsync(any(TransferRequest.class));
     }
 
     @Test
@@ -146,18 +170,21 @@ public class TransferControllerTest {
                 "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
                 transactionId, sourceAccountId, destinationAccountId, amount);
 
-        doThrow(new InsufficientFundsException("Insufficient funds in source account"))
-                .when(walletService).transfer(any(TransferRequest.class));
+        when(walletService.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(new TransferOutcome.InsufficientFunds(sourceAccountId, BigDecimal.ZERO, amount)));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isConflict())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error").value("Insufficient funds in source account"));
 
-        verify(walletService, times(1)).transfer(any(TransferRequest.class));
+        verify(walletService, times(1)).attemptTransferAsync(any(TransferRequest.class));
     }
 
     @Test
@@ -173,17 +200,20 @@ public class TransferControllerTest {
                 transactionId, sourceAccountId, destinationAccountId, amount);
 
         doThrow(new RuntimeException("Unexpected database error"))
-                .when(walletService).transfer(any(TransferRequest.class));
+                .when(walletService).attemptTransferAsync(any(TransferRequest.class));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isInternalServerError())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.error").value("An unexpected error occurred"));
 
-        verify(walletService, times(1)).transfer(any(TransferRequest.class));
+        verify(walletService, times(1)).attemptTransferAsync(any(TransferRequest.class));
     }
 
     @Test
@@ -201,16 +231,40 @@ public class TransferControllerTest {
                 transactionId, sourceAccountId, destinationAccountId, amount);
 
         // Mock the wallet service behavior to not throw an exception
-        doNothing().when(walletService).transfer(any(TransferRequest.class));
+        when(walletService.attemptTransferAsync(any(TransferRequest.class))).thenReturn(CompletableFuture.completedFuture(new TransferOutcome.Completed(new TransferResult(transactionId,
+                sourceAccountId, BalanceSnapshot.EMPTY, destinationAccountId, BalanceSnapshot.EMPTY, true))));
         
         // Act & Assert - Use the regular endpoint
-        mockMvc.perform(post("/api/v1/accounts/transfer")
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.transactionId").value(transactionId.toString())); // We expect the transactionId to be returned
                 
-        verify(walletService, times(1)).transfer(any(TransferRequest.class));
+        verify(walletService, times(1)).attemptTransferAsync(any(TransferRequest.class));
+    }
+
+    @Test
+    void transfer_FailedFuture_ReturnsStatus500() throws Exception {
+        String requestJson = String.format(
+                "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
+                transactionId, sourceAccountId, destinationAccountId, amount);
+
+        when(walletService.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Simulated failure")));
+
+        MvcResult result = mockMvc.perform(post("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error").value("An unexpected error occurred"));
     }
-} 
\ No newline at end of file
+}
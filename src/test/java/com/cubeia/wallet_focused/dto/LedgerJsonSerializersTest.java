@@ -0,0 +1,107 @@
+package com.cubeia.wallet_focused.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+public class LedgerJsonSerializersTest {
+    private static final UUID FIXED_ID = UUID.fromString("00000000-0000-0001-ff00-00000000000a");
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void testTransactionEntry_MatchesDefaultSerialization() throws Exception {
+        List<Instant> timestamps = List.of(
+                Instant.EPOCH,
+                Instant.parse("2024-02-29T23:59:59Z"),
+                Instant.parse("2024-03-01T00:00:00.100Z"),
+                Instant.parse("2023-01-15T12:34:56.123456Z"),
+                Instant.parse("2023-01-15T12:34:56.000000001Z"),
+                Instant.parse("1969-12-31T23:59:59.999999999Z"),
+                Instant.parse("1900-02-28T01:02:03Z"),
+                Instant.parse("0000-01-01T00:00:00Z"),
+                Instant.parse("9999-12-31T23:59:59.5Z"),
+                Instant.parse("+10000-01-01T00:00:00Z"),
+                Instant.parse("-0001-12-31T23:59:59Z"),
+                Instant.now());
+
+        for (Instant timestamp : timestamps) {
+            TransactionEntryDTO dto = new TransactionEntryDTO(UUID.randomUUID(), FIXED_ID, UUID.randomUUID(),
+                    new BigDecimal("-150.25"), TransactionEntryDTO.Type.DEBIT, timestamp, 42L);
+            assertEquals(defaultJson(dto), mapper.writeValueAsString(dto), timestamp.toString());
+        }
+    }
+
+    @Test
+    public void testTransactionEntry_NullFields() throws Exception {
+        TransactionEntryDTO dto = new TransactionEntryDTO(null, null, null, null, null, null, 0L);
+
+        assertEquals("{\"transactionId\":null,\"accountId\":null,\"counterpartyId\":null,\"amount\":null,"
+                + "\"type\":null,\"timestamp\":null,\"sequence\":0}", mapper.writeValueAsString(dto));
+        assertEquals(defaultJson(dto), mapper.writeValueAsString(dto));
+    }
+
+    @Test
+    public void testAccount_MatchesDefaultSerialization() throws Exception {
+        AccountDTO dto = new AccountDTO(FIXED_ID, new BigDecimal("1E+3"));
+
+        assertEquals("{\"accountId\":\"00000000-0000-0001-ff00-00000000000a\",\"balance\":1E+3}",
+                mapper.writeValueAsString(dto));
+        assertEquals(defaultJson(dto), mapper.writeValueAsString(dto));
+        assertEquals(defaultJson(new AccountDTO(null, null)), mapper.writeValueAsString(new AccountDTO(null, null)));
+    }
+
+    @Test
+    public void testListOfEntries_RoundTrips() throws Exception {
+        List<TransactionEntryDTO> entries = List.of(
+                new TransactionEntryDTO(UUID.randomUUID(), FIXED_ID, UUID.randomUUID(), new BigDecimal("10.00"),
+                        TransactionEntryDTO.Type.CREDIT, Instant.parse("2023-01-15T12:34:56Z"), 1L),
+                new TransactionEntryDTO(UUID.randomUUID(), FIXED_ID, UUID.randomUUID(), new BigDecimal("-5.00"),
+                        TransactionEntryDTO.Type.DEBIT, Instant.parse("2023-01-15T12:35:00.250Z"), 2L));
+
+        String json = mapper.writeValueAsString(entries);
+        TransactionEntryDTO[] read = mapper.readValue(json, TransactionEntryDTO[].class);
+
+        assertEquals(entries, List.of(read));
+    }
+
+    @Test
+    public void testFormatInstant_MatchesIsoInstantAcrossDays() {
+        char[] buffer = new char[30];
+        // Every day boundary from 1600 to 2400, plus an odd time of day, covers all leap-year rules
+        for (long day = -135_140; day <= 157_054; day += 1) {
+            long epochSecond = day * 86_400 + 45_296;
+            int nano = (int) (Math.floorMod(day, 4) * 250_000_000L);
+            int length = LedgerJsonSerializers.formatInstant(buffer, epochSecond, nano);
+            String expected = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(epochSecond, nano));
+            assertEquals(expected, new String(buffer, 0, length));
+        }
+    }
+
+    /**
+     * Serializes with Jackson's default bean serialization, ignoring the custom serializers.
+     */
+    private String defaultJson(Object value) throws Exception {
+        ObjectMapper plain = mapper.copy()
+                .addMixIn(TransactionEntryDTO.class, DefaultSerialization.class)
+                .addMixIn(AccountDTO.class, DefaultSerialization.class);
+        return plain.writeValueAsString(value);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface DefaultSerialization {
+    }
+}
@@ -1,14 +1,22 @@
 package com.cubeia.wallet_focused.dto;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 import com.cubeia.wallet_focused.model.TransferRequest;
 
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
 public class TransferRequestDTOTest {
 
     @Test
@@ -49,4 +57,50 @@ public class TransferRequestDTOTest {
         assertEquals(destinationAccountId, model.getDestinationAccountId());
         assertEquals(amount, model.getAmount());
     }
-} 
\ No newline at end of file
+    
+    @Test
+    public void testValidate_ValidRequest() {
+        TransferRequestDTO dto = new TransferRequestDTO(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("0.01"));
+        
+        assertTrue(dto.validate().isEmpty());
+    }
+    
+    @Test
+    public void testValidate_ReportsEveryInvalidField() {
+        TransferRequestDTO dto = new TransferRequestDTO(null, null, null, null);
+        
+        ValidationErrorDTO errors = dto.validate().orElseThrow();
+        
+        assertEquals(List.of(
+                new ValidationErrorDTO.FieldError("transactionId", "Transaction ID is required"),
+                new ValidationErrorDTO.FieldError("sourceAccountId", "Source account ID is required"),
+                new ValidationErrorDTO.FieldError("destinationAccountId", "Destination account ID is required"),
+                new ValidationErrorDTO.FieldError("amount", "Amount is required")), errors.fieldErrors());
+    }
+    
+    @Test
+    public void testValidate_MatchesBeanValidation() {
+        // The hand-written checks must report the same errors as the annotations for every combination
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        List<UUID> ids = Arrays.asList(null, UUID.randomUUID());
+        List<BigDecimal> amounts = Arrays.asList(null, new BigDecimal("-1.00"), BigDecimal.ZERO, new BigDecimal("0.01"));
+        for (UUID transactionId : ids) {
+            for (UUID sourceAccountId : ids) {
+                for (UUID destinationAccountId : ids) {
+                    for (BigDecimal amount : amounts) {
+                        TransferRequestDTO dto = new TransferRequestDTO(transactionId, sourceAccountId, destinationAccountId, amount);
+                        Set<ValidationErrorDTO.FieldError> expected = validator.validate(dto).stream()
+                                .map(v -> new ValidationErrorDTO.FieldError(v.getPropertyPath().toString(), v.getMessage()))
+                                .collect(Collectors.toSet());
+                        Set<ValidationErrorDTO.FieldError> actual = dto.validate()
+                                .map(errors -> Set.copyOf(errors.fieldErrors()))
+                                .orElse(Set.of());
+                        
+                        assertEquals(expected, actual, dto.toString());
+                    }
+                }
+            }
+        }
+    }
+}
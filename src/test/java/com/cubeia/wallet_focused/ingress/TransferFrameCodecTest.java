@@ -0,0 +1,140 @@
+package com.cubeia.wallet_focused.ingress;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+
+class TransferFrameCodecTest {
+
+    @Test
+    void testRequestRoundTrip() {
+        TransferRequest request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("1234.56"));
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        buffer.position(7);
+
+        TransferFrameCodec.encodeRequest(buffer, request);
+
+        assertEquals(7 + TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH, buffer.position());
+        assertEquals(TransferFrameCodec.REQUEST_LENGTH, buffer.getInt(7));
+        TransferRequest decoded = TransferFrameCodec.decodeRequest(buffer, 7 + TransferFrameCodec.LENGTH_PREFIX,
+                TransferFrameCodec.REQUEST_LENGTH);
+        assertEquals(request.getTransactionId(), decoded.getTransactionId());
+        assertEquals(request.getSourceAccountId(), decoded.getSourceAccountId());
+        assertEquals(request.getDestinationAccountId(), decoded.getDestinationAccountId());
+        assertEquals(request.getAmount(), decoded.getAmount());
+    }
+
+    @Test
+    void testDecodeRejectsInvalidFrames() {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        TransferFrameCodec.encodeRequest(buffer, new TransferRequest(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), BigDecimal.TEN));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> TransferFrameCodec.decodeRequest(buffer, TransferFrameCodec.LENGTH_PREFIX, 10));
+        buffer.put(TransferFrameCodec.LENGTH_PREFIX, (byte) 9);
+        assertThrows(IllegalArgumentException.class, () -> TransferFrameCodec.decodeRequest(buffer,
+                TransferFrameCodec.LENGTH_PREFIX, TransferFrameCodec.REQUEST_LENGTH));
+    }
+
+    @Test
+    void testDecodeRejectsNegativeScale() {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        TransferFrameCodec.encodeRequest(buffer, new TransferRequest(UUID.randomUUID(), UUID.randomUUID(),
+                UUID.randomUUID(), BigDecimal.ONE));
+        // Scale byte of the amount, the last byte of the frame
+        buffer.put(TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH - 1, (byte) -100);
+
+        assertThrows(IllegalArgumentException.class, () -> TransferFrameCodec.decodeRequest(buffer,
+                TransferFrameCodec.LENGTH_PREFIX, TransferFrameCodec.REQUEST_LENGTH));
+    }
+
+    @Test
+    void testEncodeResponseRejectsBalanceScaleOutOfRange() {
+        UUID transactionId = UUID.randomUUID();
+        TransferResult result = new TransferResult(transactionId,
+                UUID.randomUUID(), new BalanceSnapshot(7L, new BigDecimal("900.00")),
+                UUID.randomUUID(), new BalanceSnapshot(3L, new BigDecimal("1e-200")), false);
+
+        assertThrows(ArithmeticException.class, () -> TransferFrameCodec.encodeResponse(ByteBuffer.allocate(128),
+                transactionId, new TransferOutcome.Completed(result)));
+    }
+
+    @Test
+    void testEncodeRequestRejectsOversizedAmount() {
+        TransferRequest request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("1e30").setScale(2));
+
+        assertThrows(ArithmeticException.class, () -> TransferFrameCodec.encodeRequest(ByteBuffer.allocate(128), request));
+    }
+
+    @Test
+    void testCompletedResponseRoundTrip() {
+        UUID transactionId = UUID.randomUUID();
+        TransferResult result = new TransferResult(transactionId,
+                UUID.randomUUID(), new BalanceSnapshot(7L, new BigDecimal("900.00")),
+                UUID.randomUUID(), new BalanceSnapshot(3L, new BigDecimal("100.00")), false);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        TransferFrameCodec.encodeResponse(buffer, transactionId, new TransferOutcome.Completed(result));
+        TransferFrameCodec.Response response = TransferFrameCodec.decodeResponse(buffer, TransferFrameCodec.LENGTH_PREFIX);
+
+        assertEquals(buffer.position() - TransferFrameCodec.LENGTH_PREFIX, buffer.getInt(0));
+        assertEquals(TransferFrameCodec.Status.COMPLETED, response.status());
+        assertEquals(transactionId, response.transactionId());
+        assertEquals(result.source(), response.source());
+        assertEquals(result.destination(), response.destination());
+        assertNull(response.message());
+    }
+
+    @Test
+    void testDuplicateResponse() {
+        UUID transactionId = UUID.randomUUID();
+        TransferResult result = new TransferResult(transactionId, UUID.randomUUID(), BalanceSnapshot.EMPTY,
+                UUID.randomUUID(), BalanceSnapshot.EMPTY, true);
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        TransferFrameCodec.encodeResponse(buffer, transactionId, new TransferOutcome.Completed(result));
+
+        assertEquals(TransferFrameCodec.Status.DUPLICATE,
+                TransferFrameCodec.decodeResponse(buffer, TransferFrameCodec.LENGTH_PREFIX).status());
+    }
+
+    @Test
+    void testErrorResponses() {
+        UUID transactionId = UUID.randomUUID();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        TransferFrameCodec.encodeResponse(buffer, transactionId,
+                new TransferOutcome.InsufficientFunds(UUID.randomUUID(), BigDecimal.ONE, BigDecimal.TEN));
+        int second = buffer.position();
+        TransferFrameCodec.encodeResponse(buffer, transactionId, new TransferOutcome.Rejected("Cannot transfer to same account"));
+        int third = buffer.position();
+        TransferFrameCodec.encodeError(buffer, TransferFrameCodec.Status.MALFORMED, null, "x".repeat(1000));
+
+        TransferFrameCodec.Response insufficient = TransferFrameCodec.decodeResponse(buffer, TransferFrameCodec.LENGTH_PREFIX);
+        assertEquals(TransferFrameCodec.Status.INSUFFICIENT_FUNDS, insufficient.status());
+        assertEquals(TransferOutcome.InsufficientFunds.MESSAGE, insufficient.message());
+        assertNull(insufficient.source());
+
+        TransferFrameCodec.Response rejected = TransferFrameCodec.decodeResponse(buffer, second + TransferFrameCodec.LENGTH_PREFIX);
+        assertEquals(TransferFrameCodec.Status.REJECTED, rejected.status());
+        assertEquals("Cannot transfer to same account", rejected.message());
+
+        TransferFrameCodec.Response malformed = TransferFrameCodec.decodeResponse(buffer, third + TransferFrameCodec.LENGTH_PREFIX);
+        assertEquals(TransferFrameCodec.Status.MALFORMED, malformed.status());
+        assertEquals(new UUID(0L, 0L), malformed.transactionId());
+        assertEquals(256, malformed.message().length());
+    }
+}
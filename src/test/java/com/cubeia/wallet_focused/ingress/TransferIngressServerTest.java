@@ -0,0 +1,281 @@
+package com.cubeia.wallet_focused.ingress;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
+import com.cubeia.wallet_focused.service.WalletService;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class TransferIngressServerTest {
+    private TransferIngressServer server;
+    private Socket socket;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (socket != null) {
+            socket.close();
+        }
+        if (server != null && server.isRunning()) {
+            server.stop();
+        }
+    }
+
+    private void start(WalletService walletService, int maxInFlight) throws IOException {
+        server = new TransferIngressServer(walletService, new InetSocketAddress("localhost", 0), maxInFlight);
+        server.start();
+        socket = new Socket("localhost", server.getPort());
+        socket.setSoTimeout(5000);
+    }
+
+    private void send(List<TransferRequest> requests) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(requests.size()
+                * (TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH));
+        for (TransferRequest request : requests) {
+            TransferFrameCodec.encodeRequest(buffer, request);
+        }
+        OutputStream out = socket.getOutputStream();
+        out.write(buffer.array(), 0, buffer.position());
+        out.flush();
+    }
+
+    private TransferFrameCodec.Response receive() throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        int length = in.readInt();
+        byte[] frame = new byte[TransferFrameCodec.LENGTH_PREFIX + length];
+        in.readFully(frame, TransferFrameCodec.LENGTH_PREFIX, length);
+        return TransferFrameCodec.decodeResponse(ByteBuffer.wrap(frame), TransferFrameCodec.LENGTH_PREFIX);
+    }
+
+    private static TransferOutcome completed(TransferRequest request) {
+        return new TransferOutcome.Completed(new TransferResult(request.getTransactionId(),
+                request.getSourceAccountId(), BalanceSnapshot.EMPTY,
+                request.getDestinationAccountId(), BalanceSnapshot.EMPTY, false));
+    }
+
+    private static TransferRequest request(UUID source, UUID destination, String amount) {
+        return new TransferRequest(UUID.randomUUID(), source, destination, new BigDecimal(amount));
+    }
+
+    @Test
+    void testPipelinedFramesAreAnsweredInOrder() throws Exception {
+        InMemoryWalletRepository repository = new InMemoryWalletRepository();
+        UUID source = UUID.randomUUID();
+        UUID destination = UUID.randomUUID();
+        repository.saveAccount(new Account(source));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), source, source,
+                new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+        start(walletService(repository), 1024);
+
+        List<TransferRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            requests.add(request(source, destination, "1.00"));
+        }
+        requests.add(request(source, source, "1.00"));
+        send(requests);
+
+        for (int i = 0; i < 150; i++) {
+            TransferFrameCodec.Response response = receive();
+            assertEquals(requests.get(i).getTransactionId(), response.transactionId());
+            if (i < 100) {
+                assertEquals(TransferFrameCodec.Status.COMPLETED, response.status());
+                assertEquals(new BalanceSnapshot(i + 2L, new BigDecimal("99.00").subtract(new BigDecimal(i))),
+                        response.source());
+            } else {
+                assertEquals(TransferFrameCodec.Status.INSUFFICIENT_FUNDS, response.status());
+            }
+        }
+        TransferFrameCodec.Response sameAccount = receive();
+        assertEquals(TransferFrameCodec.Status.REJECTED, sameAccount.status());
+        assertEquals("Cannot transfer to same account", sameAccount.message());
+
+        // Resending a completed transfer is answered from the idempotency check
+        send(List.of(requests.get(0)));
+        assertEquals(TransferFrameCodec.Status.DUPLICATE, receive().status());
+    }
+
+    @Test
+    void testResponsesWaitForEarlierFrames() throws Exception {
+        WalletService walletService = mock(WalletService.class);
+        TransferRequest first = request(UUID.randomUUID(), UUID.randomUUID(), "1.00");
+        TransferRequest second = request(UUID.randomUUID(), UUID.randomUUID(), "1.00");
+        CompletableFuture<TransferOutcome> slow = new CompletableFuture<>();
+        when(walletService.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(slow)
+                .thenReturn(CompletableFuture.completedFuture(completed(second)));
+        start(walletService, 1024);
+
+        send(List.of(first, second));
+        socket.setSoTimeout(200);
+        assertThrows(IOException.class, this::receive);
+
+        socket.setSoTimeout(5000);
+        slow.complete(completed(first));
+        assertEquals(first.getTransactionId(), receive().transactionId());
+        assertEquals(second.getTransactionId(), receive().transactionId());
+    }
+
+    @Test
+    void testReadingResumesBelowInFlightLimit() throws Exception {
+        WalletService walletService = mock(WalletService.class);
+        List<CompletableFuture<TransferOutcome>> futures = new ArrayList<>();
+        when(walletService.attemptTransferAsync(any(TransferRequest.class))).thenAnswer(invocation -> {
+            CompletableFuture<TransferOutcome> future = new CompletableFuture<>();
+            futures.add(future);
+            return future;
+        });
+        start(walletService, 2);
+
+        List<TransferRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(request(UUID.randomUUID(), UUID.randomUUID(), "1.00"));
+        }
+        send(requests);
+
+        for (int i = 0; i < requests.size(); i++) {
+            int index = i;
+            waitFor(() -> futures.size() > index);
+            assertTrue(futures.size() <= i + 2, "more transfers submitted than the in-flight limit allows");
+            futures.get(i).complete(completed(requests.get(i)));
+            assertEquals(requests.get(i).getTransactionId(), receive().transactionId());
+        }
+    }
+
+    @Test
+    void testClientThatDoesNotReadStopsBeingRead() throws Exception {
+        WalletService walletService = mock(WalletService.class, withSettings().stubOnly());
+        AtomicInteger submitted = new AtomicInteger();
+        when(walletService.attemptTransferAsync(any(TransferRequest.class))).thenAnswer(invocation -> {
+            submitted.incrementAndGet();
+            return CompletableFuture.completedFuture(completed(invocation.getArgument(0)));
+        });
+        start(walletService, 1024);
+        socket.close();
+        socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", server.getPort()));
+
+        // Far more frames, and far more responses, than socket buffers can hold
+        int frames = 1_000_000;
+        TransferRequest request = request(UUID.randomUUID(), UUID.randomUUID(), "1.00");
+        ByteBuffer chunk = ByteBuffer.allocate(1000 * (TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH));
+        while (chunk.hasRemaining()) {
+            TransferFrameCodec.encodeRequest(chunk, request);
+        }
+        OutputStream out = socket.getOutputStream();
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < frames / 1000; i++) {
+                    out.write(chunk.array());
+                }
+            } catch (IOException e) {
+                // Closed by the test
+            }
+        });
+
+        int previous;
+        do {
+            previous = submitted.get();
+            Thread.sleep(200);
+        } while (submitted.get() != previous);
+
+        assertFalse(writer.isDone(), "the server kept reading frames whose responses were not read");
+        assertTrue(submitted.get() < frames / 2, "submitted " + submitted.get() + " transfers");
+    }
+
+    @Test
+    void testMalformedAndFailedFrames() throws Exception {
+        WalletService walletService = mock(WalletService.class);
+        when(walletService.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Simulated failure")));
+        start(walletService, 1024);
+
+        TransferRequest request = request(UUID.randomUUID(), UUID.randomUUID(), "1.00");
+        ByteBuffer unknownType = ByteBuffer.allocate(TransferFrameCodec.LENGTH_PREFIX + TransferFrameCodec.REQUEST_LENGTH);
+        TransferFrameCodec.encodeRequest(unknownType, request);
+        unknownType.put(TransferFrameCodec.LENGTH_PREFIX, (byte) 42);
+        socket.getOutputStream().write(unknownType.array());
+        send(List.of(request));
+
+        TransferFrameCodec.Response malformed = receive();
+        assertEquals(TransferFrameCodec.Status.MALFORMED, malformed.status());
+        assertEquals("Unknown frame type: 42", malformed.message());
+        TransferFrameCodec.Response failed = receive();
+        assertEquals(TransferFrameCodec.Status.ERROR, failed.status());
+        assertEquals(request.getTransactionId(), failed.transactionId());
+    }
+
+    @Test
+    void testInvalidFrameLengthClosesConnection() throws Exception {
+        start(mock(WalletService.class), 1024);
+
+        socket.getOutputStream().write(ByteBuffer.allocate(4).putInt(1 << 20).array());
+
+        assertThrows(EOFException.class, this::receive);
+    }
+
+    @Test
+    void testHalfClosedConnectionStillGetsResponses() throws Exception {
+        WalletService walletService = mock(WalletService.class);
+        CompletableFuture<TransferOutcome> slow = new CompletableFuture<>();
+        when(walletService.attemptTransferAsync(any(TransferRequest.class))).thenReturn(slow);
+        start(walletService, 1024);
+        TransferRequest request = request(UUID.randomUUID(), UUID.randomUUID(), "1.00");
+
+        send(List.of(request));
+        socket.shutdownOutput();
+        waitFor(() -> slow.getNumberOfDependents() > 0);
+        slow.complete(completed(request));
+
+        assertEquals(request.getTransactionId(), receive().transactionId());
+        assertThrows(EOFException.class, this::receive);
+    }
+
+    @Test
+    void testStop() throws Exception {
+        start(mock(WalletService.class), 1024);
+
+        server.stop();
+
+        assertFalse(server.isRunning());
+        assertThrows(IOException.class, this::receive);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.cubeia.wallet_focused.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.cubeia.wallet_focused.load.Workload.Kind;
+import com.cubeia.wallet_focused.load.Workload.Operation;
+
+/**
+ * Replays a {@link Workload} against a running wallet API on localhost.
+ * <p>
+ * Requests are sent open-loop: each one is started at its scheduled time on its own
+ * virtual thread, whether or not earlier requests have been answered, so a slow
+ * server faces a growing backlog the way it would in production. Latency is measured
+ * from the scheduled time rather than from when the request was actually sent, so
+ * delays in the generator itself count against the server instead of hiding
+ * queueing (coordinated omission). Latencies are recorded per endpoint in
+ * HdrHistograms.
+ */
+public final class LoadGenerator {
+    private static final String ADMIN_ACCOUNT_ID = "00000000-0000-0000-0000-000000000000";
+    private static final int HISTORY_PAGE_SIZE = 100;
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String base;
+
+    /**
+     * Creates a generator for a wallet API on localhost.
+     *
+     * @param port the port the application listens on
+     */
+    public LoadGenerator(int port) {
+        this.base = "http://localhost:" + port + "/api/v1/accounts";
+    }
+
+    /**
+     * Creates the workload's accounts by funding each from the admin account.
+     *
+     * @param workload the workload to prepare for
+     * @param amount the opening balance of every account
+     */
+    public void seed(Workload workload, String amount) throws IOException, InterruptedException {
+        for (UUID account : workload.accounts()) {
+            int status = send(transfer(UUID.randomUUID(), ADMIN_ACCOUNT_ID, account.toString(), amount));
+            if (status != 200) {
+                throw new IllegalStateException("Seeding account " + account + " failed with status " + status);
+            }
+        }
+    }
+
+    /**
+     * Sends every request of the workload at its scheduled time and waits for all
+     * responses.
+     *
+     * @param workload the workload to replay
+     * @return the latencies and errors per endpoint
+     */
+    public Report run(Workload workload) {
+        Map<Kind, Histogram> latencies = new EnumMap<>(Kind.class);
+        Map<Kind, LongAdder> errors = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            latencies.put(kind, new ConcurrentHistogram(3));
+            errors.put(kind, new LongAdder());
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Operation operation : workload.operations()) {
+                long due = start + operation.atMicros() * 1_000;
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                executor.execute(() -> {
+                    int status = sendQuietly(request(workload, operation));
+                    latencies.get(operation.kind()).recordValue(Math.max(0, System.nanoTime() - due));
+                    if (status < 0 || status >= 500) {
+                        errors.get(operation.kind()).increment();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Kind, Long> errorCounts = new EnumMap<>(Kind.class);
+        errors.forEach((kind, count) -> errorCounts.put(kind, count.sum()));
+        return new Report(latencies, errorCounts, seconds);
+    }
+
+    private HttpRequest request(Workload workload, Operation operation) {
+        String source = workload.accounts().get(operation.source()).toString();
+        return switch (operation.kind()) {
+            case BALANCE -> HttpRequest.newBuilder(URI.create(base + "/" + source + "/balance")).GET().build();
+            case HISTORY -> HttpRequest.newBuilder(
+                    URI.create(base + "/" + source + "/transactions?limit=" + HISTORY_PAGE_SIZE)).GET().build();
+            case TRANSFER -> transfer(workload.transactionId(operation), source,
+                    workload.accounts().get(operation.destination()).toString(), "0.01");
+        };
+    }
+
+    private HttpRequest transfer(UUID transactionId, String from, String to, String amount) {
+        String body = String.format(
+                "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
+                transactionId, from, to, amount);
+        return HttpRequest.newBuilder(URI.create(base + "/transfer"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int sendQuietly(HttpRequest request) {
+        try {
+            return send(request);
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Outcome of a run.
+     *
+     * @param latencies the latency histogram of each endpoint, in nanoseconds
+     * @param errors the number of failed requests (5xx or no response) per endpoint
+     * @param seconds the wall-clock duration of the run
+     */
+    public record Report(Map<Kind, Histogram> latencies, Map<Kind, Long> errors, double seconds) {
+        /**
+         * Gets the number of requests sent.
+         *
+         * @return the total over all endpoints
+         */
+        public long requests() {
+            return latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        }
+
+        /**
+         * Gets the number of failed requests.
+         *
+         * @return the total over all endpoints
+         */
+        public long totalErrors() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Prints a summary table with one row per endpoint.
+         *
+         * @param out where to print
+         */
+        public void print(PrintStream out) {
+            out.printf(Locale.ROOT, "%n%-10s %10s %10s %10s %10s %10s %10s %8s%n",
+                    "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            for (Kind kind : Kind.values()) {
+                Histogram histogram = latencies.get(kind);
+                out.printf(Locale.ROOT, "%-10s %10d %10.0f %10.2f %10.2f %10.2f %10.2f %8d%n", kind,
+                        histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                        histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                        histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxValue() / 1e6, errors.get(kind));
+            }
+        }
+
+        /**
+         * Writes each endpoint's full percentile distribution, in milliseconds, as an
+         * {@code .hgrm} file that HdrHistogram's plotter and other tools can read.
+         *
+         * @param directory the directory to write to, created if needed
+         */
+        public void writeHistograms(Path directory) throws IOException {
+            Files.createDirectories(directory);
+            for (Kind kind : Kind.values()) {
+                Path file = directory.resolve(kind.name().toLowerCase(Locale.ROOT) + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                    latencies.get(kind).outputPercentileDistribution(out, 1e6);
+                }
+            }
+        }
+    }
+}
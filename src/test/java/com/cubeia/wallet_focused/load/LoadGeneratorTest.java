@@ -0,0 +1,44 @@
+package com.cubeia.wallet_focused.load;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.cubeia.wallet_focused.load.Workload.Kind;
+import com.cubeia.wallet_focused.load.Workload.Operation;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.cubeia.wallet_focused=WARN")
+public class LoadGeneratorTest {
+    @LocalServerPort
+    private int port;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRun_SendsEveryRequestAndRecordsLatencies() throws Exception {
+        Workload workload = Workload.generate(new WorkloadSpec(300, 1_000, 20, 1.0, 50, 40, 0.2, 3L));
+        LoadGenerator generator = new LoadGenerator(port);
+
+        generator.seed(workload, "10.00");
+        LoadGenerator.Report report = generator.run(workload);
+
+        assertEquals(workload.operations().size(), report.requests());
+        assertEquals(0, report.totalErrors());
+        for (Kind kind : Kind.values()) {
+            long expected = workload.operations().stream().map(Operation::kind).filter(kind::equals).count();
+            assertEquals(expected, report.latencies().get(kind).getTotalCount(), kind.name());
+        }
+        assertTrue(report.seconds() >= 0.9);
+
+        report.writeHistograms(tempDir);
+        assertTrue(Files.readString(tempDir.resolve("transfer.hgrm")).contains("Percentile"));
+    }
+}
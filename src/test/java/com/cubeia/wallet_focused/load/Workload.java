@@ -0,0 +1,236 @@
+package com.cubeia.wallet_focused.load;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A recorded sequence of HTTP requests against the wallet API, each with the time
+ * it is due relative to the start of the run.
+ * <p>
+ * Workloads are generated from a {@link WorkloadSpec} and can be written to and read
+ * back from a compact file, so the same traffic can be replayed against different
+ * builds. The file is a gzip stream of: a magic number, the transaction ID prefix,
+ * the account IDs, and then per request its arrival time as a varint delta in
+ * microseconds, its kind, and the account indexes and transfer number as varints.
+ * A typical request takes two to four bytes.
+ * <p>
+ * Transaction IDs are derived from the prefix and the transfer number, so a replay
+ * into a fresh application produces the same ledger; replaying twice into the same
+ * application turns every transfer into a duplicate.
+ *
+ * @param transactionIdPrefix the most significant bits of every transaction ID
+ * @param accounts the accounts the requests refer to by index
+ * @param operations the requests in arrival order
+ */
+public record Workload(long transactionIdPrefix, List<UUID> accounts, List<Operation> operations) {
+    private static final int MAGIC = 0x574C4431; // "WLD1"
+    // Recent transfers a retry is drawn from
+    private static final int RETRY_WINDOW = 64;
+
+    /**
+     * The endpoint a request goes to.
+     */
+    public enum Kind {
+        /** GET /api/v1/accounts/{id}/balance */
+        BALANCE,
+        /** POST /api/v1/accounts/transfer */
+        TRANSFER,
+        /** GET /api/v1/accounts/{id}/transactions?limit=100 */
+        HISTORY
+    }
+
+    /**
+     * One request.
+     *
+     * @param atMicros when the request is due, in microseconds after the start of the run
+     * @param kind the endpoint
+     * @param source the index of the account read, or of the source account of a transfer
+     * @param destination the index of the destination account of a transfer, otherwise 0
+     * @param transfer the transfer number the transaction ID is derived from, otherwise 0
+     */
+    public record Operation(long atMicros, Kind kind, int source, int destination, long transfer) {}
+
+    /**
+     * Gets the transaction ID of a transfer.
+     *
+     * @param operation a transfer operation
+     * @return the transaction ID
+     */
+    public UUID transactionId(Operation operation) {
+        return new UUID(transactionIdPrefix, operation.transfer());
+    }
+
+    /**
+     * Generates a workload. Arrivals are open-loop: request times follow a Poisson
+     * process at the requested rate, independent of how fast the server answers.
+     *
+     * @param spec the workload parameters
+     * @return the generated workload
+     */
+    public static Workload generate(WorkloadSpec spec) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        List<UUID> accounts = new ArrayList<>(spec.accounts());
+        for (int i = 0; i < spec.accounts(); i++) {
+            accounts.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        double[] popularity = zipfCumulative(spec.accounts(), spec.zipfExponent());
+
+        List<Operation> operations = new ArrayList<>();
+        Operation[] recentTransfers = new Operation[RETRY_WINDOW];
+        long transfers = 0;
+        double meanGapMicros = 1_000_000.0 / spec.ratePerSecond();
+        long endMicros = spec.durationMillis() * 1_000;
+        double time = 0;
+        while (true) {
+            time += -Math.log(1.0 - random.nextDouble()) * meanGapMicros;
+            long at = (long) time;
+            if (at >= endMicros) {
+                break;
+            }
+            int roll = random.nextInt(100);
+            int source = pick(popularity, random);
+            if (roll < spec.balancePercent()) {
+                operations.add(new Operation(at, Kind.BALANCE, source, 0, 0));
+            } else if (roll < spec.balancePercent() + spec.transferPercent()) {
+                if (transfers > 0 && random.nextDouble() < spec.duplicateRatio()) {
+                    Operation original = recentTransfers[random.nextInt((int) Math.min(transfers, RETRY_WINDOW))];
+                    operations.add(new Operation(at, Kind.TRANSFER, original.source(), original.destination(),
+                            original.transfer()));
+                    continue;
+                }
+                int destination;
+                do {
+                    destination = pick(popularity, random);
+                } while (destination == source);
+                Operation transfer = new Operation(at, Kind.TRANSFER, source, destination, ++transfers);
+                recentTransfers[(int) ((transfers - 1) % RETRY_WINDOW)] = transfer;
+                operations.add(transfer);
+            } else {
+                operations.add(new Operation(at, Kind.HISTORY, source, 0, 0));
+            }
+        }
+        return new Workload(random.nextLong(), List.copyOf(accounts), List.copyOf(operations));
+    }
+
+    private static double[] zipfCumulative(int count, double exponent) {
+        double[] cumulative = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    /**
+     * Writes the workload to a file.
+     *
+     * @param file the file to write, replaced if it exists
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file))))) {
+            out.writeInt(MAGIC);
+            out.writeLong(transactionIdPrefix);
+            writeVarint(out, accounts.size());
+            for (UUID account : accounts) {
+                out.writeLong(account.getMostSignificantBits());
+                out.writeLong(account.getLeastSignificantBits());
+            }
+            writeVarint(out, operations.size());
+            long previous = 0;
+            for (Operation operation : operations) {
+                writeVarint(out, operation.atMicros() - previous);
+                previous = operation.atMicros();
+                out.writeByte(operation.kind().ordinal());
+                writeVarint(out, operation.source());
+                if (operation.kind() == Kind.TRANSFER) {
+                    writeVarint(out, operation.destination());
+                    writeVarint(out, operation.transfer());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a workload written by {@link #write(Path)}.
+     *
+     * @param file the file to read
+     * @return the workload
+     * @throws IOException if the file cannot be read or is not a workload file
+     */
+    public static Workload read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a workload file: " + file);
+            }
+            long prefix = in.readLong();
+            int accountCount = (int) readVarint(in);
+            List<UUID> accounts = new ArrayList<>(accountCount);
+            for (int i = 0; i < accountCount; i++) {
+                accounts.add(new UUID(in.readLong(), in.readLong()));
+            }
+            int operationCount = (int) readVarint(in);
+            List<Operation> operations = new ArrayList<>(operationCount);
+            Kind[] kinds = Kind.values();
+            long at = 0;
+            for (int i = 0; i < operationCount; i++) {
+                at += readVarint(in);
+                Kind kind = kinds[in.readUnsignedByte()];
+                int source = (int) readVarint(in);
+                if (kind == Kind.TRANSFER) {
+                    operations.add(new Operation(at, kind, source, (int) readVarint(in), readVarint(in)));
+                } else {
+                    operations.add(new Operation(at, kind, source, 0, 0));
+                }
+            }
+            return new Workload(prefix, List.copyOf(accounts), List.copyOf(operations));
+        }
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new IOException("Truncated workload file");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in workload file");
+    }
+}
@@ -0,0 +1,65 @@
+package com.cubeia.wallet_focused.load;
+
+/**
+ * Parameters for generating a {@link Workload}.
+ *
+ * @param ratePerSecond the mean arrival rate of requests; arrivals follow a Poisson process
+ * @param durationMillis how long the workload runs
+ * @param accounts the number of accounts requests are spread over
+ * @param zipfExponent the skew of account popularity; 0 is uniform, 1 is classic Zipf
+ * @param balancePercent the share of balance reads, in percent
+ * @param transferPercent the share of transfers, in percent; the rest are history reads
+ * @param duplicateRatio the fraction of transfers that are client retries of an earlier transfer
+ * @param seed the random seed, so the same parameters always give the same workload
+ */
+public record WorkloadSpec(
+    double ratePerSecond,
+    long durationMillis,
+    int accounts,
+    double zipfExponent,
+    int balancePercent,
+    int transferPercent,
+    double duplicateRatio,
+    long seed
+) {
+    public WorkloadSpec {
+        if (ratePerSecond <= 0 || durationMillis <= 0 || accounts < 2) {
+            throw new IllegalArgumentException("Rate and duration must be positive and there must be at least 2 accounts");
+        }
+        if (balancePercent < 0 || transferPercent < 0 || balancePercent + transferPercent > 100) {
+            throw new IllegalArgumentException("Balance and transfer shares must add up to at most 100 percent");
+        }
+        if (duplicateRatio < 0 || duplicateRatio > 1) {
+            throw new IllegalArgumentException("Duplicate ratio must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Reads the parameters from {@code load.*} system properties, with defaults for a
+     * short mixed run: 500 requests per second for 10 seconds over 1,000 accounts,
+     * Zipf exponent 1, 70% balance reads, 20% transfers, 10% history reads and 5%
+     * duplicate transfers.
+     *
+     * @return the parameters
+     */
+    public static WorkloadSpec fromSystemProperties() {
+        return new WorkloadSpec(
+                Double.parseDouble(System.getProperty("load.rate", "500")),
+                Long.getLong("load.durationMillis", 10_000L),
+                Integer.getInteger("load.accounts", 1_000),
+                Double.parseDouble(System.getProperty("load.zipfExponent", "1.0")),
+                Integer.getInteger("load.balancePercent", 70),
+                Integer.getInteger("load.transferPercent", 20),
+                Double.parseDouble(System.getProperty("load.duplicateRatio", "0.05")),
+                Long.getLong("load.seed", 42L));
+    }
+
+    /**
+     * Gets the share of history reads, in percent.
+     *
+     * @return the remainder after balance reads and transfers
+     */
+    public int historyPercent() {
+        return 100 - balancePercent - transferPercent;
+    }
+}
@@ -0,0 +1,129 @@
+package com.cubeia.wallet_focused.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cubeia.wallet_focused.load.Workload.Kind;
+import com.cubeia.wallet_focused.load.Workload.Operation;
+
+public class WorkloadTest {
+    private static final WorkloadSpec SPEC = new WorkloadSpec(2_000, 10_000, 500, 1.0, 60, 30, 0.1, 7L);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testGenerate_IsDeterministicForSeed() {
+        assertEquals(Workload.generate(SPEC), Workload.generate(SPEC));
+        assertNotEquals(Workload.generate(SPEC), Workload.generate(
+                new WorkloadSpec(2_000, 10_000, 500, 1.0, 60, 30, 0.1, 8L)));
+    }
+
+    @Test
+    public void testGenerate_ArrivalsFollowRequestedRate() {
+        Workload workload = Workload.generate(SPEC);
+
+        // 20,000 expected arrivals; a Poisson count stays well within 3%
+        int count = workload.operations().size();
+        assertTrue(Math.abs(count - 20_000) < 600, "arrivals: " + count);
+        long previous = 0;
+        for (Operation operation : workload.operations()) {
+            assertTrue(operation.atMicros() >= previous);
+            assertTrue(operation.atMicros() < 10_000_000L);
+            previous = operation.atMicros();
+        }
+    }
+
+    @Test
+    public void testGenerate_MixAndDuplicates() {
+        Workload workload = Workload.generate(SPEC);
+        Map<Kind, Integer> counts = new HashMap<>();
+        Set<Long> seenTransfers = new HashSet<>();
+        Map<Long, Operation> firstTransfer = new HashMap<>();
+        int duplicates = 0;
+        for (Operation operation : workload.operations()) {
+            counts.merge(operation.kind(), 1, Integer::sum);
+            if (operation.kind() == Kind.TRANSFER) {
+                assertNotEquals(operation.source(), operation.destination());
+                if (!seenTransfers.add(operation.transfer())) {
+                    duplicates++;
+                    // A retry repeats the original request exactly
+                    Operation original = firstTransfer.get(operation.transfer());
+                    assertEquals(original.source(), operation.source());
+                    assertEquals(original.destination(), operation.destination());
+                } else {
+                    firstTransfer.put(operation.transfer(), operation);
+                }
+            }
+        }
+
+        double total = workload.operations().size();
+        assertEquals(0.6, counts.get(Kind.BALANCE) / total, 0.02);
+        assertEquals(0.3, counts.get(Kind.TRANSFER) / total, 0.02);
+        assertEquals(0.1, counts.get(Kind.HISTORY) / total, 0.02);
+        assertEquals(0.1, duplicates / (double) counts.get(Kind.TRANSFER), 0.02);
+    }
+
+    @Test
+    public void testGenerate_ZipfianAccounts() {
+        Workload workload = Workload.generate(SPEC);
+        int[] hits = new int[SPEC.accounts()];
+        for (Operation operation : workload.operations()) {
+            hits[operation.source()]++;
+        }
+
+        // With exponent 1 over 500 accounts the most popular account gets about 15% of requests
+        double top = hits[0] / (double) workload.operations().size();
+        assertEquals(0.147, top, 0.02);
+        assertTrue(hits[0] > hits[1] && hits[1] > hits[9] && hits[9] > hits[99]);
+    }
+
+    @Test
+    public void testWriteAndRead_RoundTrip() throws Exception {
+        Workload workload = Workload.generate(SPEC);
+        Path file = tempDir.resolve("workload.wld");
+
+        workload.write(file);
+        Workload read = Workload.read(file);
+
+        assertEquals(workload, read);
+        assertEquals(workload.transactionId(workload.operations().get(0)),
+                read.transactionId(read.operations().get(0)));
+        // Accounts take 16 bytes each; the requests themselves only a few bytes
+        long requestBytes = Files.size(file) - 16L * SPEC.accounts();
+        assertTrue(requestBytes < 4L * workload.operations().size(), "file size: " + Files.size(file));
+    }
+
+    @Test
+    public void testRead_RejectsOtherFiles() throws Exception {
+        Path file = tempDir.resolve("other.wld");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        assertThrows(IOException.class, () -> Workload.read(file));
+    }
+
+    @Test
+    public void testSpec_Validation() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadSpec(0, 1_000, 10, 1.0, 50, 50, 0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadSpec(10, 1_000, 1, 1.0, 50, 50, 0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadSpec(10, 1_000, 10, 1.0, 60, 50, 0, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadSpec(10, 1_000, 10, 1.0, 50, 50, 1.5, 1L));
+        assertEquals(20, new WorkloadSpec(10, 1_000, 10, 1.0, 50, 30, 0, 1L).historyPercent());
+    }
+}
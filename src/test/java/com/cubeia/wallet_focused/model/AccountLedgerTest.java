@@ -0,0 +1,133 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AccountLedgerTest {
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    private UUID accountId;
+    private AccountLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        ledger = new AccountLedger(accountId);
+    }
+
+    private TransactionEntry entryAt(Instant timestamp) {
+        return new TransactionEntry(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                new BigDecimal("10.00"), TransactionEntry.Type.CREDIT, timestamp);
+    }
+
+    @Test
+    void testAppendAssignsConsecutiveSequenceNumbers() {
+        for (int i = 0; i < 20; i++) {
+            TransactionEntry entry = entryAt(START.plusSeconds(i));
+            assertEquals(i + 1L, ledger.append(entry));
+            assertEquals(i + 1L, entry.getSequence());
+        }
+        assertEquals(20, ledger.size());
+        assertEquals(20, ledger.entries().size());
+        assertEquals(new BalanceSnapshot(20L, new BigDecimal("200.00")), ledger.balance());
+    }
+
+    @Test
+    void testEntriesAfterSequence() {
+        for (int i = 0; i < 10; i++) {
+            ledger.append(entryAt(START.plusSeconds(i)));
+        }
+
+        List<TransactionEntry> page = ledger.entriesAfter(4, 3);
+        assertEquals(3, page.size());
+        assertEquals(5L, page.get(0).getSequence());
+        assertEquals(7L, page.get(2).getSequence());
+
+        assertEquals(10, ledger.entriesAfter(0, Integer.MAX_VALUE).size());
+        assertTrue(ledger.entriesAfter(10, 5).isEmpty());
+        assertTrue(ledger.entriesAfter(50, 5).isEmpty());
+    }
+
+    @Test
+    void testEntriesBetweenUsesHalfOpenInterval() {
+        for (int i = 0; i < 10; i++) {
+            ledger.append(entryAt(START.plusSeconds(i)));
+        }
+
+        List<TransactionEntry> range = ledger.entriesBetween(START.plusSeconds(2), START.plusSeconds(5), Integer.MAX_VALUE);
+        assertEquals(3, range.size());
+        assertEquals(3L, range.get(0).getSequence());
+        assertEquals(5L, range.get(2).getSequence());
+
+        assertEquals(8, ledger.entriesBetween(START.plusSeconds(2), null, Integer.MAX_VALUE).size());
+        assertEquals(2, ledger.entriesBetween(null, START.plusSeconds(2), Integer.MAX_VALUE).size());
+        assertEquals(2, ledger.entriesBetween(START, null, 2).size());
+        assertTrue(ledger.entriesBetween(START.plusSeconds(20), null, Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void testEntriesBetweenWithBackDatedEntries() {
+        ledger.append(entryAt(START.plusSeconds(5)));
+        ledger.append(entryAt(START.plusSeconds(1)));
+        ledger.append(entryAt(START.plusSeconds(3)));
+
+        List<TransactionEntry> range = ledger.entriesBetween(START, START.plusSeconds(4), Integer.MAX_VALUE);
+        assertEquals(2, range.size());
+        assertEquals(2L, range.get(0).getSequence());
+        assertEquals(3L, range.get(1).getSequence());
+    }
+
+    @Test
+    void testBalanceAsOfMatchesReplayAcrossCheckpoints() {
+        int count = AccountLedger.CHECKPOINT_INTERVAL * 3 + 7;
+        for (int i = 0; i < count; i++) {
+            TransactionEntry.Type type = i % 3 == 0 ? TransactionEntry.Type.DEBIT : TransactionEntry.Type.CREDIT;
+            ledger.append(new TransactionEntry(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                    new BigDecimal(i + 1), type, START.plusSeconds(i)));
+        }
+
+        for (int i = -1; i < count + 1; i++) {
+            Instant asOf = START.plusSeconds(i);
+            BigDecimal expected = BigDecimal.ZERO;
+            for (TransactionEntry entry : ledger.entries()) {
+                if (!entry.getTimestamp().isAfter(asOf)) {
+                    expected = entry.getType() == TransactionEntry.Type.CREDIT
+                            ? expected.add(entry.getAmount())
+                            : expected.subtract(entry.getAmount());
+                }
+            }
+            assertEquals(expected, ledger.balanceAsOf(asOf), "balance as of " + asOf);
+        }
+    }
+
+    @Test
+    void testBalanceAsOfWithBackDatedEntries() {
+        ledger.append(entryAt(START.plusSeconds(5)));
+        ledger.append(entryAt(START.plusSeconds(1)));
+
+        assertEquals(BigDecimal.ZERO, ledger.balanceAsOf(START));
+        assertEquals(new BigDecimal("10.00"), ledger.balanceAsOf(START.plusSeconds(1)));
+        assertEquals(new BigDecimal("20.00"), ledger.balanceAsOf(START.plusSeconds(5)));
+    }
+
+    @Test
+    void testBalanceAtSequence() {
+        int count = AccountLedger.CHECKPOINT_INTERVAL * 2 + 5;
+        for (int i = 0; i < count; i++) {
+            ledger.append(entryAt(START.plusSeconds(i)));
+        }
+
+        assertEquals(BigDecimal.ZERO, ledger.balanceAt(0));
+        assertEquals(new BigDecimal("10.00"), ledger.balanceAt(1));
+        assertEquals(new BigDecimal("640.00"), ledger.balanceAt(AccountLedger.CHECKPOINT_INTERVAL));
+        assertEquals(new BigDecimal("1330.00"), ledger.balanceAt(count));
+        assertEquals(ledger.balance().balance(), ledger.balanceAt(count + 10));
+    }
+}
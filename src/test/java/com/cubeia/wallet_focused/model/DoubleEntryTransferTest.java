@@ -15,7 +15,7 @@ import com.cubeia.wallet_focused.service.AccountService;
 import com.cubeia.wallet_focused.service.AccountServiceImpl;
 import static com.cubeia.wallet_focused.service.TestConstants.SYSTEM_ACCOUNT_ID;
 import com.cubeia.wallet_focused.service.WalletService;
-import com.cubeia.wallet_focused.service.WalletServiceImpl;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
 
 class DoubleEntryTransferTest {
     private WalletRepository repo;
@@ -28,7 +28,7 @@ class DoubleEntryTransferTest {
     void setUp() {
         repo = new InMemoryWalletRepository();
         accountService = new AccountServiceImpl(repo);
-        walletService = new WalletServiceImpl(repo, accountService);
+        walletService = walletService(repo);
         
         // Create system account with initial funds
         repo.saveAccount(new Account(SYSTEM_ACCOUNT_ID));
@@ -0,0 +1,162 @@
+package com.cubeia.wallet_focused.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.model.LedgerFootprint.Bucket;
+import com.cubeia.wallet_focused.model.LedgerFootprint.LargeAccount;
+import com.cubeia.wallet_focused.model.LedgerFootprint.Section;
+import com.cubeia.wallet_focused.model.LedgerFootprint.Snapshot;
+
+class LedgerFootprintTest {
+    private InMemoryWalletRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWalletRepository();
+    }
+
+    private void append(UUID accountId, int count) {
+        for (int i = 0; i < count; i++) {
+            repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountId, accountId,
+                    BigDecimal.ONE, TransactionEntry.Type.CREDIT, Instant.now()));
+        }
+    }
+
+    private static long bucketAccounts(Snapshot snapshot, long minEntries) {
+        return snapshot.entriesPerAccount().stream()
+                .filter(bucket -> bucket.minEntries() == minEntries)
+                .mapToLong(Bucket::accounts)
+                .sum();
+    }
+
+    @Test
+    void testEmptyRepository() {
+        Snapshot snapshot = repository.footprint();
+
+        assertEquals(new Section(0, 0), snapshot.accounts());
+        assertEquals(new Section(0, 0), snapshot.entries());
+        assertEquals(0, snapshot.totalBytes());
+        assertTrue(snapshot.entriesPerAccount().isEmpty());
+        assertTrue(snapshot.largestAccounts().isEmpty());
+    }
+
+    @Test
+    void testCounts() {
+        UUID accountId = UUID.randomUUID();
+        repository.saveAccount(new Account(accountId));
+        repository.saveAccount(new Account(accountId));
+        repository.saveAccount(new Account(UUID.randomUUID()));
+        append(accountId, 3);
+        UUID transactionId = UUID.randomUUID();
+        repository.markTransactionProcessed(transactionId);
+        repository.markTransactionProcessed(transactionId);
+
+        Snapshot snapshot = repository.footprint();
+
+        assertEquals(new Section(2, 2 * LedgerFootprint.ACCOUNT_BYTES), snapshot.accounts());
+        assertEquals(new Section(3, 3 * LedgerFootprint.ENTRY_BYTES), snapshot.entries());
+        assertEquals(new Section(1, AccountLedger.estimatedBytes(3)), snapshot.accountLogs());
+        assertEquals(new Section(1, LedgerFootprint.IDEMPOTENCY_KEY_BYTES), snapshot.idempotencyKeys());
+        assertEquals(snapshot.accounts().bytes() + snapshot.entries().bytes() + snapshot.accountLogs().bytes()
+                + snapshot.idempotencyKeys().bytes(), snapshot.totalBytes());
+    }
+
+    @Test
+    void testAdminAccount_Counted() {
+        repository.initializeAdminAccountIfNeeded();
+
+        Snapshot snapshot = repository.footprint();
+
+        assertEquals(1, snapshot.accounts().count());
+        assertEquals(1, snapshot.entries().count());
+        assertEquals(1, snapshot.idempotencyKeys().count());
+    }
+
+    @Test
+    void testEntriesPerAccount_PowerOfTwoBuckets() {
+        append(UUID.randomUUID(), 1);
+        append(UUID.randomUUID(), 2);
+        append(UUID.randomUUID(), 3);
+        append(UUID.randomUUID(), 4);
+        append(UUID.randomUUID(), 100);
+
+        Snapshot snapshot = repository.footprint();
+
+        assertEquals(List.of(new Bucket(1, 1, 1), new Bucket(2, 3, 2), new Bucket(4, 7, 1), new Bucket(64, 127, 1)),
+                snapshot.entriesPerAccount());
+    }
+
+    @Test
+    void testLargestAccounts() {
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            UUID accountId = UUID.randomUUID();
+            accountIds.add(accountId);
+            append(accountId, i);
+        }
+        // The smallest account outgrows all others
+        append(accountIds.get(0), 99);
+
+        List<LargeAccount> largest = repository.footprint().largestAccounts();
+
+        assertEquals(LedgerFootprint.LARGEST_ACCOUNTS, largest.size());
+        assertEquals(new LargeAccount(accountIds.get(0), 100,
+                AccountLedger.estimatedBytes(100) + 100 * LedgerFootprint.ENTRY_BYTES), largest.get(0));
+        assertEquals(List.of(30, 29, 28, 27, 26, 25, 24, 23, 22),
+                largest.subList(1, largest.size()).stream().map(LargeAccount::entries).toList());
+    }
+
+    @Test
+    void testLogBytes_FollowArrayGrowth() {
+        long empty = AccountLedger.estimatedBytes(0);
+
+        assertEquals(empty, AccountLedger.estimatedBytes(8));
+        // Entry array doubles from 8 to 16 references
+        assertEquals(empty + 32, AccountLedger.estimatedBytes(9));
+        assertEquals(empty + 32, AccountLedger.estimatedBytes(16));
+        // First checkpoint balance after 64 entries
+        assertEquals(AccountLedger.estimatedBytes(63) + 40, AccountLedger.estimatedBytes(64));
+        // Checkpoint array doubles when the ninth checkpoint is recorded
+        assertEquals(AccountLedger.estimatedBytes(8 * 64 - 1) + 40 + 32, AccountLedger.estimatedBytes(8 * 64));
+    }
+
+    @Test
+    void testConcurrentAppends_Consistent() throws Exception {
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            accountIds.add(UUID.randomUUID());
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 16; t++) {
+                executor.submit(() -> {
+                    for (UUID accountId : accountIds) {
+                        append(accountId, 125);
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        Snapshot snapshot = repository.footprint();
+
+        assertEquals(16_000, snapshot.entries().count());
+        assertEquals(8, snapshot.accountLogs().count());
+        assertEquals(8 * AccountLedger.estimatedBytes(2_000), snapshot.accountLogs().bytes());
+        assertEquals(8, bucketAccounts(snapshot, 1024));
+        assertEquals(1, snapshot.entriesPerAccount().size());
+        assertEquals(8, snapshot.largestAccounts().size());
+    }
+}
@@ -2,6 +2,7 @@ package com.cubeia.wallet_focused.model;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -72,6 +73,36 @@ class WalletRepositoryTest {
         assertEquals(entry.getTransactionId(), txs.get(0).getTransactionId());
     }
 
+    @Test
+    void testForEachTransaction() {
+        UUID accountA = UUID.randomUUID();
+        UUID accountB = UUID.randomUUID();
+        repo.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountA, accountB,
+            new BigDecimal("1.00"), TransactionEntry.Type.DEBIT, Instant.now()));
+        repo.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountB, accountA,
+            new BigDecimal("1.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+        repo.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountA, accountB,
+            new BigDecimal("2.00"), TransactionEntry.Type.DEBIT, Instant.now()));
+        
+        List<TransactionEntry> accountEntries = new ArrayList<>();
+        repo.forEachTransaction(accountA, accountEntries::add);
+        assertEquals(2, accountEntries.size());
+        assertEquals(2L, accountEntries.get(1).getSequence());
+        
+        List<TransactionEntry> allEntries = new ArrayList<>();
+        repo.forEachTransaction(allEntries::add);
+        assertEquals(3, allEntries.size());
+    }
+
+    @Test
+    void testFindBalanceOfAccountWithoutEntries() {
+        UUID accountId = UUID.randomUUID();
+        assertEquals(null, repo.findBalance(accountId));
+        
+        repo.saveAccount(new Account(accountId));
+        assertEquals(BalanceSnapshot.EMPTY, repo.findBalance(accountId));
+    }
+
     @Test
     void testMarkTransactionProcessed() {
         UUID txId = UUID.randomUUID();
@@ -79,4 +110,36 @@ class WalletRepositoryTest {
         repo.markTransactionProcessed(txId);
         assertTrue(repo.isTransactionProcessed(txId));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testFindTransactionsAfterSequenceAndBetween() {
+        UUID accountId = UUID.randomUUID();
+        repo.saveAccount(new Account(accountId));
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            repo.saveTransaction(new TransactionEntry(
+                UUID.randomUUID(),
+                accountId,
+                UUID.randomUUID(),
+                new BigDecimal("10.00"),
+                TransactionEntry.Type.CREDIT,
+                start.plusSeconds(i)
+            ));
+        }
+        
+        List<TransactionEntry> afterTwo = repo.findTransactionsAfterSequence(accountId, 2, 10);
+        assertEquals(3, afterTwo.size());
+        assertEquals(3L, afterTwo.get(0).getSequence());
+        
+        List<TransactionEntry> range = repo.findTransactionsBetween(accountId, start.plusSeconds(1), start.plusSeconds(3), 10);
+        assertEquals(2, range.size());
+        assertEquals(2L, range.get(0).getSequence());
+        
+        assertEquals(new BigDecimal("30.00"), repo.findBalanceAsOf(accountId, start.plusSeconds(2)));
+        assertEquals(new BalanceSnapshot(5L, new BigDecimal("50.00")), repo.findBalance(accountId));
+        assertEquals(BigDecimal.ZERO, repo.findBalanceAsOf(UUID.randomUUID(), start));
+        
+        assertTrue(repo.findTransactionsAfterSequence(UUID.randomUUID(), 0, 10).isEmpty());
+        assertTrue(repo.findTransactionsBetween(UUID.randomUUID(), null, null, 10).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+package com.cubeia.wallet_focused.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Named performance measurements, as stored in the checked-in baseline and written
+ * by each run of the performance gate.
+ * <p>
+ * Every metric records whether higher or lower values are better. A metric regresses
+ * when it moves in the wrong direction by more than its tolerance, a fraction of the
+ * baseline value; the tolerance comes from the baseline entry if it has one and from
+ * the gate's default otherwise. Metrics in the baseline that were not measured count
+ * as regressions, so a gate cannot pass by silently dropping a benchmark.
+ *
+ * @param metrics the measurements by name, in reporting order
+ */
+public record PerfResults(Map<String, Metric> metrics) {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public PerfResults {
+        metrics = new LinkedHashMap<>(metrics);
+    }
+
+    /**
+     * Which direction of change is an improvement.
+     */
+    public enum Direction { HIGHER, LOWER }
+
+    /**
+     * One measurement.
+     *
+     * @param value the measured value
+     * @param better whether higher or lower values are better
+     * @param tolerance the allowed relative change in the wrong direction, or null for the gate's default
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Metric(double value, Direction better, Double tolerance) {
+        public Metric(double value, Direction better) {
+            this(value, better, null);
+        }
+    }
+
+    /**
+     * Result of comparing one metric with the baseline.
+     */
+    public enum Status { OK, REGRESSED, MISSING, NEW }
+
+    /**
+     * One metric compared with its baseline.
+     *
+     * @param name the metric name
+     * @param baseline the baseline value, NaN for a new metric
+     * @param current the measured value, NaN for a missing metric
+     * @param tolerance the tolerance applied
+     * @param status the outcome
+     */
+    public record Comparison(String name, double baseline, double current, double tolerance, Status status) {
+        /**
+         * Gets the relative change from the baseline.
+         *
+         * @return the change as a fraction of the baseline, NaN if either value is missing
+         */
+        public double change() {
+            return (current - baseline) / baseline;
+        }
+    }
+
+    /**
+     * Compares these results with a baseline.
+     *
+     * @param baseline the baseline results
+     * @param defaultTolerance the tolerance for metrics whose baseline entry has none
+     * @return one comparison per metric, baseline metrics first
+     */
+    public List<Comparison> compareTo(PerfResults baseline, double defaultTolerance) {
+        List<Comparison> comparisons = new ArrayList<>();
+        baseline.metrics().forEach((name, expected) -> {
+            double tolerance = expected.tolerance() != null ? expected.tolerance() : defaultTolerance;
+            Metric actual = metrics.get(name);
+            if (actual == null) {
+                comparisons.add(new Comparison(name, expected.value(), Double.NaN, tolerance, Status.MISSING));
+                return;
+            }
+            boolean regressed = expected.better() == Direction.HIGHER
+                    ? actual.value() < expected.value() * (1 - tolerance)
+                    : actual.value() > expected.value() * (1 + tolerance);
+            comparisons.add(new Comparison(name, expected.value(), actual.value(), tolerance,
+                    regressed ? Status.REGRESSED : Status.OK));
+        });
+        metrics.forEach((name, actual) -> {
+            if (!baseline.metrics().containsKey(name)) {
+                comparisons.add(new Comparison(name, Double.NaN, actual.value(), defaultTolerance, Status.NEW));
+            }
+        });
+        return comparisons;
+    }
+
+    /**
+     * Creates a new baseline from these results, keeping the per-metric tolerances of
+     * an existing baseline.
+     *
+     * @param previous the baseline being replaced
+     * @return the new baseline
+     */
+    public PerfResults asBaseline(PerfResults previous) {
+        Map<String, Metric> updated = new LinkedHashMap<>();
+        metrics.forEach((name, metric) -> {
+            Metric old = previous.metrics().get(name);
+            updated.put(name, new Metric(metric.value(), metric.better(), old != null ? old.tolerance() : null));
+        });
+        return new PerfResults(updated);
+    }
+
+    /**
+     * Reads results from a JSON file.
+     *
+     * @param file the file to read
+     * @return the results
+     */
+    public static PerfResults read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), PerfResults.class);
+    }
+
+    /**
+     * Writes the results to a JSON file, creating parent directories as needed.
+     *
+     * @param file the file to write
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,97 @@
+package com.cubeia.wallet_focused.perf;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cubeia.wallet_focused.perf.PerfResults.Comparison;
+import com.cubeia.wallet_focused.perf.PerfResults.Direction;
+import com.cubeia.wallet_focused.perf.PerfResults.Metric;
+import com.cubeia.wallet_focused.perf.PerfResults.Status;
+
+public class PerfResultsTest {
+    @TempDir
+    Path tempDir;
+
+    private static PerfResults results(Object... entries) {
+        Map<String, Metric> metrics = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            metrics.put((String) entries[i], (Metric) entries[i + 1]);
+        }
+        return new PerfResults(metrics);
+    }
+
+    @Test
+    public void testCompare_HigherIsBetter() {
+        PerfResults baseline = results("ops", new Metric(1000, Direction.HIGHER));
+
+        assertEquals(Status.OK, results("ops", new Metric(801, Direction.HIGHER)).compareTo(baseline, 0.2).get(0).status());
+        assertEquals(Status.OK, results("ops", new Metric(5000, Direction.HIGHER)).compareTo(baseline, 0.2).get(0).status());
+        assertEquals(Status.REGRESSED, results("ops", new Metric(799, Direction.HIGHER)).compareTo(baseline, 0.2).get(0).status());
+    }
+
+    @Test
+    public void testCompare_LowerIsBetter() {
+        PerfResults baseline = results("p99", new Metric(10, Direction.LOWER));
+
+        assertEquals(Status.OK, results("p99", new Metric(11.9, Direction.LOWER)).compareTo(baseline, 0.2).get(0).status());
+        assertEquals(Status.OK, results("p99", new Metric(1, Direction.LOWER)).compareTo(baseline, 0.2).get(0).status());
+        Comparison regressed = results("p99", new Metric(12.5, Direction.LOWER)).compareTo(baseline, 0.2).get(0);
+        assertEquals(Status.REGRESSED, regressed.status());
+        assertEquals(0.25, regressed.change(), 1e-9);
+    }
+
+    @Test
+    public void testCompare_PerMetricToleranceOverridesDefault() {
+        PerfResults baseline = results("p99", new Metric(10, Direction.LOWER, 1.0));
+
+        Comparison comparison = results("p99", new Metric(19, Direction.LOWER)).compareTo(baseline, 0.2).get(0);
+
+        assertEquals(Status.OK, comparison.status());
+        assertEquals(1.0, comparison.tolerance());
+    }
+
+    @Test
+    public void testCompare_MissingAndNewMetrics() {
+        PerfResults baseline = results("kept", new Metric(1, Direction.LOWER), "dropped", new Metric(1, Direction.LOWER));
+        PerfResults current = results("kept", new Metric(1, Direction.LOWER), "added", new Metric(1, Direction.LOWER));
+
+        List<Comparison> comparisons = current.compareTo(baseline, 0.2);
+
+        assertEquals(List.of("kept", "dropped", "added"), comparisons.stream().map(Comparison::name).toList());
+        assertEquals(List.of(Status.OK, Status.MISSING, Status.NEW),
+                comparisons.stream().map(Comparison::status).toList());
+    }
+
+    @Test
+    public void testAsBaseline_KeepsTolerances() {
+        PerfResults previous = results("p99", new Metric(10, Direction.LOWER, 0.5));
+        PerfResults current = results("p99", new Metric(8, Direction.LOWER), "ops", new Metric(100, Direction.HIGHER));
+
+        PerfResults baseline = current.asBaseline(previous);
+
+        assertEquals(new Metric(8, Direction.LOWER, 0.5), baseline.metrics().get("p99"));
+        assertNull(baseline.metrics().get("ops").tolerance());
+    }
+
+    @Test
+    public void testWriteAndRead_RoundTrip() throws Exception {
+        PerfResults results = results("a", new Metric(1.5, Direction.HIGHER), "b", new Metric(2, Direction.LOWER, 0.4));
+        Path file = tempDir.resolve("nested/results.json");
+
+        results.write(file);
+        PerfResults read = PerfResults.read(file);
+
+        assertEquals(results, read);
+        assertEquals(List.of("a", "b"), List.copyOf(read.metrics().keySet()));
+        assertTrue(Files.readString(file).contains("\"better\" : \"LOWER\""));
+    }
+}
@@ -0,0 +1,77 @@
+package com.cubeia.wallet_focused.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class AccountLockTest {
+
+    @Test
+    void testFreeLockIsAcquiredImmediately() {
+        AccountLock lock = new AccountLock();
+
+        assertTrue(lock.acquire().isDone());
+        assertEquals(0, lock.queueLength());
+    }
+
+    @Test
+    void testWaitersAreServedInFifoOrder() {
+        AccountLock lock = new AccountLock();
+        lock.acquire();
+        CompletableFuture<Void> first = lock.acquire();
+        CompletableFuture<Void> second = lock.acquire();
+        assertEquals(2, lock.queueLength());
+        assertFalse(first.isDone());
+
+        lock.release();
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+
+        // A newcomer queues behind the existing waiter instead of overtaking it
+        CompletableFuture<Void> third = lock.acquire();
+        lock.release();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+
+        lock.release();
+        assertTrue(third.isDone());
+        lock.release();
+        assertTrue(lock.acquire().isDone());
+    }
+
+    @Test
+    void testMutualExclusion() throws Exception {
+        AccountLock lock = new AccountLock();
+        int[] counter = new int[1];
+        int tasks = 200;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            futures.add(executor.submit(() -> {
+                lock.acquire().join();
+                try {
+                    for (int j = 0; j < 100; j++) {
+                        counter[0]++;
+                    }
+                } finally {
+                    lock.release();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(tasks * 100, counter[0]);
+    }
+}
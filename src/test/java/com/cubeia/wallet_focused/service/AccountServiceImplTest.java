@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +20,7 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.model.EntityNotFoundException;
 import com.cubeia.wallet_focused.model.TransactionEntry;
 import com.cubeia.wallet_focused.model.WalletRepository;
@@ -130,4 +132,62 @@ public class AccountServiceImplTest {
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> accountService.calculateBalance(accountId));
     }
-} 
\ No newline at end of file
+
+    @Test
+    public void testCalculateBalanceAsOf_WhenAccountExists() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        Instant asOf = Instant.parse("2025-01-01T23:59:00Z");
+        
+        when(repository.findAccount(accountId)).thenReturn(new Account(accountId));
+        when(repository.findBalanceAsOf(accountId, asOf)).thenReturn(new BigDecimal("42.00"));
+        
+        // Act
+        BigDecimal balance = accountService.calculateBalanceAsOf(accountId, asOf);
+        
+        // Assert
+        assertEquals(new BigDecimal("42.00"), balance);
+    }
+    
+    @Test
+    public void testCalculateBalanceAsOf_WhenAccountDoesNotExist() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        
+        when(repository.findAccount(accountId)).thenReturn(null);
+        
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> accountService.calculateBalanceAsOf(accountId, Instant.now()));
+    }
+
+    @Test
+    public void testGetBalances_ReadsProjectionAndSkipsUnknownAccounts() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        UUID unknownAccountId = UUID.randomUUID();
+        
+        when(repository.findBalance(accountId)).thenReturn(new BalanceSnapshot(3L, new BigDecimal("15.00")));
+        when(repository.findBalance(unknownAccountId)).thenReturn(null);
+        
+        // Act
+        Map<UUID, BigDecimal> balances = accountService.getBalances(List.of(accountId, unknownAccountId));
+        
+        // Assert
+        assertEquals(Map.of(accountId, new BigDecimal("15.00")), balances);
+    }
+
+    @Test
+    public void testGetBalanceSnapshot_ReturnsProjection() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        UUID unknownAccountId = UUID.randomUUID();
+        
+        BalanceSnapshot snapshot = new BalanceSnapshot(7L, new BigDecimal("15.00"));
+        when(repository.findBalance(accountId)).thenReturn(snapshot);
+        when(repository.findBalance(unknownAccountId)).thenReturn(null);
+        
+        // Act & Assert
+        assertEquals(Optional.of(snapshot), accountService.getBalanceSnapshot(accountId));
+        assertEquals(Optional.empty(), accountService.getBalanceSnapshot(unknownAccountId));
+    }
+}
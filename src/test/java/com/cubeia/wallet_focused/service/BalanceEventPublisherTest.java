@@ -0,0 +1,140 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceChangeEvent;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class BalanceEventPublisherTest {
+    private InMemoryWalletRepository repository;
+    private BalanceEventPublisher publisher;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWalletRepository();
+        publisher = new BalanceEventPublisher(repository);
+        accountId = UUID.randomUUID();
+        repository.saveAccount(new Account(accountId));
+    }
+
+    private TransactionEntry credit(String amount) {
+        TransactionEntry entry = new TransactionEntry(UUID.randomUUID(), accountId, UUID.randomUUID(),
+                new BigDecimal(amount), TransactionEntry.Type.CREDIT, Instant.now());
+        repository.saveTransaction(entry);
+        return entry;
+    }
+
+    @Test
+    void testPublishDeliversToSubscribersOfTheAccountOnly() {
+        List<BalanceChangeEvent> received = new ArrayList<>();
+        List<BalanceChangeEvent> other = new ArrayList<>();
+        publisher.subscribe(accountId, received::add);
+        publisher.subscribe(UUID.randomUUID(), other::add);
+
+        BalanceChangeEvent event = BalanceChangeEvent.of(credit("10.00"), new BigDecimal("10.00"));
+        publisher.publish(event);
+
+        assertEquals(List.of(event), received);
+        assertTrue(other.isEmpty());
+    }
+
+    @Test
+    void testCancelRemovesSubscriber() {
+        List<BalanceChangeEvent> received = new ArrayList<>();
+        BalanceEventPublisher.Subscription subscription = publisher.subscribe(accountId, received::add);
+        assertTrue(publisher.hasSubscribers(accountId));
+
+        subscription.cancel();
+        subscription.cancel();
+
+        assertFalse(publisher.hasSubscribers(accountId));
+        publisher.publish(BalanceChangeEvent.of(credit("10.00"), new BigDecimal("10.00")));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void testFailingListenerDoesNotAffectOthers() {
+        List<BalanceChangeEvent> received = new ArrayList<>();
+        publisher.subscribe(accountId, event -> {
+            throw new IllegalStateException("listener failure");
+        });
+        publisher.subscribe(accountId, received::add);
+
+        publisher.publish(BalanceChangeEvent.of(credit("10.00"), new BigDecimal("10.00")));
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    void testReplayRebuildsBalancesAfterSequence() {
+        int count = 2500;
+        for (int i = 0; i < count; i++) {
+            credit("1.00");
+        }
+
+        List<BalanceChangeEvent> replayed = new ArrayList<>();
+        long last = publisher.replay(accountId, 100, replayed::add);
+
+        assertEquals(count, last);
+        assertEquals(count - 100, replayed.size());
+        assertEquals(101L, replayed.get(0).sequence());
+        assertEquals(new BigDecimal("101.00"), replayed.get(0).balance());
+        assertEquals(new BigDecimal("2500.00"), replayed.get(replayed.size() - 1).balance());
+    }
+
+    @Test
+    void testReplayWithNothingMissedReturnsSameSequence() {
+        credit("5.00");
+        List<BalanceChangeEvent> replayed = new ArrayList<>();
+
+        assertEquals(1L, publisher.replay(accountId, 1, replayed::add));
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    void testCurrentBalance() {
+        credit("5.00");
+        credit("7.50");
+
+        assertEquals(new BalanceSnapshot(2L, new BigDecimal("12.50")), publisher.currentBalance(accountId));
+        assertNull(publisher.currentBalance(UUID.randomUUID()));
+    }
+
+    @Test
+    void testTransfersPublishDebitAndCreditEvents() {
+        UUID destinationId = UUID.randomUUID();
+        WalletService walletService = walletService(repository, publisher);
+        credit("100.00");
+        List<BalanceChangeEvent> sourceEvents = new ArrayList<>();
+        List<BalanceChangeEvent> destinationEvents = new ArrayList<>();
+        publisher.subscribe(accountId, sourceEvents::add);
+        publisher.subscribe(destinationId, destinationEvents::add);
+
+        walletService.transfer(new TransferRequest(UUID.randomUUID(), accountId, destinationId, new BigDecimal("30.00")));
+
+        assertEquals(1, sourceEvents.size());
+        assertEquals(2L, sourceEvents.get(0).sequence());
+        assertEquals(new BigDecimal("70.00"), sourceEvents.get(0).balance());
+        assertEquals(TransactionEntry.Type.DEBIT, sourceEvents.get(0).type());
+        assertEquals(1, destinationEvents.size());
+        assertEquals(1L, destinationEvents.get(0).sequence());
+        assertEquals(new BigDecimal("30.00"), destinationEvents.get(0).balance());
+    }
+}
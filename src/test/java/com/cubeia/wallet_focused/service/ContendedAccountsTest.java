@@ -0,0 +1,135 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.ContendedAccounts.AccountContention;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+class ContendedAccountsTest {
+
+    @Test
+    void testTop_OrderedByWait() {
+        ContendedAccounts sketch = new ContendedAccounts(64);
+        UUID light = UUID.randomUUID();
+        UUID heavy = UUID.randomUUID();
+        sketch.recordAcquire(light, 100, 1);
+        sketch.recordAcquire(heavy, 1_000, 3);
+        sketch.recordAcquire(heavy, 500, 2);
+        sketch.recordAcquire(heavy, 0, 0);
+        sketch.recordHold(heavy, 70);
+
+        List<AccountContention> top = sketch.top(10);
+
+        assertEquals(List.of(heavy, light), top.stream().map(AccountContention::accountId).toList());
+        assertEquals(new AccountContention(heavy, 1_500, 0, 3, 2, 70, 3), top.get(0));
+        assertEquals(1, sketch.top(1).size());
+    }
+
+    @Test
+    void testUncontendedAccounts_NotTracked() {
+        ContendedAccounts sketch = new ContendedAccounts(64);
+        UUID accountId = UUID.randomUUID();
+        sketch.recordAcquire(accountId, 0, 0);
+        sketch.recordHold(accountId, 1_000);
+
+        assertTrue(sketch.top(10).isEmpty());
+    }
+
+    @Test
+    void testFullSketch_ReplacesLeastWaitAndInheritsIt() {
+        // One account per stripe
+        ContendedAccounts sketch = new ContendedAccounts(16);
+        UUID first = UUID.randomUUID();
+        UUID second = sameStripe(first);
+        sketch.recordAcquire(first, 400, 1);
+        sketch.recordHold(first, 50);
+
+        sketch.recordAcquire(second, 100, 1);
+
+        List<AccountContention> top = sketch.top(16);
+        assertEquals(1, top.size());
+        // Inherits the 400 of the account it replaced, with no hold time or acquisitions
+        assertEquals(new AccountContention(second, 500, 400, 1, 1, 0, 1), top.get(0));
+    }
+
+    @Test
+    void testHeavyHitter_SurvivesNoise() {
+        ContendedAccounts sketch = new ContendedAccounts(32);
+        UUID hot = UUID.randomUUID();
+        for (int i = 0; i < 10_000; i++) {
+            sketch.recordAcquire(UUID.randomUUID(), 1_000, 1);
+            if (i % 10 == 0) {
+                sketch.recordAcquire(hot, 1_000_000, 5);
+            }
+        }
+
+        AccountContention top = sketch.top(1).get(0);
+        assertEquals(hot, top.accountId());
+        assertTrue(top.waitNanos() - top.waitErrorNanos() <= 1_000 * 1_000_000L);
+        assertTrue(top.waitNanos() >= 1_000 * 1_000_000L);
+    }
+
+    @Test
+    void testCapacity() {
+        assertEquals(256, new ContendedAccounts(256).getCapacity());
+        assertEquals(32, new ContendedAccounts(17).getCapacity());
+        assertEquals(0, ContendedAccounts.NONE.getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new ContendedAccounts(-1));
+
+        ContendedAccounts.NONE.recordAcquire(UUID.randomUUID(), 100, 1);
+        ContendedAccounts.NONE.recordHold(UUID.randomUUID(), 100);
+        assertTrue(ContendedAccounts.NONE.top(10).isEmpty());
+    }
+
+    @Test
+    void testWalletService_ReportsHotAccount() {
+        WalletRepository repository = new InMemoryWalletRepository();
+        ContendedAccounts sketch = new ContendedAccounts(64);
+        WalletServiceImpl service = walletService(repository, sketch);
+        UUID hot = UUID.randomUUID();
+        repository.saveAccount(new Account(hot));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), hot, hot,
+                new BigDecimal("1000.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+
+        CompletableFuture<?>[] transfers = new CompletableFuture<?>[200];
+        for (int i = 0; i < transfers.length; i++) {
+            transfers[i] = service.attemptTransferAsync(
+                    new TransferRequest(UUID.randomUUID(), hot, UUID.randomUUID(), new BigDecimal("1.00")));
+        }
+        CompletableFuture.allOf(transfers).join();
+        service.attemptTransfer(new TransferRequest(UUID.randomUUID(), hot, UUID.randomUUID(), new BigDecimal("1.00")));
+
+        AccountContention top = sketch.top(1).get(0);
+        assertEquals(hot, top.accountId());
+        assertTrue(top.contendedAcquisitions() > 0);
+        assertTrue(top.waitNanos() > 0);
+        assertTrue(top.maxWaiters() >= 1);
+        assertTrue(top.holdNanos() > 0);
+        // Destinations were each locked once, without waiting
+        assertTrue(sketch.top(300).stream().filter(account -> !account.accountId().equals(hot))
+                .allMatch(account -> account.contendedAcquisitions() == 0 || account.acquisitions() <= 1));
+    }
+
+    private static UUID sameStripe(UUID accountId) {
+        while (true) {
+            UUID candidate = UUID.randomUUID();
+            if (Math.floorMod(candidate.hashCode(), 16) == Math.floorMod(accountId.hashCode(), 16)) {
+                return candidate;
+            }
+        }
+    }
+}
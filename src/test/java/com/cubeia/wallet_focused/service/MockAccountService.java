@@ -1,12 +1,16 @@
 package com.cubeia.wallet_focused.service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.model.TransactionEntry;
 import com.cubeia.wallet_focused.model.WalletRepository;
 
@@ -54,4 +58,34 @@ public class MockAccountService implements AccountService {
                 : entry.getAmount().negate())
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
-} 
\ No newline at end of file
+    
+    @Override
+    public BigDecimal calculateBalanceAsOf(UUID accountId, Instant asOf) {
+        return repository.findTransactionsByAccount(accountId).stream()
+            .filter(entry -> !entry.getTimestamp().isAfter(asOf))
+            .map(entry -> entry.getType() == TransactionEntry.Type.CREDIT 
+                ? entry.getAmount() 
+                : entry.getAmount().negate())
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    @Override
+    public Map<UUID, BigDecimal> getBalances(Collection<UUID> accountIds) {
+        Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+        for (UUID accountId : accountIds) {
+            if (repository.findAccount(accountId) != null) {
+                balances.put(accountId, calculateBalance(accountId));
+            }
+        }
+        return balances;
+    }
+    
+    @Override
+    public Optional<BalanceSnapshot> getBalanceSnapshot(UUID accountId) {
+        if (repository.findAccount(accountId) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new BalanceSnapshot(repository.findTransactionsByAccount(accountId).size(),
+                calculateBalance(accountId)));
+    }
+}
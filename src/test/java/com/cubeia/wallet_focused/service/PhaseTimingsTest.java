@@ -0,0 +1,86 @@
+package com.cubeia.wallet_focused.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.service.PhaseTimings.Phase;
+
+class PhaseTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        PhaseTimings.bind(null);
+    }
+
+    @Test
+    void testNone_RecordsNothing() {
+        PhaseTimings none = PhaseTimings.current();
+
+        assertSame(PhaseTimings.NONE, none);
+        assertEquals(0, none.mark());
+        none.record(Phase.LOCK_WAIT, System.nanoTime() - 1_000_000);
+        none.begin(Phase.PARSE);
+        none.end(Phase.PARSE);
+
+        assertEquals(-1, none.nanos(Phase.LOCK_WAIT));
+        assertEquals(-1, none.nanos(Phase.PARSE));
+    }
+
+    @Test
+    void testBind() {
+        PhaseTimings timings = PhaseTimings.start();
+
+        PhaseTimings.bind(timings);
+        assertSame(timings, PhaseTimings.current());
+        PhaseTimings.bind(null);
+        assertSame(PhaseTimings.NONE, PhaseTimings.current());
+    }
+
+    @Test
+    void testRecord_Accumulates() {
+        PhaseTimings timings = PhaseTimings.start();
+        long now = System.nanoTime();
+
+        timings.record(Phase.BALANCE, now - 2_000_000);
+        timings.record(Phase.BALANCE, now - 3_000_000);
+
+        assertTrue(timings.nanos(Phase.BALANCE) >= 5_000_000);
+        assertEquals(-1, timings.nanos(Phase.APPEND));
+    }
+
+    @Test
+    void testBeginEnd() {
+        PhaseTimings timings = PhaseTimings.start();
+
+        timings.end(Phase.SERIALIZATION);
+        assertEquals(-1, timings.nanos(Phase.SERIALIZATION));
+
+        timings.begin(Phase.SERIALIZATION);
+        timings.end(Phase.SERIALIZATION);
+        long recorded = timings.nanos(Phase.SERIALIZATION);
+        assertTrue(recorded >= 0);
+        // A second end without a begin adds nothing
+        timings.end(Phase.SERIALIZATION);
+        assertEquals(recorded, timings.nanos(Phase.SERIALIZATION));
+    }
+
+    @Test
+    void testHeaderValue_ListsRecordedPhasesInOrder() {
+        PhaseTimings timings = PhaseTimings.start();
+        long now = System.nanoTime();
+        timings.record(Phase.LOCK_WAIT, now - 1_250_000);
+        timings.record(Phase.PARSE, now - 41_000);
+
+        String header = timings.toHeaderValue("app", 2_003_400);
+
+        assertTrue(header.matches("parse;dur=0\\.0\\d\\d, lock;dur=1\\.2\\d\\d, app;dur=2\\.003"), header);
+    }
+
+    @Test
+    void testHeaderValue_TotalOnly() {
+        assertEquals("total;dur=0.500", PhaseTimings.start().toHeaderValue("total", 500_000));
+    }
+}
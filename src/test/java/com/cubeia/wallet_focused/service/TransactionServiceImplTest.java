@@ -60,6 +60,43 @@ public class TransactionServiceImplTest {
         assertEquals(expectedEntries, actualEntries);
     }
     
+    @Test
+    public void testGetTransactionsAfterSequence() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        TransactionEntry entry = new TransactionEntry(
+            UUID.randomUUID(), accountId, UUID.randomUUID(), 
+            new BigDecimal("10.00"), TransactionEntry.Type.CREDIT, Instant.now());
+        entry.setSequence(6);
+        
+        when(repository.findTransactionsAfterSequence(accountId, 5, 100)).thenReturn(List.of(entry));
+        
+        // Act
+        List<TransactionEntry> actualEntries = transactionService.getTransactionsAfterSequence(accountId, 5, 100);
+        
+        // Assert
+        assertEquals(List.of(entry), actualEntries);
+    }
+    
+    @Test
+    public void testGetTransactionsBetween() {
+        // Arrange
+        UUID accountId = UUID.randomUUID();
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-02T00:00:00Z");
+        TransactionEntry entry = new TransactionEntry(
+            UUID.randomUUID(), accountId, UUID.randomUUID(), 
+            new BigDecimal("10.00"), TransactionEntry.Type.DEBIT, from.plusSeconds(60));
+        
+        when(repository.findTransactionsBetween(accountId, from, to, Integer.MAX_VALUE)).thenReturn(List.of(entry));
+        
+        // Act
+        List<TransactionEntry> actualEntries = transactionService.getTransactionsBetween(accountId, from, to, Integer.MAX_VALUE);
+        
+        // Assert
+        assertEquals(List.of(entry), actualEntries);
+    }
+    
     @Test
     public void testAccountExists_WhenAccountExists() {
         // Arrange
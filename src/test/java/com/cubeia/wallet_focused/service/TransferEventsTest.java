@@ -0,0 +1,157 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class TransferEventsTest {
+    private static final Path SETTINGS = Path.of("src/main/jfr/wallet.jfc");
+
+    @TempDir
+    Path tempDir;
+
+    private WalletRepository repository;
+    private WalletServiceImpl service;
+    private UUID sourceId;
+    private UUID destinationId;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWalletRepository();
+        service = walletService(repository);
+        sourceId = UUID.randomUUID();
+        destinationId = UUID.randomUUID();
+        repository.saveAccount(new Account(sourceId));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), sourceId, sourceId,
+                new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+    }
+
+    /**
+     * Records with the shipped settings, with the threshold lowered so every event is kept.
+     */
+    private List<RecordedEvent> record(Map<String, String> overrides, Runnable work) throws Exception {
+        Map<String, String> settings = new HashMap<>(Configuration.create(SETTINGS).getSettings());
+        settings.replaceAll((name, value) -> name.endsWith("#threshold") ? "0 ms" : value);
+        settings.putAll(overrides);
+        Path file = tempDir.resolve("wallet.jfr");
+        try (Recording recording = new Recording(settings)) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("com.cubeia.wallet."))
+                .toList();
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals("com.cubeia.wallet." + name)).toList();
+    }
+
+    @Test
+    void testTransfer_EmitsEventPerPhase() throws Exception {
+        UUID transactionId = UUID.randomUUID();
+
+        List<RecordedEvent> events = record(Map.of(), () -> service.attemptTransfer(
+                new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00"))));
+
+        RecordedEvent transfer = ofType(events, "Transfer").get(0);
+        assertEquals(transactionId.toString(), transfer.getString("transactionId"));
+        assertEquals(sourceId.toString(), transfer.getString("sourceAccountId"));
+        assertEquals(destinationId.toString(), transfer.getString("destinationAccountId"));
+        assertEquals("10.00", transfer.getString("amount"));
+        assertEquals("success", transfer.getString("outcome"));
+
+        RecordedEvent check = ofType(events, "IdempotencyCheck").get(0);
+        assertEquals(transactionId.toString(), check.getString("transactionId"));
+        assertFalse(check.getBoolean("processed"));
+
+        List<RecordedEvent> lockWaits = ofType(events, "LockWait");
+        assertEquals(2, lockWaits.size());
+        assertTrue(lockWaits.stream().noneMatch(event -> event.getBoolean("contended")));
+        assertEquals(List.of(sourceId.toString(), destinationId.toString()).stream().sorted().toList(),
+                lockWaits.stream().map(event -> event.getString("accountId")).sorted().toList());
+
+        List<RecordedEvent> balances = ofType(events, "BalanceComputation");
+        assertEquals(List.of(sourceId.toString(), destinationId.toString()),
+                balances.stream().map(event -> event.getString("accountId")).toList());
+
+        assertEquals(1, ofType(events, "EntryAppend").size());
+        assertEquals(transactionId.toString(), ofType(events, "EntryAppend").get(0).getString("transactionId"));
+        // Phases lie within the transfer
+        assertFalse(check.getStartTime().isBefore(transfer.getStartTime()));
+        assertFalse(transfer.getEndTime().isBefore(ofType(events, "EntryAppend").get(0).getEndTime()));
+    }
+
+    @Test
+    void testTransferOutcomes() throws Exception {
+        UUID transactionId = UUID.randomUUID();
+
+        List<RecordedEvent> events = record(Map.of(), () -> {
+            service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+            service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+            service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("500.00")));
+            service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, sourceId, new BigDecimal("1.00")));
+        });
+
+        assertEquals(List.of("success", "duplicate", "insufficient_funds", "invalid"),
+                ofType(events, "Transfer").stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(List.of(false, true, false, false),
+                ofType(events, "IdempotencyCheck").stream().map(event -> event.getBoolean("processed")).toList());
+    }
+
+    @Test
+    void testAsyncTransfers_ReportLockWaits() throws Exception {
+        List<RecordedEvent> events = record(Map.of(), () -> {
+            CompletableFuture<?>[] transfers = new CompletableFuture<?>[10];
+            for (int i = 0; i < transfers.length; i++) {
+                transfers[i] = service.attemptTransferAsync(
+                        new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("1.00")));
+            }
+            CompletableFuture.allOf(transfers).join();
+        });
+
+        assertEquals(10, ofType(events, "Transfer").size());
+        assertTrue(ofType(events, "Transfer").stream().allMatch(event -> event.getString("outcome").equals("success")));
+        assertEquals(20, ofType(events, "LockWait").size());
+        assertEquals(10, ofType(events, "EntryAppend").size());
+    }
+
+    @Test
+    void testDisabledEvents_RecordNothing() throws Exception {
+        Map<String, String> disabled = new HashMap<>();
+        for (String name : List.of("Transfer", "IdempotencyCheck", "LockWait", "BalanceComputation", "EntryAppend")) {
+            disabled.put("com.cubeia.wallet." + name + "#enabled", "false");
+        }
+
+        List<RecordedEvent> events = record(disabled, () -> service.attemptTransfer(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+
+        assertTrue(events.isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Verifies with JFR that virtual threads running the transfer path never park while
+ * pinned to their carrier thread, which would happen when they block inside a
+ * {@code synchronized} block. Any {@code jdk.VirtualThreadPinned} event raised from
+ * application code fails the test.
+ */
+public class VirtualThreadPinningTest {
+    private static final String APPLICATION_PACKAGE = "com.cubeia.wallet_focused.";
+
+    @Test
+    void testTransferPathDoesNotPinCarrierThreads() throws Exception {
+        InMemoryWalletRepository repository = new InMemoryWalletRepository();
+        WalletServiceImpl walletService = walletService(repository);
+        List<UUID> accounts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UUID accountId = UUID.randomUUID();
+            repository.saveAccount(new Account(accountId));
+            repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), accountId, accountId,
+                    new BigDecimal("1000.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+            accounts.add(accountId);
+        }
+
+        List<RecordedEvent> pinned = recordPinning(() -> {
+            // Few accounts and many threads, so transfers queue on the account locks
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<CompletableFuture<?>> async = new CopyOnWriteArrayList<>();
+                for (int i = 0; i < 2000; i++) {
+                    UUID source = accounts.get(i % accounts.size());
+                    UUID destination = accounts.get((i + 1 + i / accounts.size()) % accounts.size());
+                    TransferRequest request = new TransferRequest(UUID.randomUUID(), source, destination, BigDecimal.ONE);
+                    if (i % 2 == 0) {
+                        executor.submit(() -> walletService.attemptTransfer(request));
+                    } else {
+                        executor.submit(() -> async.add(walletService.attemptTransferAsync(request)));
+                    }
+                    executor.submit(repository::initializeAdminAccountIfNeeded);
+                }
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+                CompletableFuture.allOf(async.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+            }
+        });
+
+        List<String> fromApplication = pinned.stream()
+                .filter(VirtualThreadPinningTest::raisedByApplication)
+                .map(event -> event.getStackTrace().getFrames().toString())
+                .toList();
+        assertTrue(fromApplication.isEmpty(), "Virtual threads pinned in application code: " + fromApplication);
+    }
+
+    @Test
+    void testPinningIsDetected() throws Exception {
+        // Guards the test above against passing only because no events are recorded
+        Object monitor = new Object();
+        List<RecordedEvent> pinned = recordPinning(() -> {
+            Thread thread = Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    LockSupport.parkNanos(Duration.ofMillis(50).toNanos());
+                }
+            });
+            thread.join();
+        });
+
+        assertFalse(pinned.stream().filter(VirtualThreadPinningTest::raisedByApplication).toList().isEmpty());
+    }
+
+    private static List<RecordedEvent> recordPinning(Workload workload) throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        try (RecordingStream stream = new RecordingStream()) {
+            stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            stream.onEvent("jdk.VirtualThreadPinned", events::add);
+            stream.onFlush(started::countDown);
+            stream.setMaxAge(Duration.ofMinutes(1));
+            stream.startAsync();
+            started.await(10, TimeUnit.SECONDS);
+            workload.run();
+            stream.stop();
+        }
+        return events;
+    }
+
+    private static boolean raisedByApplication(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cubeia.wallet_focused.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WalletMetricsTest {
+    private SimpleMeterRegistry registry;
+    private WalletRepository repository;
+    private WalletServiceImpl service;
+    private UUID sourceId;
+    private UUID destinationId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        WalletMetrics metrics = new WalletMetrics(registry);
+        repository = spy(new InMemoryWalletRepository());
+        service = walletService(repository, metrics);
+
+        sourceId = UUID.randomUUID();
+        destinationId = UUID.randomUUID();
+        repository.saveAccount(new Account(sourceId));
+        repository.saveTransaction(new TransactionEntry(UUID.randomUUID(), sourceId, sourceId,
+                new BigDecimal("100.00"), TransactionEntry.Type.CREDIT, Instant.now()));
+    }
+
+    private long transfers(String outcome) {
+        return registry.get("wallet.transfer").tag("outcome", outcome).timer().count();
+    }
+
+    @Test
+    void testTransferTimers_ByOutcome() {
+        UUID transactionId = UUID.randomUUID();
+        service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+        service.attemptTransfer(new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("10.00")));
+        service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("500.00")));
+        service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, sourceId, new BigDecimal("1.00")));
+        service.attemptTransferAsync(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("5.00")))
+                .join();
+
+        assertEquals(2, transfers("success"));
+        assertEquals(1, transfers("duplicate"));
+        assertEquals(1, transfers("insufficient_funds"));
+        assertEquals(1, transfers("invalid"));
+        assertEquals(0, transfers("error"));
+        assertTrue(registry.get("wallet.transfer").tag("outcome", "success").timer().totalTime(
+                TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    void testLockWait_RecordedForLockedTransfers() {
+        service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00")));
+        service.attemptTransferAsync(new TransferRequest(UUID.randomUUID(), destinationId, sourceId, new BigDecimal("1.00")))
+                .join();
+        // Rejected before locking: no lock wait
+        service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("-1.00")));
+
+        assertEquals(2, registry.get("wallet.lock.wait").timer().count());
+        // Locked transfers read the balance projection and replay no entries
+        assertEquals(0, registry.get("wallet.balance.entries.scanned").summary().count());
+    }
+
+    @Test
+    void testFailedTransfers_RecordedAsErrors() {
+        doThrow(new IllegalStateException("Simulated failure")).when(repository).saveTransaction(any());
+
+        assertThrows(IllegalStateException.class, () -> service.attemptTransfer(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+        assertThrows(Exception.class, () -> service.attemptTransferAsync(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))).join());
+
+        assertEquals(2, transfers("error"));
+        assertEquals(0, transfers("success"));
+    }
+
+    @Test
+    void testNoop_RecordsNothing() {
+        WalletServiceImpl unmetered = walletService(repository);
+
+        unmetered.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00")));
+
+        assertEquals(0, transfers("success"));
+    }
+}
@@ -5,20 +5,25 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.cubeia.wallet_focused.model.Account;
 import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
 import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
 import com.cubeia.wallet_focused.model.TransferRequest;
 import com.cubeia.wallet_focused.model.WalletRepository;
 import static com.cubeia.wallet_focused.service.TestConstants.SYSTEM_ACCOUNT_ID;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
 
 class WalletServiceConcurrencyTest {
     private WalletRepository repository;
@@ -31,7 +36,7 @@ class WalletServiceConcurrencyTest {
     void setUp() {
         repository = new InMemoryWalletRepository();
         accountService = new AccountServiceImpl(repository);
-        service = new WalletServiceImpl(repository, accountService);
+        service = walletService(repository);
         
         // Create system account (unlimited funds)
         repository.saveAccount(new Account(SYSTEM_ACCOUNT_ID));
@@ -118,4 +123,32 @@ class WalletServiceConcurrencyTest {
         assertEquals(numTransfers + 1, aTxs.size());
         assertEquals(numTransfers + 1, bTxs.size());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testConcurrentAsyncAndBlockingTransfers() throws Exception {
+        int numTransfers = 1000;
+        BigDecimal transferAmount = new BigDecimal("1.00");
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<CompletableFuture<TransferOutcome>> asyncOutcomes = new ArrayList<>();
+        List<Future<?>> blocking = new ArrayList<>();
+
+        // Async transfers A->B are issued from this thread while blocking transfers B->A run alongside
+        for (int i = 0; i < numTransfers; i++) {
+            asyncOutcomes.add(service.attemptTransferAsync(
+                    new TransferRequest(UUID.randomUUID(), idA, idB, transferAmount)));
+            blocking.add(executor.submit(() -> service.transfer(
+                    new TransferRequest(UUID.randomUUID(), idB, idA, transferAmount))));
+        }
+        for (CompletableFuture<TransferOutcome> outcome : asyncOutcomes) {
+            assertInstanceOf(TransferOutcome.Completed.class, outcome.get(30, TimeUnit.SECONDS));
+        }
+        for (Future<?> f : blocking) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        assertEquals(new BigDecimal("1000.00"), accountService.calculateBalance(idA));
+        assertEquals(new BigDecimal("1000.00"), accountService.calculateBalance(idB));
+        assertEquals(2 * numTransfers + 1, repository.findTransactionsByAccount(idA).size());
+    }
+}
@@ -15,6 +15,7 @@ import com.cubeia.wallet_focused.model.TransactionEntry;
 import com.cubeia.wallet_focused.model.TransferRequest;
 import com.cubeia.wallet_focused.model.WalletRepository;
 import static com.cubeia.wallet_focused.service.TestConstants.SYSTEM_ACCOUNT_ID;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
 
 class WalletServiceIdempotencyTest {
     private WalletRepository repository;
@@ -27,7 +28,7 @@ class WalletServiceIdempotencyTest {
     void setUp() {
         repository = new InMemoryWalletRepository();
         accountService = new AccountServiceImpl(repository);
-        service = new WalletServiceImpl(repository, accountService);
+        service = walletService(repository);
         
         // Create system account (unlimited funds)
         repository.saveAccount(new Account(SYSTEM_ACCOUNT_ID));
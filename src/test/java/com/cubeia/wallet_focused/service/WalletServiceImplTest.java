@@ -1,38 +1,80 @@
 package com.cubeia.wallet_focused.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
 import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
 import com.cubeia.wallet_focused.model.InsufficientFundsException;
 import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.model.TransferOutcome;
 import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.model.TransferResult;
 import com.cubeia.wallet_focused.model.WalletRepository;
 import static com.cubeia.wallet_focused.service.TestConstants.SYSTEM_ACCOUNT_ID;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class WalletServiceImplTest {
-    private WalletRepository repository;
+    private BlockingRepository repository;
     private AccountService accountService;
     private WalletServiceImpl service;
     private UUID sourceId;
     private UUID destinationId;
     private BigDecimal initialSourceBalance;
 
+    /**
+     * A repository that can hold a transfer inside its account locks by blocking the
+     * transfer's balance read of the destination account.
+     */
+    private class BlockingRepository extends InMemoryWalletRepository {
+        private volatile CountDownLatch locked;
+        private volatile CountDownLatch release;
+        
+        void blockDestinationRead(CountDownLatch locked, CountDownLatch release) {
+            this.locked = locked;
+            this.release = release;
+        }
+        
+        @Override
+        public BalanceSnapshot findBalance(UUID accountId) {
+            CountDownLatch waitFor = release;
+            if (waitFor != null && accountId.equals(destinationId) && locked.getCount() > 0) {
+                locked.countDown();
+                try {
+                    waitFor.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.findBalance(accountId);
+        }
+    }
+    
     @BeforeEach
     void setUp() {
-        repository = new InMemoryWalletRepository();
+        repository = new BlockingRepository();
         accountService = new AccountServiceImpl(repository);
-        service = new WalletServiceImpl(repository, accountService);
+        service = walletService(repository);
         
         // Set up test accounts
         sourceId = UUID.randomUUID();
@@ -138,6 +180,153 @@ class WalletServiceImplTest {
         assertEquals(BigDecimal.ZERO, destBalance);
     }
     
+    @Test
+    void testAttemptTransfer_InsufficientFunds_ReturnsOutcomeWithoutChanges() {
+        TransferRequest request = new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("1500.00"));
+        
+        TransferOutcome outcome = service.attemptTransfer(request);
+        
+        TransferOutcome.InsufficientFunds insufficient = assertInstanceOf(TransferOutcome.InsufficientFunds.class, outcome);
+        assertEquals(sourceId, insufficient.accountId());
+        assertEquals(new BigDecimal("500.00"), insufficient.balance());
+        assertEquals(new BigDecimal("1500.00"), insufficient.amount());
+        assertEquals("Insufficient funds in source account", insufficient.message());
+        assertEquals(1, repository.findTransactionsByAccount(sourceId).size());
+        assertFalse(repository.isTransactionProcessed(request.getTransactionId()));
+    }
+    
+    @Test
+    void testAttemptTransfer_InvalidRequests_ReturnRejectedOutcomes() {
+        assertEquals(new TransferOutcome.Rejected("Cannot transfer to same account"),
+                service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, sourceId, BigDecimal.TEN)));
+        assertEquals(new TransferOutcome.Rejected("Amount must be positive"),
+                service.attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, BigDecimal.ZERO)));
+        assertEquals(new TransferOutcome.Rejected("Source account not found"),
+                service.attemptTransfer(new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), destinationId, BigDecimal.TEN)));
+    }
+    
+    @Test
+    void testAttemptTransfer_Success_ReturnsCompletedOutcome() {
+        TransferRequest request = new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("30.00"));
+        
+        TransferOutcome.Completed completed = assertInstanceOf(TransferOutcome.Completed.class, service.attemptTransfer(request));
+        
+        assertEquals(new BigDecimal("470.00"), completed.result().source().balance());
+    }
+    
+    @Test
+    void testInsufficientFunds_ShedBeforeLocking() throws Exception {
+        // A transfer that blocks while holding the source and destination locks
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        repository.blockDestinationRead(locked, release);
+        Thread holder = Thread.ofVirtual().start(() -> service.transfer(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+        locked.await();
+        try {
+            // A doomed transfer must not wait for the held locks
+            TransferRequest request = new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("1500.00"));
+            TransferOutcome outcome = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> service.attemptTransfer(request));
+            
+            assertInstanceOf(TransferOutcome.InsufficientFunds.class, outcome);
+            assertEquals(1, service.getShedTransferCount());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertEquals(new BigDecimal("490.00"), accountService.calculateBalance(sourceId));
+    }
+    
+    @Test
+    void testInvalidRequests_RejectedBeforeLocking() throws Exception {
+        // A transfer that blocks while holding the source and destination locks
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        repository.blockDestinationRead(locked, release);
+        Thread holder = Thread.ofVirtual().start(() -> service.transfer(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+        locked.await();
+        try {
+            TransferOutcome zeroAmount = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.attemptTransfer(
+                    new TransferRequest(UUID.randomUUID(), sourceId, destinationId, BigDecimal.ZERO)));
+            TransferOutcome sameAccount = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> service.attemptTransfer(
+                    new TransferRequest(UUID.randomUUID(), sourceId, sourceId, BigDecimal.TEN)));
+            
+            assertEquals(new TransferOutcome.Rejected("Amount must be positive"), zeroAmount);
+            assertEquals(new TransferOutcome.Rejected("Cannot transfer to same account"), sameAccount);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+    
+    @Test
+    void testAsyncTransfer_QueuesWithoutBlockingCaller() throws Exception {
+        // A blocking transfer holds the source and destination locks until released
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        repository.blockDestinationRead(locked, release);
+        Thread holder = Thread.ofVirtual().start(() -> service.transfer(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+        locked.await();
+        
+        CompletableFuture<TransferOutcome> queued = service.attemptTransferAsync(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("20.00")));
+        assertFalse(queued.isDone());
+        
+        release.countDown();
+        holder.join();
+        TransferOutcome.Completed completed = assertInstanceOf(TransferOutcome.Completed.class,
+                queued.get(5, TimeUnit.SECONDS));
+        assertEquals(new BalanceSnapshot(3L, new BigDecimal("470.00")), completed.result().source());
+    }
+    
+    @Test
+    void testOutcomeRecordedAfterLocksReleased() {
+        // Another transfer on the same accounts can only complete once the locks are free
+        AtomicReference<WalletServiceImpl> recordingService = new AtomicReference<>();
+        AtomicReference<CompletableFuture<TransferOutcome>> concurrent = new AtomicReference<>();
+        WalletMetrics metrics = new WalletMetrics(new SimpleMeterRegistry()) {
+            @Override
+            TransferOutcome recordTransfer(TransferOutcome outcome, long startNanos) {
+                if (concurrent.get() == null) {
+                    CompletableFuture<TransferOutcome> next = recordingService.get().attemptTransferAsync(
+                            new TransferRequest(UUID.randomUUID(), destinationId, sourceId, new BigDecimal("1.00")));
+                    concurrent.set(next);
+                    assertInstanceOf(TransferOutcome.Completed.class, next.orTimeout(5, TimeUnit.SECONDS).join());
+                }
+                return super.recordTransfer(outcome, startNanos);
+            }
+        };
+        recordingService.set(walletService(repository, metrics));
+        
+        TransferOutcome outcome = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> recordingService.get()
+                .attemptTransfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("10.00"))));
+        
+        assertInstanceOf(TransferOutcome.Completed.class, outcome);
+        assertTrue(concurrent.get().isDone());
+    }
+    
+    @Test
+    void testAsyncTransfer_RejectionsCompleteImmediately() {
+        CompletableFuture<TransferOutcome> insufficient = service.attemptTransferAsync(
+                new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("1500.00")));
+        CompletableFuture<TransferOutcome> sameAccount = service.attemptTransferAsync(
+                new TransferRequest(UUID.randomUUID(), sourceId, sourceId, BigDecimal.TEN));
+        
+        assertInstanceOf(TransferOutcome.InsufficientFunds.class, insufficient.join());
+        assertEquals(new TransferOutcome.Rejected("Cannot transfer to same account"), sameAccount.join());
+    }
+    
+    @Test
+    void testAffordableTransfer_NotShed() {
+        service.transfer(new TransferRequest(UUID.randomUUID(), sourceId, destinationId, new BigDecimal("500.00")));
+        
+        assertEquals(0, service.getShedTransferCount());
+        assertEquals(new BigDecimal("0.00"), accountService.calculateBalance(sourceId));
+    }
+    
     @Test
     void testTransferToSameAccount() {
         UUID transactionId = UUID.randomUUID();
@@ -175,6 +364,29 @@ class WalletServiceImplTest {
         assertEquals("Source account not found", exception.getMessage());
     }
     
+    @Test
+    void testTransferReturnsPostTransferBalancesAndVersions() {
+        UUID transactionId = UUID.randomUUID();
+        TransferRequest request = new TransferRequest(transactionId, sourceId, destinationId, new BigDecimal("30.00"));
+        
+        TransferResult result = service.transfer(request);
+        
+        assertEquals(transactionId, result.transactionId());
+        assertFalse(result.duplicate());
+        assertEquals(sourceId, result.sourceAccountId());
+        assertEquals(new BalanceSnapshot(2L, new BigDecimal("470.00")), result.source());
+        assertEquals(destinationId, result.destinationAccountId());
+        assertEquals(new BalanceSnapshot(1L, new BigDecimal("30.00")), result.destination());
+        assertEquals(repository.findBalance(sourceId), result.source());
+        assertEquals(repository.findBalance(destinationId), result.destination());
+        
+        // A repeated request changes nothing and reports the current state
+        TransferResult repeated = service.transfer(request);
+        assertTrue(repeated.duplicate());
+        assertEquals(result.source(), repeated.source());
+        assertEquals(result.destination(), repeated.destination());
+    }
+    
     @Test
     void testIdempotentTransfer() {
         // Create a unique transaction ID for this test
@@ -264,6 +476,12 @@ class WalletServiceImplTest {
                 // Delegate to the real repo for finding transactions
                 return realRepo.findTransactionsByAccount(accountId);
             }
+            
+            @Override
+            public BalanceSnapshot findBalance(UUID accountId) {
+                // Delegate to the real repo so the lock-free pre-check sees the same funds
+                return realRepo.findBalance(accountId);
+            }
         };
         
         // Initialize source and destination accounts in both repositories
@@ -292,8 +510,7 @@ class WalletServiceImplTest {
         realRepo.saveTransaction(initialCredit);
         
         // Create our service with the mock repository
-        AccountService testAccountService = new AccountServiceImpl(mockRepository);
-        WalletService testService = new WalletServiceImpl(mockRepository, testAccountService);
+        WalletService testService = walletService(mockRepository);
         
         // Create transfer request with an amount the account can afford
         UUID transactionId = UUID.randomUUID();
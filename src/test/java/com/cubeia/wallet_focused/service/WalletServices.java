@@ -0,0 +1,41 @@
+package com.cubeia.wallet_focused.service;
+
+import com.cubeia.wallet_focused.audit.AuditLog;
+import com.cubeia.wallet_focused.model.WalletRepository;
+
+/**
+ * Builds {@link WalletServiceImpl} instances for tests and benchmarks.
+ * <p>
+ * Whatever a caller does not pass defaults to a fresh {@link BalanceEventPublisher},
+ * {@link WalletMetrics#NOOP}, {@link AuditLog#DISABLED} and {@link ContendedAccounts#NONE}.
+ */
+public final class WalletServices {
+
+    private WalletServices() {
+        // Prevent instantiation
+    }
+
+    public static WalletServiceImpl walletService(WalletRepository repository) {
+        return walletService(repository, new BalanceEventPublisher(repository));
+    }
+
+    public static WalletServiceImpl walletService(WalletRepository repository, BalanceEventPublisher eventPublisher) {
+        return new WalletServiceImpl(repository, eventPublisher, WalletMetrics.NOOP, AuditLog.DISABLED,
+                ContendedAccounts.NONE);
+    }
+
+    public static WalletServiceImpl walletService(WalletRepository repository, WalletMetrics metrics) {
+        return new WalletServiceImpl(repository, new BalanceEventPublisher(repository), metrics, AuditLog.DISABLED,
+                ContendedAccounts.NONE);
+    }
+
+    public static WalletServiceImpl walletService(WalletRepository repository, AuditLog auditLog) {
+        return new WalletServiceImpl(repository, new BalanceEventPublisher(repository), WalletMetrics.NOOP, auditLog,
+                ContendedAccounts.NONE);
+    }
+
+    public static WalletServiceImpl walletService(WalletRepository repository, ContendedAccounts contention) {
+        return new WalletServiceImpl(repository, new BalanceEventPublisher(repository), WalletMetrics.NOOP,
+                AuditLog.DISABLED, contention);
+    }
+}
@@ -0,0 +1,60 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.cubeia.wallet_focused.HttpLoadDriver;
+import com.cubeia.wallet_focused.WalletFocusedApplication;
+
+/**
+ * Compares the servlet stack with the reactive front end under load. Both
+ * applications are started in this JVM on random ports, seeded with the same accounts
+ * and driven with the same request mix by {@code benchmark.clients} clients (default
+ * 256), each sending {@code benchmark.requests} requests (default 200).
+ * <p>
+ * Built with the {@code webflux} profile and run through the {@code jmh} profile's
+ * exec configuration. The process exits with status 1 if either stack returned server
+ * errors.
+ */
+public final class StackComparisonRunner {
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 256);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests", 200);
+
+    private StackComparisonRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        HttpLoadDriver.Report report = new HttpLoadDriver.Report(List.of(
+                run("servlet (Tomcat)", new SpringApplicationBuilder(WalletFocusedApplication.class)
+                        .web(WebApplicationType.SERVLET)),
+                run("reactive (Netty)", new SpringApplicationBuilder(WebFluxWalletApplication.class)
+                        .web(WebApplicationType.REACTIVE))));
+
+        report.print(System.out);
+        if (report.totalErrors() > 0) {
+            System.out.printf("%nStack comparison failed: %d request(s) returned server errors%n",
+                    report.totalErrors());
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    private static HttpLoadDriver.Result run(String name, SpringApplicationBuilder builder) throws Exception {
+        try (ConfigurableApplicationContext context = builder
+                .properties("server.port=0", "logging.level.com.cubeia.wallet_focused=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpLoadDriver driver = new HttpLoadDriver(port);
+            List<UUID> accounts = driver.seedAccounts(64);
+
+            // Warm up both stacks with a short run before measuring
+            driver.run(name, accounts, CLIENTS, REQUESTS_PER_CLIENT / 4);
+            return driver.run(name, accounts, CLIENTS, REQUESTS_PER_CLIENT);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
+import com.cubeia.wallet_focused.model.InMemoryWalletRepository;
+import com.cubeia.wallet_focused.model.TransferRequest;
+import com.cubeia.wallet_focused.service.AccountService;
+import com.cubeia.wallet_focused.service.AccountServiceImpl;
+import com.cubeia.wallet_focused.service.TransactionServiceImpl;
+import com.cubeia.wallet_focused.service.WalletService;
+import static com.cubeia.wallet_focused.service.WalletServices.walletService;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+class WalletRouterTest {
+    private static final UUID ADMIN_ACCOUNT_ID = new UUID(0L, 0L);
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final WalletRouter router = new WalletRouter();
+
+    private InMemoryWalletRepository repository;
+    private WalletService walletService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryWalletRepository();
+        repository.initializeAdminAccountIfNeeded();
+        AccountService accountService = new AccountServiceImpl(repository);
+        walletService = walletService(repository);
+        client = clientFor(accountService, walletService);
+    }
+
+    private WebTestClient clientFor(AccountService accountService, WalletService walletService) {
+        return WebTestClient.bindToRouterFunction(router.walletRoutes(
+                router.accountHandler(accountService, validator),
+                router.transactionHandler(new TransactionServiceImpl(repository)),
+                router.transferHandler(walletService, validator))).build();
+    }
+
+    private String transferJson(UUID source, UUID destination, String amount) {
+        return String.format(
+                "{\"transactionId\":\"%s\",\"sourceAccountId\":\"%s\",\"destinationAccountId\":\"%s\",\"amount\":%s}",
+                UUID.randomUUID(), source, destination, amount);
+    }
+
+    @Test
+    void transfer_ValidRequest_ReturnsBalancesAfterTransfer() {
+        UUID destination = UUID.randomUUID();
+
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transferJson(ADMIN_ACCOUNT_ID, destination, "250.00"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.source.balance").isEqualTo(999750.00)
+                .jsonPath("$.source.version").isEqualTo(2)
+                .jsonPath("$.destination.accountId").isEqualTo(destination.toString())
+                .jsonPath("$.destination.balance").isEqualTo(250.00)
+                .jsonPath("$.destination.version").isEqualTo(1);
+    }
+
+    @Test
+    void transfer_Rejections_MapToStatusCodes() {
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transferJson(ADMIN_ACCOUNT_ID, UUID.randomUUID(), "2000000.00"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Insufficient funds in source account");
+
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transferJson(ADMIN_ACCOUNT_ID, ADMIN_ACCOUNT_ID, "10.00"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Cannot transfer to same account");
+    }
+
+    @Test
+    void transfer_InvalidBody_ReturnsValidationErrors() {
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transferJson(ADMIN_ACCOUNT_ID, UUID.randomUUID(), "-5.00"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors[0].field").isEqualTo("amount")
+                .jsonPath("$.fieldErrors[0].message").isEqualTo("Amount must be positive");
+
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"sourceAccountId\":\"invalid-uuid\",\"amount\":100}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void transfer_FailedFuture_ReturnsStatus500() {
+        WalletService failing = mock(WalletService.class);
+        when(failing.attemptTransferAsync(any(TransferRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Simulated failure")));
+
+        clientFor(new AccountServiceImpl(repository), failing).post().uri("/api/v1/accounts/transfer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(transferJson(ADMIN_ACCOUNT_ID, UUID.randomUUID(), "10.00"))
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(false)
+                .jsonPath("$.error").isEqualTo("An unexpected error occurred");
+    }
+
+    @Test
+    void getBalance_ReturnsBalanceWithETagAndHonoursIfNoneMatch() {
+        client.get().uri("/api/v1/accounts/{id}/balance", ADMIN_ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.accountId").isEqualTo(ADMIN_ACCOUNT_ID.toString())
+                .jsonPath("$.balance").isEqualTo(1000000.00);
+
+        client.get().uri("/api/v1/accounts/{id}/balance", ADMIN_ACCOUNT_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.get().uri("/api/v1/accounts/{id}/balance?asOf=2000-01-01T00:00:00Z", ADMIN_ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(0);
+    }
+
+    @Test
+    void getBalance_InvalidOrUnknownAccount() {
+        client.get().uri("/api/v1/accounts/not-a-uuid/balance")
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/v1/accounts/{id}/balance?asOf=yesterday", ADMIN_ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/v1/accounts/{id}/balance", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getBalances_ReturnsFoundAndNotFound() {
+        UUID unknown = UUID.randomUUID();
+
+        client.post().uri("/api/v1/accounts/balances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"accountIds\":[\"" + ADMIN_ACCOUNT_ID + "\",\"" + unknown + "\"]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balances[0].balance").isEqualTo(1000000.00)
+                .jsonPath("$.notFound[0]").isEqualTo(unknown.toString());
+
+        client.post().uri("/api/v1/accounts/balances")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"accountIds\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.fieldErrors[0].field").isEqualTo("accountIds");
+    }
+
+    @Test
+    void getTransactions_StreamsHistoryAcrossPages() {
+        UUID destination = UUID.randomUUID();
+        int transfers = TransactionHandler.PAGE_SIZE + 10;
+        for (int i = 0; i < transfers; i++) {
+            walletService.transfer(new TransferRequest(UUID.randomUUID(), ADMIN_ACCOUNT_ID, destination, BigDecimal.ONE));
+        }
+
+        List<TransactionEntryDTO> all = client.get().uri("/api/v1/accounts/{id}/transactions", destination)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBodyList(TransactionEntryDTO.class)
+                .returnResult().getResponseBody();
+        assertEquals(transfers, all.size());
+
+        List<TransactionEntryDTO> page = client.get()
+                .uri("/api/v1/accounts/{id}/transactions?afterSequence=250&limit=3", destination)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(TransactionEntryDTO.class)
+                .getResponseBody().collectList().block();
+        assertEquals(List.of(251L, 252L, 253L), page.stream().map(TransactionEntryDTO::sequence).toList());
+
+        client.get().uri("/api/v1/accounts/{id}/transactions?from=2000-01-01T00:00:00Z&limit=5", destination)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TransactionEntryDTO.class).hasSize(5);
+    }
+
+    @Test
+    void getTransactions_InvalidQueries() {
+        client.get().uri("/api/v1/accounts/not-a-uuid/transactions")
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/v1/accounts/{id}/transactions?limit=0", ADMIN_ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/v1/accounts/{id}/transactions?afterSequence=1&from=2000-01-01T00:00:00Z", ADMIN_ACCOUNT_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/api/v1/accounts/{id}/transactions", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,24 @@
+package com.cubeia.wallet_focused.webflux;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(classes = WebFluxWalletApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class WebFluxWalletApplicationTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void servesSeededAdminAccount() {
+        client.get().uri("/api/v1/accounts/00000000-0000-0000-0000-000000000000/balance")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.balance").isEqualTo(1000000.00);
+    }
+}
@@ -0,0 +1,129 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.cubeia.wallet_focused.dto.AccountDTO;
+import com.cubeia.wallet_focused.dto.BalanceBatchRequestDTO;
+import com.cubeia.wallet_focused.dto.BalanceBatchResponseDTO;
+import com.cubeia.wallet_focused.model.Account;
+import com.cubeia.wallet_focused.model.BalanceSnapshot;
+import com.cubeia.wallet_focused.model.EntityNotFoundException;
+import com.cubeia.wallet_focused.service.AccountService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handler for account balances, the counterpart of {@code AccountController}.
+ * Balances are read from the in-memory ledger without blocking, so the handler runs
+ * directly on the event loop.
+ */
+public class AccountHandler {
+    private static final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+
+    private final AccountService accountService;
+    private final RequestValidator requestValidator;
+
+    AccountHandler(AccountService accountService, RequestValidator requestValidator) {
+        this.accountService = accountService;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Gets the balance for an account, or its balance at the instant in the optional
+     * {@code asOf} parameter. Current balances carry an ETag with the balance version
+     * and are answered with 304 while If-None-Match still matches.
+     *
+     * @param request the request with the account ID path variable
+     * @return the balance response
+     */
+    public Mono<ServerResponse> getBalance(ServerRequest request) {
+        String id = request.pathVariable("id");
+        logger.info("Balance request received for account ID: {}", id);
+
+        UUID accountId;
+        Instant asOf;
+        try {
+            accountId = UUID.fromString(id);
+            asOf = request.queryParam("asOf").map(Instant::parse).orElse(null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Invalid balance request: id={}, asOf={}", id, request.queryParam("asOf").orElse(null));
+            return ServerResponse.badRequest().build();
+        }
+
+        if (asOf == null) {
+            // One snapshot gives both the ETag and the body, so they always describe the same state
+            Optional<BalanceSnapshot> snapshot = accountService.getBalanceSnapshot(accountId);
+            if (snapshot.isEmpty()) {
+                logger.info("Account not found: {}", accountId);
+                return ServerResponse.notFound().build();
+            }
+            String eTag = "\"" + snapshot.get().sequence() + "\"";
+            AccountDTO response = new AccountDTO(accountId, snapshot.get().balance());
+            return request.checkNotModified(eTag)
+                    .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag)
+                            .cacheControl(CacheControl.noCache()).bodyValue(response)));
+        }
+        return balanceResponse(accountId, asOf);
+    }
+
+    /**
+     * Gets the current balances of several accounts in one request.
+     *
+     * @param request the request with a {@link BalanceBatchRequestDTO} body
+     * @return the balances of the accounts found and the IDs that were not found
+     */
+    public Mono<ServerResponse> getBalances(ServerRequest request) {
+        return requestValidator.withValidBody(request, BalanceBatchRequestDTO.class, body -> {
+            Set<UUID> accountIds = new LinkedHashSet<>(body.accountIds());
+            logger.info("Batch balance request received for {} accounts", accountIds.size());
+
+            Map<UUID, BigDecimal> balances = accountService.getBalances(accountIds);
+            List<AccountDTO> found = new ArrayList<>(balances.size());
+            List<UUID> notFound = new ArrayList<>();
+            for (UUID accountId : accountIds) {
+                BigDecimal balance = balances.get(accountId);
+                if (balance != null) {
+                    found.add(new AccountDTO(accountId, balance));
+                } else {
+                    notFound.add(accountId);
+                }
+            }
+
+            logger.info("Batch balances returned: found={}, notFound={}", found.size(), notFound.size());
+            return ServerResponse.ok().bodyValue(new BalanceBatchResponseDTO(found, notFound));
+        });
+    }
+
+    private Mono<ServerResponse> balanceResponse(UUID accountId, Instant asOf) {
+        try {
+            Optional<Account> account = accountService.getAccount(accountId);
+            if (account.isEmpty()) {
+                logger.info("Account not found: {}", accountId);
+                return ServerResponse.notFound().build();
+            }
+            BigDecimal balance = accountService.calculateBalanceAsOf(accountId, asOf);
+            AccountDTO response = new AccountDTO(accountId, balance);
+
+            logger.info("Balance returned successfully for account: {}", accountId);
+            return ServerResponse.ok().bodyValue(response);
+        } catch (EntityNotFoundException e) {
+            logger.info("Account not found: {}", accountId);
+            return ServerResponse.notFound().build();
+        }
+    }
+}
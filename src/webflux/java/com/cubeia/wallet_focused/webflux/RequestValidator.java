@@ -0,0 +1,85 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.cubeia.wallet_focused.dto.ValidationErrorDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads and validates request bodies for the functional routes, which have no
+ * {@code @Valid} support. Invalid bodies get the same 400 response with a
+ * {@link ValidationErrorDTO} as the servlet stack; unreadable or missing bodies get
+ * an empty 400 response.
+ */
+class RequestValidator {
+    private static final Logger logger = LoggerFactory.getLogger(RequestValidator.class);
+
+    private final Validator validator;
+
+    RequestValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Decodes the request body and passes it to the handler if it is valid.
+     *
+     * @param request the request to read
+     * @param type the body type
+     * @param handler the handler for a valid body
+     * @return the handler's response, or a 400 response
+     */
+    <T> Mono<ServerResponse> withValidBody(ServerRequest request, Class<T> type,
+            Function<T, Mono<ServerResponse>> handler) {
+        return withValidBody(request, type, body -> {
+            Set<ConstraintViolation<T>> violations = validator.validate(body);
+            return violations.isEmpty() ? Optional.empty() : Optional.of(toErrors(violations));
+        }, handler);
+    }
+
+    /**
+     * Decodes the request body and passes it to the handler if the given check finds
+     * no errors, for bodies with a hand-written validator.
+     *
+     * @param request the request to read
+     * @param type the body type
+     * @param check the validation of the body
+     * @param handler the handler for a valid body
+     * @return the handler's response, or a 400 response
+     */
+    <T> Mono<ServerResponse> withValidBody(ServerRequest request, Class<T> type,
+            Function<T, Optional<ValidationErrorDTO>> check, Function<T, Mono<ServerResponse>> handler) {
+        return request.bodyToMono(type)
+                .flatMap(body -> check.apply(body)
+                        .map(RequestValidator::validationError)
+                        .orElseGet(() -> handler.apply(body)))
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().build()))
+                .onErrorResume(ServerWebInputException.class, e -> {
+                    logger.warn("Unreadable request body: {}", e.getReason());
+                    return ServerResponse.badRequest().build();
+                });
+    }
+
+    private static ValidationErrorDTO toErrors(Set<? extends ConstraintViolation<?>> violations) {
+        List<ValidationErrorDTO.FieldError> fieldErrors = violations.stream()
+                .map(v -> new ValidationErrorDTO.FieldError(v.getPropertyPath().toString(), v.getMessage()))
+                .toList();
+        return new ValidationErrorDTO(fieldErrors);
+    }
+
+    private static Mono<ServerResponse> validationError(ValidationErrorDTO errors) {
+        logger.warn("Validation error: {}", errors.fieldErrors());
+        return ServerResponse.badRequest().bodyValue(errors);
+    }
+}
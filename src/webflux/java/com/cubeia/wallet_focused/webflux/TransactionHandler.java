@@ -0,0 +1,117 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.cubeia.wallet_focused.dto.TransactionEntryDTO;
+import com.cubeia.wallet_focused.model.TransactionEntry;
+import com.cubeia.wallet_focused.service.TransactionService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handler for transaction history, the counterpart of {@code TransactionController}.
+ * <p>
+ * Histories are streamed rather than collected: entries are read from the ledger one
+ * page at a time, and the next page is only read once the client has consumed the
+ * previous one, so a slow client holds back the reads instead of buffering the whole
+ * history in memory. Clients that accept {@code application/x-ndjson} get one JSON
+ * entry per line; others get a JSON array, as from the servlet stack.
+ */
+public class TransactionHandler {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionHandler.class);
+
+    /**
+     * Number of entries read from the ledger per page.
+     */
+    static final int PAGE_SIZE = 256;
+
+    private final TransactionService transactionService;
+
+    TransactionHandler(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Gets the transaction entries of an account, optionally after a sequence number
+     * ({@code afterSequence}), within a time range ({@code from}/{@code to}) and
+     * limited in number ({@code limit}).
+     *
+     * @param request the request with the account ID path variable
+     * @return the streamed entries
+     */
+    public Mono<ServerResponse> getTransactions(ServerRequest request) {
+        String id = request.pathVariable("id");
+        logger.info("Transactions request received for account ID: {}", id);
+
+        UUID accountId;
+        Long afterSequence;
+        Instant from;
+        Instant to;
+        Integer limit;
+        try {
+            accountId = UUID.fromString(id);
+            afterSequence = request.queryParam("afterSequence").map(Long::valueOf).orElse(null);
+            from = request.queryParam("from").map(Instant::parse).orElse(null);
+            to = request.queryParam("to").map(Instant::parse).orElse(null);
+            limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            logger.warn("Invalid transaction request: id={}, query={}", id, request.queryParams());
+            return ServerResponse.badRequest().build();
+        }
+
+        boolean timeRange = from != null || to != null;
+        if ((afterSequence != null && (afterSequence < 0 || timeRange))
+                || (limit != null && limit <= 0)
+                || (from != null && to != null && to.isBefore(from))) {
+            logger.warn("Invalid transaction query: afterSequence={}, from={}, to={}, limit={}",
+                    afterSequence, from, to, limit);
+            return ServerResponse.badRequest().build();
+        }
+
+        if (!transactionService.accountExists(accountId)) {
+            logger.info("Account not found: {}", accountId);
+            return ServerResponse.notFound().build();
+        }
+
+        int maxResults = limit != null ? limit : Integer.MAX_VALUE;
+        Flux<TransactionEntry> entries = timeRange
+                ? Flux.defer(() -> Flux.fromIterable(
+                        transactionService.getTransactionsBetween(accountId, from, to, maxResults)))
+                : history(accountId, afterSequence != null ? afterSequence : 0L).take(maxResults, true);
+
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(entries.map(TransactionEntryDTO::fromModel), TransactionEntryDTO.class);
+    }
+
+    /**
+     * Reads the entries of an account after a sequence number page by page, on demand.
+     */
+    private Flux<TransactionEntry> history(UUID accountId, long afterSequence) {
+        return Flux.<List<TransactionEntry>, Long>generate(() -> afterSequence, (cursor, sink) -> {
+            List<TransactionEntry> page = transactionService.getTransactionsAfterSequence(accountId, cursor, PAGE_SIZE);
+            if (!page.isEmpty()) {
+                sink.next(page);
+            }
+            if (page.size() < PAGE_SIZE) {
+                sink.complete();
+            }
+            return page.isEmpty() ? cursor : page.get(page.size() - 1).getSequence();
+        }).concatMapIterable(Function.identity());
+    }
+}
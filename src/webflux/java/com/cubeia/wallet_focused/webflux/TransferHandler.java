@@ -0,0 +1,77 @@
+package com.cubeia.wallet_focused.webflux;
+
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.cubeia.wallet_focused.dto.TransferRequestDTO;
+import com.cubeia.wallet_focused.dto.TransferResponseDTO;
+import com.cubeia.wallet_focused.model.TransferOutcome;
+import com.cubeia.wallet_focused.service.WalletService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handler for transfers, the counterpart of {@code TransferController}.
+ * Transfers go through {@link WalletService#attemptTransferAsync}, so the event loop
+ * never waits for an account lock; the response is written when the future completes.
+ */
+public class TransferHandler {
+    private static final Logger logger = LoggerFactory.getLogger(TransferHandler.class);
+
+    private final WalletService walletService;
+    private final RequestValidator requestValidator;
+
+    TransferHandler(WalletService walletService, RequestValidator requestValidator) {
+        this.walletService = walletService;
+        this.requestValidator = requestValidator;
+    }
+
+    /**
+     * Transfers funds between two accounts.
+     *
+     * @param request the request with a {@link TransferRequestDTO} body
+     * @return 200 with the balances after the transfer, 400 for invalid requests,
+     *         409 for insufficient funds or 500 for unexpected errors
+     */
+    public Mono<ServerResponse> transfer(ServerRequest request) {
+        return requestValidator.withValidBody(request, TransferRequestDTO.class, TransferRequestDTO::validate, requestDTO -> {
+            logger.debug("Transfer request received: source={}, destination={}, amount={}, transactionId={}",
+                    requestDTO.sourceAccountId(), requestDTO.destinationAccountId(),
+                    requestDTO.amount(), requestDTO.transactionId());
+
+            return Mono.fromFuture(() -> walletService.attemptTransferAsync(requestDTO.toModel()))
+                    .flatMap(outcome -> toResponse(requestDTO, outcome))
+                    .onErrorResume(e -> unexpectedError(requestDTO, e instanceof CompletionException ? e.getCause() : e));
+        });
+    }
+
+    private Mono<ServerResponse> toResponse(TransferRequestDTO requestDTO, TransferOutcome outcome) {
+        return switch (outcome) {
+            case TransferOutcome.Completed completed -> {
+                logger.debug("Transfer completed successfully: transactionId={}", requestDTO.transactionId());
+                yield ServerResponse.ok().bodyValue(TransferResponseDTO.success(completed.result()));
+            }
+            case TransferOutcome.InsufficientFunds insufficient -> {
+                logger.debug("Transfer failed - Insufficient funds: source={}, amount={}, transactionId={}",
+                        requestDTO.sourceAccountId(), requestDTO.amount(), requestDTO.transactionId());
+                yield ServerResponse.status(HttpStatus.CONFLICT).bodyValue(TransferResponseDTO.error(insufficient.message()));
+            }
+            case TransferOutcome.Rejected rejected -> {
+                logger.debug("Transfer failed - Invalid request: {}, transactionId={}",
+                        rejected.message(), requestDTO.transactionId());
+                yield ServerResponse.badRequest().bodyValue(TransferResponseDTO.error(rejected.message()));
+            }
+        };
+    }
+
+    private Mono<ServerResponse> unexpectedError(TransferRequestDTO requestDTO, Throwable e) {
+        logger.error("Unexpected error during transfer: transactionId={}", requestDTO.transactionId(), e);
+        return ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .bodyValue(TransferResponseDTO.error("An unexpected error occurred"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.cubeia.wallet_focused.webflux;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.cubeia.wallet_focused.service.AccountService;
+import com.cubeia.wallet_focused.service.TransactionService;
+import com.cubeia.wallet_focused.service.WalletService;
+
+import jakarta.validation.Validator;
+
+/**
+ * Functional routes of the reactive front end. The paths, status codes and bodies
+ * match {@code AccountController}, {@code TransactionController} and
+ * {@code TransferController}, so clients can switch between the two stacks.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WalletRouter {
+
+    @Bean
+    public AccountHandler accountHandler(AccountService accountService, Validator validator) {
+        return new AccountHandler(accountService, new RequestValidator(validator));
+    }
+
+    @Bean
+    public TransactionHandler transactionHandler(TransactionService transactionService) {
+        return new TransactionHandler(transactionService);
+    }
+
+    @Bean
+    public TransferHandler transferHandler(WalletService walletService, Validator validator) {
+        return new TransferHandler(walletService, new RequestValidator(validator));
+    }
+
+    /**
+     * Routes the wallet API to its handlers.
+     *
+     * @param accountHandler the balance handler
+     * @param transactionHandler the transaction history handler
+     * @param transferHandler the transfer handler
+     * @return the router function for the wallet API
+     */
+    @Bean
+    public RouterFunction<ServerResponse> walletRoutes(AccountHandler accountHandler,
+            TransactionHandler transactionHandler, TransferHandler transferHandler) {
+        return RouterFunctions.route()
+                .path("/api/v1/accounts", builder -> builder
+                        .GET("/{id}/balance", accountHandler::getBalance)
+                        .POST("/balances", accountHandler::getBalances)
+                        .GET("/{id}/transactions", transactionHandler::getTransactions)
+                        .POST("/transfer", transferHandler::transfer))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.cubeia.wallet_focused.webflux;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+
+import com.cubeia.wallet_focused.config.AdminAccountInitializer;
+import com.cubeia.wallet_focused.config.AuditLogConfig;
+import com.cubeia.wallet_focused.model.WalletRepository;
+import com.cubeia.wallet_focused.service.WalletService;
+
+/**
+ * Main application class for the reactive front end. Serves the wallet API with
+ * functional WebFlux routes on Netty, backed by the same services as the servlet
+ * application. Only the model and service packages are scanned, so the MVC
+ * controllers are not registered here.
+ * <p>
+ * Runs with the {@code webflux} Spring profile, which moves it to port 8081 so it can
+ * run next to the servlet application.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ComponentScan(basePackageClasses = {WalletRepository.class, WalletService.class})
+@Import({AdminAccountInitializer.class, AuditLogConfig.class, WalletRouter.class})
+public class WebFluxWalletApplication {
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(WebFluxWalletApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("webflux")
+                .run(args);
+    }
+}